@@ -0,0 +1,16 @@
+package com.example.my2dgame;
+
+/**
+ * Render rate cap during gameplay. The simulation keeps its fixed 60 steps/s either way; only
+ * fewer (interpolated) frames are drawn.
+ */
+public enum BatterySaver {
+    OFF(0),
+    FPS_45(45),
+    FPS_30(30),
+    AUTO(30); // 30 fps while the system battery saver is on, uncapped otherwise
+
+    final int fps;
+
+    BatterySaver(int fps) { this.fps = fps; }
+}
@@ -0,0 +1,83 @@
+package com.example.my2dgame;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decodes drawables straight to (about) the size they are used at. The bounds are read first
+ * and an inSampleSize picked so the full-resolution image is never allocated. Density scaling
+ * is done here instead of by BitmapFactory: images in drawable/ count as mdpi, so a plain
+ * decodeResource would upscale them to the screen density first. Keeps a running total of the
+ * bytes decoded next to what full-size density-scaled ARGB_8888 decodes would have taken.
+ * Thread-safe.
+ */
+public class BitmapDecoder {
+    private final Resources resources;
+    private final float densityScale;
+    private final AtomicLong fullSizeBytes = new AtomicLong(), decodedBytes = new AtomicLong();
+
+    public BitmapDecoder(Resources resources) {
+        this.resources = resources;
+        this.densityScale = resources.getDisplayMetrics().density;
+    }
+
+    /** How much a plain decodeResource would scale a drawable/ image up on this screen. */
+    public float getDensityScale() { return densityScale; }
+
+    /** Image size without any scaling; outWidth/outHeight are 0 if it can't be read. */
+    public BitmapFactory.Options readBounds(int resId) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        options.inScaled = false;
+        BitmapFactory.decodeResource(resources, resId, options);
+        return options;
+    }
+
+    /** Decodes at exactly {@code width} x {@code height}, or returns null if the image can't be decoded. */
+    public Bitmap decode(int resId, int width, int height, Bitmap.Config config) {
+        Bitmap sampled = decodeAtLeast(resId, width, height, config);
+        if (sampled == null || (sampled.getWidth() == width && sampled.getHeight() == height)) return sampled;
+        Bitmap scaled = Bitmap.createScaledBitmap(sampled, width, height, true);
+        decodedBytes.addAndGet(scaled.getAllocationByteCount() - (long) sampled.getAllocationByteCount());
+        sampled.recycle();
+        return scaled;
+    }
+
+    /**
+     * Decodes with the largest power-of-two sample size that keeps both sides at least
+     * {@code minWidth} x {@code minHeight}, for images that get scaled again once the screen
+     * size is known. Returns null if the image can't be decoded.
+     */
+    public Bitmap decodeAtLeast(int resId, int minWidth, int minHeight, Bitmap.Config config) {
+        BitmapFactory.Options options = readBounds(resId);
+        if (options.outWidth <= 0 || options.outHeight <= 0) return null;
+        int sampleSize = 1;
+        while (options.outWidth / (sampleSize * 2) >= minWidth && options.outHeight / (sampleSize * 2) >= minHeight) sampleSize *= 2;
+        long fullSize = (long) Math.round(options.outWidth * densityScale) * Math.round(options.outHeight * densityScale) * 4;
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        options.inPreferredConfig = config;
+        Bitmap bitmap = BitmapFactory.decodeResource(resources, resId, options);
+        if (bitmap == null) return null;
+        record(fullSize, bitmap.getAllocationByteCount());
+        return bitmap;
+    }
+
+    /** Adds a bitmap decoded elsewhere to the totals. */
+    public void record(long fullSizeBytes, long decodedBytes) {
+        this.fullSizeBytes.addAndGet(fullSizeBytes);
+        this.decodedBytes.addAndGet(decodedBytes);
+    }
+
+    public long getFullSizeBytes() { return fullSizeBytes.get(); }
+    public long getDecodedBytes() { return decodedBytes.get(); }
+
+    /** e.g. "Bitmaps: 9120 KB decoded, 131000 KB at full size". */
+    public String describe() {
+        return "Bitmaps: " + getDecodedBytes() / 1024 + " KB decoded, " + getFullSizeBytes() / 1024 + " KB at full size";
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.my2dgame;
+
+import android.graphics.Canvas;
+import android.util.Log;
+import android.view.SurfaceHolder;
+
+/**
+ * {@link GameRenderer} that locks the SurfaceView's canvas, lets a {@link Painter} draw the
+ * frame and posts it. This base class uses {@link SurfaceHolder#lockCanvas()}, which gives a
+ * software canvas; {@link HardwareCanvasRenderer} swaps in a GPU-backed one. Locking, drawing
+ * and posting are timed as separate {@link FrameProfiler} phases.
+ */
+public class CanvasRenderer implements GameRenderer {
+    private static final String TAG = "CanvasRenderer";
+
+    /** Draws one frame onto whatever canvas the backend locked. */
+    public interface Painter {
+        void paint(Canvas canvas, WorldSnapshot snapshot, float alpha);
+    }
+
+    protected final SurfaceHolder holder;
+    private final Painter painter;
+    private final FrameProfiler profiler;
+    private boolean loggedCanvasType = false;
+
+    public CanvasRenderer(SurfaceHolder holder, Painter painter, FrameProfiler profiler) {
+        this.holder = holder;
+        this.painter = painter;
+        this.profiler = profiler;
+    }
+
+    protected Canvas lockCanvas() {
+        return holder.lockCanvas();
+    }
+
+    @Override
+    public boolean renderFrame(WorldSnapshot snapshot, float alpha) {
+        if (!holder.getSurface().isValid()) return false;
+        Canvas canvas = null;
+        try {
+            long t = profiler.begin(FrameProfiler.Phase.LOCK);
+            canvas = lockCanvas();
+            profiler.end(FrameProfiler.Phase.LOCK, t);
+            if (canvas == null) return false;
+            if (!loggedCanvasType) {
+                Log.d(TAG, getName() + ": hardware accelerated = " + canvas.isHardwareAccelerated());
+                loggedCanvasType = true;
+            }
+            t = profiler.begin(FrameProfiler.Phase.DRAW);
+            painter.paint(canvas, snapshot, alpha);
+            profiler.end(FrameProfiler.Phase.DRAW, t);
+            return true;
+        } finally {
+            if (canvas != null) {
+                long t = profiler.begin(FrameProfiler.Phase.POST);
+                holder.unlockCanvasAndPost(canvas);
+                profiler.end(FrameProfiler.Phase.POST, t);
+            }
+        }
+    }
+
+    @Override
+    public String getName() { return "software canvas"; }
+
+    @Override
+    public void release() {}
+}
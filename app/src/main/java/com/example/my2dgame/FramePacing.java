@@ -0,0 +1,9 @@
+package com.example.my2dgame;
+
+/**
+ * How the render thread waits between frames.
+ */
+public enum FramePacing {
+    TIMED,  // Sleep until the next simulation step is due (renders at the simulation rate)
+    VSYNC   // Wake on every display vsync and render an interpolated frame (uses 90/120 Hz panels)
+}
@@ -0,0 +1,379 @@
+package com.example.my2dgame;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Rect;
+import android.media.AudioAttributes;
+import android.media.MediaPlayer;
+import android.media.SoundPool;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads the game's images, sounds and music once per process on background threads, most
+ * important first: the sprites, background, HUD buttons and sound effects the first frame
+ * needs ({@link Priority#CRITICAL}), then the music (prepared with prepareAsync), then the end
+ * screen art. The waiting room starts it and shows progress; the game can start as soon as the
+ * critical group is in, while the rest keeps streaming. Listeners are called on the main thread.
+ * The music player is the one asset freed before the process dies: see {@link #releaseMusic}.
+ *
+ * <p>Everything is decoded through a {@link BitmapDecoder} at about the size it is shown at, and
+ * decode sources are released as soon as they are scaled or packed.
+ */
+public final class GameAssets {
+    private static final String TAG = "GameAssets";
+    private static final int LOADER_THREADS = 2;
+
+    /** Load order; a lower ordinal is always picked up first. */
+    public enum Priority { CRITICAL, MUSIC, END_SCREEN }
+
+    public interface ProgressListener {
+        void onProgress(int loaded, int total, boolean criticalReady);
+    }
+
+    private static final int[] HUD_IMAGES = { R.drawable.music_turnon, R.drawable.music_turnoff, R.drawable.sound_on, R.drawable.sound_off };
+    private static final int[] END_SCREEN_IMAGES = { R.drawable.you_lose, R.drawable.congratulations, R.drawable.replay, R.drawable.menu, R.drawable.setting };
+    // background.png cut into layers at these heights: the back wall scrolls at half speed, the floor in front at full speed
+    private static final float[] BACKGROUND_BAND_EDGES = { 0.52f };
+    // Enough for the HUD and end screen at two screen sizes (portrait and landscape)
+    private static final int SCALED_CACHE_BYTES = (int) Math.min(Runtime.getRuntime().maxMemory() / 8, 32 * 1024 * 1024);
+
+    private static GameAssets instance;
+
+    private final Context context;
+    private final Resources resources;
+    private final AssetManager assetManager;
+    private final BitmapDecoder decoder;
+    private final int screenLongSide; // Upper bound for screen-sized art, whatever the orientation
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<ProgressListener> listeners = new CopyOnWriteArrayList<>();
+    private ThreadPoolExecutor executor;
+    private final AtomicLong submitOrder = new AtomicLong();
+
+    private final int total = 5 + HUD_IMAGES.length + END_SCREEN_IMAGES.length; // + sprites, background, sounds, high scores, music
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final int[] remaining = new int[Priority.values().length];
+    private final CountDownLatch criticalLatch = new CountDownLatch(1);
+
+    // Results; written once by the loaders, read from any thread
+    private final ConcurrentHashMap<Integer, Bitmap> bitmaps = new ConcurrentHashMap<>();
+    private final ScaledBitmapCache scaledBitmaps = new ScaledBitmapCache(this::getBitmap, SCALED_CACHE_BYTES);
+    private volatile SpriteAtlas spriteAtlas; // In one form only, see getSpriteAtlas(boolean)
+    private volatile ParallaxBackground background;
+    private volatile SoundPool soundPool;
+    private volatile int shootSoundId, itemPickupSoundId;
+    private volatile MediaPlayer musicPlayer;
+    // Guarded by this. A released player is prepared again by the next startLoading(); one released
+    // while still preparing is kept in preparingMusic and freed by its own onPrepared
+    private boolean musicReleased, musicReleaseRequested;
+    private MediaPlayer preparingMusic;
+
+    private GameAssets(Context context) {
+        this.context = context;
+        resources = context.getResources();
+        assetManager = context.getAssets();
+        decoder = new BitmapDecoder(resources);
+        screenLongSide = Math.max(resources.getDisplayMetrics().widthPixels, resources.getDisplayMetrics().heightPixels);
+    }
+
+    public static synchronized GameAssets get(Context context) {
+        if (instance == null) instance = new GameAssets(context.getApplicationContext());
+        return instance;
+    }
+
+    /** Queues every asset; later calls only prepare the music again if it was released. */
+    public synchronized void startLoading() {
+        if (executor != null) {
+            if (musicReleaseRequested) {
+                musicReleaseRequested = false; // Still preparing: keep that player after all
+            } else if (musicReleased) {
+                musicReleased = false;
+                executor.execute(new LoadTask(Priority.MUSIC, submitOrder.getAndIncrement(), this::reloadMusic, true));
+            }
+            return;
+        }
+        executor = new ThreadPoolExecutor(LOADER_THREADS, LOADER_THREADS, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), r -> {
+            Thread t = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                r.run();
+            }, "AssetLoader");
+            t.setDaemon(true);
+            return t;
+        });
+        remaining[Priority.CRITICAL.ordinal()] = 4 + HUD_IMAGES.length;
+        remaining[Priority.MUSIC.ordinal()] = 1;
+        remaining[Priority.END_SCREEN.ordinal()] = END_SCREEN_IMAGES.length;
+
+        submit(Priority.CRITICAL, this::loadSprites);
+        submit(Priority.CRITICAL, this::loadBackground);
+        submit(Priority.CRITICAL, this::loadSounds);
+        submit(Priority.CRITICAL, () -> HighScoreStore.get(context)); // Reads (or migrates) the file off the main thread
+        for (int resId : HUD_IMAGES) submit(Priority.CRITICAL, () -> loadBitmap(resId, HudLayer.BUTTON_SIZE, HudLayer.BUTTON_SIZE));
+        executor.execute(new LoadTask(Priority.MUSIC, submitOrder.getAndIncrement(), () -> loadMusic(true), true));
+        for (int resId : END_SCREEN_IMAGES) submit(Priority.END_SCREEN, () -> loadBitmap(resId, screenLongSide * 8 / 10, screenLongSide / 4));
+    }
+
+    /** Registers a listener and immediately tells it the current progress. Call on the main thread. */
+    public void addProgressListener(ProgressListener listener) {
+        listeners.add(listener);
+        listener.onProgress(loaded.get(), total, isCriticalReady());
+    }
+
+    public void removeProgressListener(ProgressListener listener) { listeners.remove(listener); }
+
+    public boolean isCriticalReady() { return criticalLatch.getCount() == 0; }
+
+    public synchronized boolean isReady(Priority priority) { return executor != null && remaining[priority.ordinal()] == 0; }
+
+    public int getLoadedCount() { return loaded.get(); }
+    public int getTotalCount() { return total; }
+
+    /** The decoded image, or null if it isn't loaded (yet). */
+    public Bitmap getBitmap(int resId) { return bitmaps.get(resId); }
+
+    /** All on-screen scaling of loaded bitmaps goes through here; see {@link ScaledBitmapCache}. */
+    public ScaledBitmapCache getScaledBitmaps() { return scaledBitmaps; }
+    /** The sprite atlas in whatever form it is kept in now; for its layout, which is the same in both. */
+    public SpriteAtlas getSpriteAtlas() { return spriteAtlas; }
+
+    /**
+     * The sprite atlas for a renderer: pages in GPU memory (Bitmap.Config.HARDWARE) for hardware
+     * canvases, ARGB_8888 for software ones, which can't draw hardware bitmaps. Only one form is
+     * kept: switching copies the pages and recycles the previous ones, so call this from the render
+     * thread before it draws, while no other renderer is running.
+     */
+    public synchronized SpriteAtlas getSpriteAtlas(boolean hardware) {
+        SpriteAtlas current = spriteAtlas;
+        if (current == null || current.isHardware() == hardware) return current;
+        SpriteAtlas converted = hardware ? current.copyToHardware() : current.copyToSoftware();
+        if (converted == current) return current; // No hardware bitmaps here: the ARGB_8888 pages draw on any canvas
+        decoder.record(0, converted.getByteCount() - current.getByteCount());
+        current.recycle();
+        spriteAtlas = converted;
+        Log.d(TAG, "Sprite atlas moved to " + (hardware ? "GPU" : "CPU") + " memory. " + decoder.describe());
+        return converted;
+    }
+    public ParallaxBackground getBackground() { return background; }
+    public SoundPool getSoundPool() { return soundPool; }
+    public int getShootSoundId() { return shootSoundId; }
+    public int getItemPickupSoundId() { return itemPickupSoundId; }
+    /** Prepared and ready to start, or null until then (and after {@link #releaseMusic}). */
+    public MediaPlayer getMusicPlayer() { return musicPlayer; }
+
+    /**
+     * Frees the music player, which otherwise lives as long as the process; call when the game
+     * screen is closed for good. A player still being prepared is freed as soon as it is ready. Main thread.
+     */
+    public void releaseMusic() {
+        MediaPlayer player;
+        synchronized (this) {
+            player = musicPlayer;
+            if (player == null) {
+                if (preparingMusic != null) musicReleaseRequested = true;
+                return;
+            }
+            musicPlayer = null;
+            musicReleased = true;
+        }
+        player.release();
+        Log.d(TAG, "Music player released");
+    }
+
+    private void submit(Priority priority, Runnable work) {
+        executor.execute(new LoadTask(priority, submitOrder.getAndIncrement(), work, false));
+    }
+
+    private void finished(Priority priority) {
+        int done = loaded.incrementAndGet();
+        boolean criticalNow = false;
+        synchronized (this) {
+            if (--remaining[priority.ordinal()] == 0 && priority == Priority.CRITICAL) criticalNow = true;
+        }
+        if (criticalNow) {
+            criticalLatch.countDown();
+            Log.d(TAG, "Critical assets ready (" + done + "/" + total + ")");
+        }
+        if (done == total) Log.d(TAG, "All assets loaded. " + decoder.describe());
+        boolean criticalReady = isCriticalReady();
+        mainHandler.post(() -> {
+            for (ProgressListener l : listeners) l.onProgress(done, total, criticalReady);
+        });
+    }
+
+    // Art that is scaled again once the screen size is known: only sampled down, never below the given size
+    private void loadBitmap(int resId, int minWidth, int minHeight) {
+        Bitmap bitmap = decoder.decodeAtLeast(resId, minWidth, minHeight, Bitmap.Config.ARGB_8888);
+        if (bitmap != null) bitmaps.put(resId, bitmap);
+    }
+
+    private void loadBackground() {
+        background = ParallaxBackground.load(resources, decoder, R.drawable.background, BACKGROUND_BAND_EDGES);
+    }
+
+    // Decodes each entity sprite at its final size, copies them into the atlas and frees the individual copies.
+    // Sizes are the same as before: player a quarter of knight.png at screen density, the rest relative to it.
+    private void loadSprites() {
+        BitmapFactory.Options knight = decoder.readBounds(R.drawable.knight), enemy = decoder.readBounds(R.drawable.enemy);
+        int playerW = knight.outWidth > 0 ? densityScaled(knight.outWidth) / 4 : 50;
+        int playerH = knight.outHeight > 0 ? densityScaled(knight.outHeight) / 4 : 50;
+        int enemyW = enemy.outWidth > 0 ? densityScaled(enemy.outWidth) / 6 : 50;
+        int enemyH = enemy.outHeight > 0 ? densityScaled(enemy.outHeight) / 4 : 50;
+        int itemSize = playerW / 2;
+
+        Bitmap[] sprites = new Bitmap[SpriteIds.COUNT];
+        sprites[SpriteIds.PLAYER] = decodeSprite(R.drawable.knight, playerW, playerH);
+        sprites[SpriteIds.ENEMY] = decodeSprite(R.drawable.enemy, enemyW, enemyH);
+        if (sprites[SpriteIds.PLAYER] == null) sprites[SpriteIds.PLAYER] = Bitmap.createBitmap(playerW, playerH, Bitmap.Config.ARGB_8888);
+        if (sprites[SpriteIds.ENEMY] == null) sprites[SpriteIds.ENEMY] = Bitmap.createBitmap(enemyW, enemyH, Bitmap.Config.ARGB_8888);
+        sprites[SpriteIds.FIREBALL] = decodeSprite(R.drawable.fireball, playerW / 2, playerH / 2);
+        sprites[SpriteIds.SWORD_SLASH] = decodeSprite(R.drawable.swordslash, playerW, playerH);
+        sprites[SpriteIds.BOMB] = decodeSprite(R.drawable.bomb, playerW / 3, playerH / 3);
+        sprites[SpriteIds.HEART_ITEM] = decodeSprite(R.drawable.heart_item, itemSize, itemSize);
+        sprites[SpriteIds.SHIELD_ITEM] = decodeSprite(R.drawable.shield_item, itemSize, itemSize);
+        sprites[SpriteIds.INVINCIBLE_ITEM] = decodeSprite(R.drawable.invincible_item, itemSize, itemSize);
+        sprites[SpriteIds.EXPLOSION] = decodeSprite(R.drawable.explosion_effect, (int) (enemyW * 1.5), (int) (enemyH * 1.5));
+
+        // walk.png: 8 frames side by side, each a square cell like knight.png; every frame points into the one sheet
+        Rect[] regions = new Rect[SpriteIds.COUNT];
+        Bitmap walk = decodeSprite(R.drawable.walk, playerW * SpriteIds.PLAYER_WALK_FRAMES, playerH);
+        if (walk != null) {
+            SpriteSheet sheet = new SpriteSheet(walk.getWidth(), walk.getHeight(), SpriteIds.PLAYER_WALK_FRAMES, 1);
+            for (int f = 0; f < sheet.getFrameCount(); f++) {
+                int left = sheet.frameLeft(f), top = sheet.frameTop(f);
+                sprites[SpriteIds.PLAYER_WALK + f] = walk;
+                regions[SpriteIds.PLAYER_WALK + f] = new Rect(left, top, left + sheet.getFrameWidth(), top + sheet.getFrameHeight());
+            }
+        }
+
+        spriteAtlas = SpriteAtlas.build(sprites, regions);
+        long spriteBytes = 0;
+        for (Bitmap sprite : sprites) {
+            if (sprite == null || sprite.isRecycled()) continue; // Sheet frames share one bitmap
+            spriteBytes += sprite.getAllocationByteCount();
+            sprite.recycle();
+        }
+        // The decoded sprites only lived until packing; what stays is the atlas
+        decoder.record(0, spriteAtlas.getByteCount() - spriteBytes);
+        Log.d(TAG, "Sprite atlas: " + spriteAtlas.getPageCount() + " page(s) of " + SpriteAtlas.PAGE_SIZE + "px");
+    }
+
+    private int densityScaled(int size) {
+        return Math.round(size * decoder.getDensityScale());
+    }
+
+    // Sprites keep their alpha and are only composited into the atlas, so ARGB_8888
+    private Bitmap decodeSprite(int resId, int width, int height) {
+        return width > 0 && height > 0 ? decoder.decode(resId, width, height, Bitmap.Config.ARGB_8888) : null;
+    }
+
+    private void loadSounds() {
+        AudioAttributes audioAttributes = new AudioAttributes.Builder().setUsage(AudioAttributes.USAGE_GAME).setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION).build();
+        SoundPool pool = new SoundPool.Builder().setMaxStreams(10).setAudioAttributes(audioAttributes).build();
+        try {
+            AssetFileDescriptor shootDescriptor = assetManager.openFd("sword_slash.wav");
+            shootSoundId = pool.load(shootDescriptor, 1);
+            AssetFileDescriptor itemPickupDescriptor = assetManager.openFd("item_effect_music.mp3");
+            itemPickupSoundId = pool.load(itemPickupDescriptor, 1);
+        } catch (IOException e) { Log.e(TAG, "Error loading sound assets", e); }
+        soundPool = pool;
+    }
+
+    // After releaseMusic(): the music was already counted as loaded once
+    private void reloadMusic() {
+        try {
+            loadMusic(false);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error preparing MediaPlayer again", e);
+        }
+    }
+
+    // Only opens the file here; decoding happens in MediaPlayer's own thread and ends in onPrepared
+    private void loadMusic(boolean counted) {
+        try {
+            AssetFileDescriptor musicDescriptor = assetManager.openFd("background_music.mp3");
+            MediaPlayer player = new MediaPlayer();
+            player.setDataSource(musicDescriptor.getFileDescriptor(), musicDescriptor.getStartOffset(), musicDescriptor.getLength());
+            player.setVolume(0.6f, 0.6f);
+            player.setLooping(true);
+            player.setOnPreparedListener(mp -> {
+                if (!musicPrepared(mp, true)) mp.release();
+                if (counted) finished(Priority.MUSIC);
+            });
+            player.setOnErrorListener((mp, what, extra) -> {
+                Log.e(TAG, "Error preparing MediaPlayer: " + what + "/" + extra);
+                if (!musicPrepared(mp, false)) mp.release();
+                if (counted) finished(Priority.MUSIC);
+                return true;
+            });
+            synchronized (this) { preparingMusic = player; }
+            player.prepareAsync();
+        } catch (IOException e) {
+            Log.e(TAG, "Error preparing MediaPlayer", e);
+            if (counted) finished(Priority.MUSIC);
+        }
+    }
+
+    // Ends a preparation; false if releaseMusic() was called meanwhile and the player should go
+    private synchronized boolean musicPrepared(MediaPlayer player, boolean ready) {
+        if (preparingMusic == player) preparingMusic = null;
+        if (musicReleaseRequested) {
+            musicReleaseRequested = false;
+            musicReleased = true;
+            Log.d(TAG, "Music player released after preparing");
+            return false;
+        }
+        if (ready) musicPlayer = player;
+        return true;
+    }
+
+    // Runs by priority, then in submission order. Counts as loaded when the work returns, even if it
+    // failed (the game copes with missing assets), unless the work reports completion itself.
+    private final class LoadTask implements Runnable, Comparable<LoadTask> {
+        final Priority priority;
+        final long order;
+        final Runnable work;
+        final boolean reportsItself;
+
+        LoadTask(Priority priority, long order, Runnable work, boolean reportsItself) {
+            this.priority = priority;
+            this.order = order;
+            this.work = work;
+            this.reportsItself = reportsItself;
+        }
+
+        @Override
+        public void run() {
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Asset load failed", e);
+                if (reportsItself) finished(priority);
+            } finally {
+                if (!reportsItself) finished(priority);
+            }
+        }
+
+        @Override
+        public int compareTo(LoadTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+}
@@ -1,18 +1,18 @@
 package com.example.my2dgame;
 
 import android.content.Context;
-import android.content.SharedPreferences;
-import android.content.res.AssetFileDescriptor;
-import android.content.res.AssetManager;
+import android.content.pm.ApplicationInfo;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
-import android.media.AudioAttributes;
 import android.media.MediaPlayer;
 import android.media.SoundPool;
+import android.os.PowerManager;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.os.Trace;
 import android.util.Log;
 import android.view.MotionEvent;
 import android.view.SurfaceHolder;
@@ -20,64 +20,92 @@ import android.view.SurfaceView;
 
 import androidx.annotation.NonNull;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Locale;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
-
-public class GameView extends SurfaceView implements Runnable, SurfaceHolder.Callback {
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Android adapter over {@link GameWorld}: takes the images and sounds from {@link GameAssets}, runs the
+ * simulation and render threads, draws published snapshots and turns touches into world input.
+ * Game rules live in the world, not here.
+ */
+public class GameView extends SurfaceView implements SurfaceHolder.Callback, GameWorld.Listener {
     private static final String TAG = "GameView";
-    private Thread gameThread;
+    private Thread simulationThread, renderThread;
     private final SurfaceHolder holder;
     private volatile boolean running = false;
     private final Paint paint;
-    private Bitmap originalBackground;
-    private Bitmap scaledBackground;
-    private Player player;
-    private final ArrayList<Enemy> enemies = new ArrayList<>();
-    private final ArrayList<Projectile> projectiles = new ArrayList<>();
-    private final ArrayList<CollisionEffect> collisionEffects = new ArrayList<>();
-    private final ArrayList<Item> items = new ArrayList<>();
-    private float backgroundOffsetX = 0;
-    private static final float BACKGROUND_SPEED = 2;
-
-    // Bitmaps and sounds
-    private Bitmap enemyBitmap, playerBitmap, scaledEnemyBitmap, bulletBitmap, playerMeleeBitmap, playerBombItemBitmap, explosionBitmap;
-    private Bitmap heartItemBitmap, shieldItemBitmap, invincibleItemBitmap;
-    private SoundPool soundPool;
-    private int shootSoundId, itemPickupSoundId;
-    private boolean soundEffectsEnabled = true;
-    private MediaPlayer mediaPlayer;
+    private ParallaxBackground background;
+    private final GameWorld world; // Game rules; this view only feeds it input and draws its snapshots
+
+    // Frame loop: the simulation thread runs fixed 60 steps/s and publishes snapshots,
+    // the render thread draws the newest one, interpolating between its two steps
+    private final FixedStepClock frameClock = new FixedStepClock();
+    private final SnapshotTripleBuffer snapshots = new SnapshotTripleBuffer();
+    private long snapshotSequence = 0;
+    private final VsyncPacer vsyncPacer;
+    private volatile FramePacing framePacing = FramePacing.VSYNC;
+    private volatile RendererBackend rendererBackend = RendererBackend.HARDWARE;
+    // Continuous ticking during gameplay (optionally capped); on end screens both threads sleep until something happens
+    private final FrameScheduler scheduler = new FrameScheduler();
+    private volatile BatterySaver batterySaver = BatterySaver.OFF;
+    // Each round is recorded (seed + per-step input, a few KB a minute) so a reported slow or buggy run can be replayed
+    static final String REPLAY_FILE = "last_session.replay";
+    private volatile boolean replayRecording = true;
+    private ReplayRecorder recorder;
+    // Touches are queued on the UI thread and applied by the simulation thread at the start of its next tick,
+    // so only that thread ever touches the world
+    private static final int INPUT_QUEUE_CAPACITY = 64;
+    private final InputQueue input = new InputQueue(INPUT_QUEUE_CAPACITY);
+    private final InputQueue.Handler inputHandler = this::applyInput;
+    // Screen size from the last layout, handed over the same way: the simulation thread applies it at the start of a tick
+    private volatile Viewport pendingViewport;
+    private Viewport appliedViewport; // Simulation thread only
+    // On-screen controller; every pointer is resolved against hit regions laid out in surfaceChanged (UI thread only)
+    private final TouchControls touchControls = new TouchControls(new TouchControls.Listener() {
+        @Override public void onMovement(int movementBits, int stickX, int stickY, long eventNanos) { input.offerMove(movementBits, stickX, stickY, eventNanos); }
+        @Override public void onAttack(WeaponType weapon, long eventNanos) { input.offerAttack(weapon, eventNanos); performClick(); }
+        @Override public void onToggleMusic(long eventNanos) { input.offer(InputQueue.Kind.TOGGLE_MUSIC, eventNanos); performClick(); }
+        @Override public void onToggleSound(long eventNanos) { input.offer(InputQueue.Kind.TOGGLE_SOUND, eventNanos); performClick(); }
+    });
+    private volatile boolean screenGameOver, screenGameWon; // The screen last published, for touch handling
+    private long pendingInputNanos; // Simulation thread only; oldest input applied since the last publish
+    private volatile long lastInputLatencyNanos;
+    private long inputLatencyCount, inputLatencyTotalNanos, inputLatencyMaxNanos, measuredSequence; // Render thread only
+    // Off by default; in debuggable builds a three-finger tap toggles the overlay, pausing writes the numbers to PROFILE_FILE
+    static final String PROFILE_FILE = "frame_profile.txt";
+    private volatile boolean profilerGesture; // Release builds leave three-finger touches to the controls
+    private final FrameProfiler profiler = new FrameProfiler(System::nanoTime);
+    private final ProfilerOverlay profilerOverlay = new ProfilerOverlay(); // Render thread only
+    private final CpuTimeMeter cpuMeter = new CpuTimeMeter(android.os.Process::getElapsedCpuTime, SystemClock::elapsedRealtime);
+    // Entity sprites live in atlas pages (kept by GameAssets) and are drawn in batches, one draw call per page
+    private volatile SpriteBatch spriteBatch; // Render thread only, rebuilt for each renderer
+    private static final int SPRITE_BATCH_QUADS = 1024;
+    // End screens don't change between steps; with dirty tracking an unchanged one isn't drawn and posted again
+    private volatile boolean endScreenDirtyTracking = true;
+    private long presentedEndScreen; // Render thread only; key of the end screen on the surface, 0 if none
+    private volatile int lastSpritesDrawn, lastSpritesCulled;
+    private long framesDrawn, framesSkipped, totalSpritesDrawn, totalSpritesCulled; // Render thread only
+
+    // Bitmaps and sounds; loaded in the background by GameAssets, end-screen art may arrive after the game starts.
+    // Opened without the waiting room, the game threads only start once the critical group is in.
+    private final GameAssets assets;
+    private boolean assetsReady, resumePending; // UI thread only; resume() waits for the critical assets and a first layout
+    private final GameAssets.ProgressListener onAssetsProgress = this::onAssetsProgress;
+    private boolean soundEffectsEnabled = true; // These two are changed by queued input, on the simulation thread
     private boolean musicEnabled = false;
-    private Bitmap musicTurnOnBitmap, musicTurnOffBitmap, soundOffBitmap, soundOnBitmap;
-    private final AssetManager assetManager;
-    private final Random random = new Random();
-
-    // Timing
-    private long lastEnemySpawnTime = 0, lastItemSpawnTime = 0, gameStartTime;
-    private long remainingTimeSeconds;
-    private static final long ENEMY_SPAWN_INTERVAL = 5000;
-    private static final long ITEM_SPAWN_INTERVAL = 8000;
-    private static final long GAME_DURATION_SECONDS = 60;
-    private static final int MELEE_ATTACK_DURATION_FRAMES = 5;
-
-    // Game State
-    private boolean isGameOver = false, isGameWon = false;
+    private final HudLayer hud = new HudLayer();
 
     // End Screen Assets
     private Bitmap gameOverImageBitmap, congratulationsBitmap, replayButtonBitmap, settingsButtonBitmap, menuButtonBitmap;
     private Rect replayButtonRect, settingsButtonRect, menuButtonRect;
 
     // High Scores
-    private List<Integer> highScores;
-    private static final String PREFS_NAME = "My2DGamePrefs";
-    private static final String HIGH_SCORES_KEY = "highScores";
-
-    // Initial player state
-    private Bitmap initialScaledPlayerBitmap;
-    private float initialPlayerX, initialPlayerY, initialPlayerSpeed;
+    private HighScoreStore highScores; // Loaded with the critical assets
+    private static final int END_SCREEN_HIGH_SCORES = 6;
 
 
     public GameView(Context context) {
@@ -87,116 +115,62 @@ public class GameView extends SurfaceView implements Runnable, SurfaceHolder.Cal
         paint = new Paint();
         paint.setAntiAlias(true);
         paint.setTextSize(40);
-        assetManager = context.getAssets();
+        vsyncPacer = new VsyncPacer();
+        world = new GameWorld(GameClock.SYSTEM, new Random(), this);
+        profilerGesture = (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        profiler.setTracer(new FrameProfiler.Tracer() { // Phases show up as sections in systrace/Perfetto captures
+            @Override public void beginSection(String name) { Trace.beginSection(name); }
+            @Override public void endSection() { Trace.endSection(); }
+        });
+        assets = GameAssets.get(context);
+        assets.startLoading();
 
-        loadSoundAssets();
-        loadMusicAssets();
-        loadGameImageAssets();
-        loadHighScores();
         initializePlayerState();
-        scaleBitmaps();
+        if (assets.isCriticalReady()) useLoadedAssets(); // Coming from the waiting room; else onAssetsProgress does it
     }
 
-    private void loadHighScores() {
-        highScores = new ArrayList<>();
-        SharedPreferences prefs = getContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        String scoresString = prefs.getString(HIGH_SCORES_KEY, "");
-        if (scoresString.isEmpty()) {
-            highScores.add(500); highScores.add(400); highScores.add(300);
-            highScores.add(200); highScores.add(100); highScores.add(50);
-            saveHighScores();
-        } else {
-            String[] scores = scoresString.split(",");
-            for (String score : scores) {
-                if (!score.isEmpty()) highScores.add(Integer.parseInt(score));
-            }
-        }
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        assets.addProgressListener(onAssetsProgress);
     }
 
-    private void saveHighScores() {
-        SharedPreferences prefs = getContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = prefs.edit();
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < highScores.size(); i++) {
-            sb.append(highScores.get(i)).append(",");
-        }
-        editor.putString(HIGH_SCORES_KEY, sb.toString());
-        editor.apply();
+    @Override
+    protected void onDetachedFromWindow() {
+        assets.removeProgressListener(onAssetsProgress);
+        super.onDetachedFromWindow();
     }
 
-    private void checkAndSaveHighScore(int newScore) {
-        highScores.add(newScore);
-        Collections.sort(highScores, Collections.reverseOrder());
-        while (highScores.size() > 6) {
-            highScores.remove(highScores.size() - 1);
-        }
-        saveHighScores();
+    private void initializePlayerState() {
+        world.setPlayerStart(200, 300, 5);
     }
 
-    private void loadSoundAssets() {
-        AudioAttributes audioAttributes = new AudioAttributes.Builder().setUsage(AudioAttributes.USAGE_GAME).setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION).build();
-        soundPool = new SoundPool.Builder().setMaxStreams(10).setAudioAttributes(audioAttributes).build();
-        try {
-            AssetFileDescriptor shootDescriptor = assetManager.openFd("sword_slash.wav");
-            shootSoundId = soundPool.load(shootDescriptor, 1);
-            AssetFileDescriptor itemPickupDescriptor = assetManager.openFd("item_effect_music.mp3");
-            itemPickupSoundId = soundPool.load(itemPickupDescriptor, 1);
-        } catch (IOException e) { Log.e(TAG, "Error loading sound assets", e); }
+    private void useLoadedAssets() {
+        assetsReady = true;
+        highScores = HighScoreStore.get(getContext()); // Already read by the loader
+        AtlasLayout layout = assets.getSpriteAtlas().getLayout();
+        for (int id = 0; id < SpriteIds.COUNT; id++) {
+            if (layout.has(id)) world.getSprites().set(id, layout.width(id), layout.height(id));
+        }
+        background = assets.getBackground();
+        if (background != null) world.getBackground().setLayers(GameWorld.BACKGROUND_SPEED / 2, GameWorld.BACKGROUND_SPEED);
     }
 
-    private void loadMusicAssets() {
-        try {
-            AssetFileDescriptor musicDescriptor = assetManager.openFd("background_music.mp3");
-            mediaPlayer = new MediaPlayer();
-            mediaPlayer.setDataSource(musicDescriptor.getFileDescriptor(), musicDescriptor.getStartOffset(), musicDescriptor.getLength());
-            mediaPlayer.prepare();
-            mediaPlayer.setVolume(0.6f, 0.6f);
-            mediaPlayer.setLooping(true);
-        } catch (IOException e) { Log.e(TAG, "Error preparing MediaPlayer", e); }
-    }
-
-    private void loadGameImageAssets() {
-        explosionBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.explosion_effect);
-        musicTurnOnBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.music_turnon);
-        musicTurnOffBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.music_turnoff);
-        soundOffBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.sound_off);
-        soundOnBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.sound_on);
-        originalBackground = BitmapFactory.decodeResource(getResources(), R.drawable.background);
-        playerBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.knight);
-        enemyBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.enemy);
-        bulletBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.fireball);
-        playerMeleeBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.swordslash);
-        playerBombItemBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.bomb);
-        heartItemBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.heart_item);
-        shieldItemBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.shield_item);
-        invincibleItemBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.invincible_item);
-        gameOverImageBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.you_lose);
-        congratulationsBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.congratulations);
-        replayButtonBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.replay);
-        settingsButtonBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.setting);
-        menuButtonBitmap = BitmapFactory.decodeResource(getResources(), R.drawable.menu);
+    private void onAssetsProgress(int loaded, int total, boolean criticalReady) {
+        if (criticalReady && !assetsReady) {
+            useLoadedAssets();
+            if (getWidth() > 0 && getHeight() > 0) layout(getWidth(), getHeight()); // The surface came first
+            if (resumePending) resume();
+        }
+        if (assets.isReady(GameAssets.Priority.END_SCREEN) && gameOverImageBitmap == null) {
+            prepareEndScreen(getWidth(), getHeight());
+            scheduler.requestFrame();
+        }
     }
 
-    private void initializePlayerState() {
-        int playerWidth = playerBitmap != null ? playerBitmap.getWidth() / 4 : 50;
-        int playerHeight = playerBitmap != null ? playerBitmap.getHeight() / 4 : 50;
-        initialScaledPlayerBitmap = playerBitmap != null ? Bitmap.createScaledBitmap(playerBitmap, playerWidth, playerHeight, true) : Bitmap.createBitmap(playerWidth, playerHeight, Bitmap.Config.ARGB_8888);
-        initialPlayerX = 200; initialPlayerY = 300; initialPlayerSpeed = 5;
-        player = new Player(initialPlayerX, initialPlayerY, initialScaledPlayerBitmap, initialPlayerSpeed);
-    }
-
-    private void scaleBitmaps() {
-        int enemyW = enemyBitmap != null ? enemyBitmap.getWidth() / 6 : 50;
-        int enemyH = enemyBitmap != null ? enemyBitmap.getHeight() / 4 : 50;
-        scaledEnemyBitmap = enemyBitmap != null ? Bitmap.createScaledBitmap(enemyBitmap, enemyW, enemyH, true) : Bitmap.createBitmap(enemyW, enemyH, Bitmap.Config.ARGB_8888);
-        int itemSize = (initialScaledPlayerBitmap != null) ? initialScaledPlayerBitmap.getWidth() / 2 : 25;
-        if (heartItemBitmap != null) heartItemBitmap = Bitmap.createScaledBitmap(heartItemBitmap, itemSize, itemSize, true);
-        if (shieldItemBitmap != null) shieldItemBitmap = Bitmap.createScaledBitmap(shieldItemBitmap, itemSize, itemSize, true);
-        if (invincibleItemBitmap != null) invincibleItemBitmap = Bitmap.createScaledBitmap(invincibleItemBitmap, itemSize, itemSize, true);
-        if (explosionBitmap != null && scaledEnemyBitmap != null) explosionBitmap = Bitmap.createScaledBitmap(explosionBitmap, (int) (scaledEnemyBitmap.getWidth() * 1.5), (int) (scaledEnemyBitmap.getHeight() * 1.5), true);
-        if (bulletBitmap != null && initialScaledPlayerBitmap != null) bulletBitmap = Bitmap.createScaledBitmap(bulletBitmap, initialScaledPlayerBitmap.getWidth() / 2, initialScaledPlayerBitmap.getHeight() / 2, true);
-        if (playerMeleeBitmap != null && initialScaledPlayerBitmap != null) playerMeleeBitmap = Bitmap.createScaledBitmap(playerMeleeBitmap, initialScaledPlayerBitmap.getWidth(), initialScaledPlayerBitmap.getHeight(), true);
-        if (playerBombItemBitmap != null && initialScaledPlayerBitmap != null) playerBombItemBitmap = Bitmap.createScaledBitmap(playerBombItemBitmap, initialScaledPlayerBitmap.getWidth() / 3, initialScaledPlayerBitmap.getHeight() / 3, true);
+    // The loaded bitmap at the given size, or null if it isn't loaded (yet); shared, so never recycle it here
+    private Bitmap scaledAsset(int resId, int width, int height) {
+        return assets.getScaledBitmaps().get(resId, width, height);
     }
 
     @Override
@@ -204,37 +178,50 @@ public class GameView extends SurfaceView implements Runnable, SurfaceHolder.Cal
 
     @Override
     public void surfaceChanged(@NonNull SurfaceHolder sh, int format, int width, int height) {
-        if (originalBackground != null && width > 0 && height > 0) scaledBackground = Bitmap.createScaledBitmap(originalBackground, width * 2, height, true);
-        int buttonSize = 100;
-        if (musicTurnOnBitmap != null) musicTurnOnBitmap = Bitmap.createScaledBitmap(musicTurnOnBitmap, buttonSize, buttonSize, true);
-        if (musicTurnOffBitmap != null) musicTurnOffBitmap = Bitmap.createScaledBitmap(musicTurnOffBitmap, buttonSize, buttonSize, true);
-        if (soundOffBitmap != null) soundOffBitmap = Bitmap.createScaledBitmap(soundOffBitmap, buttonSize, buttonSize, true);
-        if (soundOnBitmap != null) soundOnBitmap = Bitmap.createScaledBitmap(soundOnBitmap, buttonSize, buttonSize, true);
-
-        if (gameOverImageBitmap != null && width > 0 && height > 0) {
-            float aspectRatio = (float) gameOverImageBitmap.getWidth() / gameOverImageBitmap.getHeight();
-            int endScreenImgHeight = height / 4;
-            int endScreenImgWidth = (int) (endScreenImgHeight * aspectRatio);
-            if (endScreenImgWidth > width * 0.8) {
-                endScreenImgWidth = (int) (width * 0.8);
-                endScreenImgHeight = (int) (endScreenImgWidth / aspectRatio);
-            }
-            gameOverImageBitmap = Bitmap.createScaledBitmap(gameOverImageBitmap, endScreenImgWidth, endScreenImgHeight, true);
-            if (congratulationsBitmap != null) congratulationsBitmap = Bitmap.createScaledBitmap(congratulationsBitmap, endScreenImgWidth, endScreenImgHeight, true);
+        layout(width, height);
+    }
+
+    // Everything sized to the screen; again once the critical assets arrive if they came after the surface
+    private void layout(int width, int height) {
+        touchControls.layout(width, height);
+        float tileWidth = 0;
+        if (background != null && width > 0 && height > 0) tileWidth = background.tileWidth(height); // The render thread fits the bands itself
+        pendingViewport = new Viewport(width, height, tileWidth);
+        if (resumePending) resume();
+        int buttonSize = HudLayer.BUTTON_SIZE;
+        hud.setIcons(scaledAsset(R.drawable.music_turnon, buttonSize, buttonSize), scaledAsset(R.drawable.music_turnoff, buttonSize, buttonSize),
+                scaledAsset(R.drawable.sound_on, buttonSize, buttonSize), scaledAsset(R.drawable.sound_off, buttonSize, buttonSize));
+        prepareEndScreen(width, height);
+        assets.getScaledBitmaps().logStats();
+        scheduler.requestFrame();
+    }
+
+    // Scales the end-screen art and lays out its buttons; runs again once late-loading art arrives
+    private void prepareEndScreen(int width, int height) {
+        Bitmap gameOverSource = assets.getBitmap(R.drawable.you_lose);
+        if (gameOverSource == null || width <= 0 || height <= 0) return;
+        float aspectRatio = (float) gameOverSource.getWidth() / gameOverSource.getHeight();
+        int endScreenImgHeight = height / 4;
+        int endScreenImgWidth = (int) (endScreenImgHeight * aspectRatio);
+        if (endScreenImgWidth > width * 0.8) {
+            endScreenImgWidth = (int) (width * 0.8);
+            endScreenImgHeight = (int) (endScreenImgWidth / aspectRatio);
         }
+        gameOverImageBitmap = scaledAsset(R.drawable.you_lose, endScreenImgWidth, endScreenImgHeight);
+        congratulationsBitmap = scaledAsset(R.drawable.congratulations, endScreenImgWidth, endScreenImgHeight);
 
         int gameOverButtonWidth = width / 6; int gameOverButtonHeight = height / 12;
-        if (replayButtonBitmap != null) replayButtonBitmap = Bitmap.createScaledBitmap(replayButtonBitmap, gameOverButtonWidth, gameOverButtonHeight, true);
-        if (settingsButtonBitmap != null) settingsButtonBitmap = Bitmap.createScaledBitmap(settingsButtonBitmap, gameOverButtonWidth, gameOverButtonHeight, true);
-        if (menuButtonBitmap != null) menuButtonBitmap = Bitmap.createScaledBitmap(menuButtonBitmap, gameOverButtonWidth, gameOverButtonHeight, true);
+        replayButtonBitmap = scaledAsset(R.drawable.replay, gameOverButtonWidth, gameOverButtonHeight);
+        settingsButtonBitmap = scaledAsset(R.drawable.setting, gameOverButtonWidth, gameOverButtonHeight);
+        menuButtonBitmap = scaledAsset(R.drawable.menu, gameOverButtonWidth, gameOverButtonHeight);
 
-        if (getWidth() > 0 && getHeight() > 0 && gameOverImageBitmap != null && replayButtonBitmap != null) {
-            int endScreenImgY = getHeight() / 5;
+        if (replayButtonBitmap != null) {
+            int endScreenImgY = height / 5;
             int buttonsY = endScreenImgY + (congratulationsBitmap != null ? congratulationsBitmap.getHeight() : gameOverImageBitmap.getHeight()) + 220;
             int buttonSpacing = 20;
 
             int totalButtonRowWidth = (3 * gameOverButtonWidth) + (2 * buttonSpacing);
-            int startX = (getWidth() - totalButtonRowWidth) / 2;
+            int startX = (width - totalButtonRowWidth) / 2;
 
             replayButtonRect = new Rect(startX, buttonsY, startX + gameOverButtonWidth, buttonsY + gameOverButtonHeight);
             menuButtonRect = new Rect(startX + gameOverButtonWidth + buttonSpacing, buttonsY, startX + 2 * gameOverButtonWidth + buttonSpacing, buttonsY + gameOverButtonHeight);
@@ -245,183 +232,276 @@ public class GameView extends SurfaceView implements Runnable, SurfaceHolder.Cal
     @Override
     public void surfaceDestroyed(@NonNull SurfaceHolder surfaceHolder) { pause(); }
 
-    @Override
-    public void run() {
+    private void runSimulation() {
+        input.clear(); // Touches from before the pause belong to a round that is about to restart
+        applyViewport();
         restartGame();
+        frameClock.reset(System.nanoTime());
+        publishSnapshot();
+        long seen = scheduler.getGeneration();
         while (running) {
-            if (!holder.getSurface().isValid()) continue;
-            Canvas canvas = null;
-            try {
-                canvas = holder.lockCanvas();
-                if (canvas != null) {
-                    synchronized (holder) {
-                        update();
-                        draw(canvas);
-                    }
-                }
-            } finally {
-                if (canvas != null) holder.unlockCanvasAndPost(canvas);
+            if (scheduler.isIdle()) {
+                // Nothing moves on an end screen: sleep until a touch or restart, then publish whatever changed
+                try { seen = scheduler.awaitWork(seen); } catch (InterruptedException e) { Log.w(TAG, "Simulation thread interrupted", e); }
+                profiler.beginStep();
+                applyViewport();
+                long t = profiler.begin(FrameProfiler.Phase.INPUT);
+                input.drain(inputHandler);
+                profiler.end(FrameProfiler.Phase.INPUT, t);
+                frameClock.reset(System.nanoTime());
+                publishSnapshot();
+                scheduler.setIdle(world.isGameOver() || world.isGameWon());
+                continue;
+            }
+            int steps = frameClock.advance(System.nanoTime());
+            if (steps > 0) {
+                profiler.beginStep();
+                applyViewport();
+                long t = profiler.begin(FrameProfiler.Phase.INPUT);
+                input.drain(inputHandler);
+                profiler.end(FrameProfiler.Phase.INPUT, t);
+                t = profiler.begin(FrameProfiler.Phase.STEP);
+                for (int i = 0; i < steps; i++) world.step();
+                profiler.end(FrameProfiler.Phase.STEP, t);
+                publishSnapshot();
+                if (world.isGameOver() || world.isGameWon()) scheduler.setIdle(true);
             }
-            try { Thread.sleep(16); } catch (InterruptedException e) { Log.w(TAG, "Game thread interrupted", e); }
+            LockSupport.parkNanos(frameClock.nanosUntilNextStep() - (System.nanoTime() - frameClock.getLastAdvanceNanos()));
         }
     }
 
-    private void update() {
-        if (isGameOver || isGameWon) return;
-
-        long currentTime = System.currentTimeMillis();
-        remainingTimeSeconds = GAME_DURATION_SECONDS - ((currentTime - gameStartTime) / 1000);
-
-        if (remainingTimeSeconds <= 0) {
-            checkAndSaveHighScore(player != null ? player.getGold() : 0);
-            isGameWon = true;
-            if (mediaPlayer != null && mediaPlayer.isPlaying()) mediaPlayer.pause();
-            return;
+    // Simulation thread: a rotation reaches the world (and the replay) between two steps
+    private void applyViewport() {
+        Viewport v = pendingViewport;
+        if (v == appliedViewport) return;
+        appliedViewport = v;
+        world.setViewport(v.width, v.height);
+        if (v.tileWidth > 0) {
+            for (int i = 0; i < world.getBackground().getLayerCount(); i++) world.getBackground().setPeriod(i, v.tileWidth);
         }
+    }
 
-        if (currentTime - lastEnemySpawnTime >= ENEMY_SPAWN_INTERVAL) { spawnEnemies(); lastEnemySpawnTime = currentTime; }
-        if (currentTime - lastItemSpawnTime >= ITEM_SPAWN_INTERVAL) { spawnRandomItem(); lastItemSpawnTime = currentTime; }
-
-        if (player != null) {
-            player.update(getWidth(), getHeight());
-            if (player.getHealth() <= 0) {
-                isGameOver = true;
-                if (mediaPlayer != null && mediaPlayer.isPlaying()) mediaPlayer.pause();
+    private void runRender() {
+        GameRenderer renderer = createRenderer(rendererBackend);
+        Log.d(TAG, "Rendering with " + renderer.getName());
+        // Hardware canvases can sample atlas pages straight from GPU memory; software ones can't draw them at all.
+        // Only the form this renderer needs stays in memory.
+        SpriteAtlas atlas = assets.getSpriteAtlas(renderer instanceof HardwareCanvasRenderer);
+        spriteBatch = new SpriteBatch(atlas, SPRITE_BATCH_QUADS);
+        vsyncPacer.start();
+        presentedEndScreen = 0; // A new surface has nothing on it yet
+        profiler.breakFrameChain();
+        long seen = scheduler.getGeneration();
+        while (running) {
+            if (scheduler.isIdle()) {
+                try { seen = scheduler.awaitWork(seen); } catch (InterruptedException e) { Log.w(TAG, "Render thread interrupted", e); }
+                profiler.breakFrameChain(); // Time spent asleep isn't dropped frames
+                WorldSnapshot snapshot = snapshots.acquireLatest();
+                if (running && snapshot.sequence > 0) drawFrame(renderer, snapshot);
+                continue;
             }
+            WorldSnapshot snapshot = snapshots.acquireLatest();
+            if (snapshot.sequence > 0 && scheduler.isFrameDue(System.nanoTime())) drawFrame(renderer, snapshot);
+            waitForNextFrame();
         }
+        vsyncPacer.stop();
+        renderer.release();
+        hud.release();
+    }
 
-        for (int i = enemies.size() - 1; i >= 0; i--) {
-            Enemy enemy = enemies.get(i);
-            enemy.update(player != null ? player.getX() : 0, player != null ? player.getY() : 0, getWidth(), getHeight());
-            if (isCollision(player, enemy)) {
-                enemies.remove(i);
-                if (player != null && !player.isInvincible()) {
-                    if (!player.isShieldActive()) player.applyGenericEffect("health", -10);
-                    else player.applyGenericEffect("health", -5);
-                }
-                if (explosionBitmap != null) collisionEffects.add(new CollisionEffect(enemy.getX(), enemy.getY(), explosionBitmap));
+    private void drawFrame(GameRenderer renderer, WorldSnapshot snapshot) {
+        profiler.beginFrame(); // Switching the profiler on from the UI thread only posts the reset
+        long endScreen = endScreenKey(snapshot);
+        if (endScreen != 0 && endScreen == presentedEndScreen && endScreenDirtyTracking) { framesSkipped++; return; }
+        if (!renderer.renderFrame(snapshot, interpolationAlpha(snapshot))) return;
+        if (snapshot.inputNanos != 0 && snapshot.sequence != measuredSequence) recordInputLatency(System.nanoTime() - snapshot.inputNanos);
+        measuredSequence = snapshot.sequence;
+        presentedEndScreen = endScreen;
+        framesDrawn++;
+        lastSpritesDrawn = snapshot.spriteCount;
+        lastSpritesCulled = snapshot.culledCount;
+        totalSpritesDrawn += snapshot.spriteCount;
+        totalSpritesCulled += snapshot.culledCount;
+        if (profiler.isEnabled()) {
+            profiler.frameDrawn();
+            profiler.setSpriteCounts(snapshot.spriteCount, snapshot.culledCount);
+            if (profiler.isRuntimeSampleDue()) {
+                profiler.sampleRuntime(runtimeStat("art.gc.gc-count"), runtimeStat("art.gc.gc-time"), runtimeStat("art.gc.bytes-allocated"));
             }
         }
+    }
 
-        for (int i = projectiles.size() - 1; i >= 0; i--) {
-            Projectile p = projectiles.get(i);
-            p.update(getWidth(), getHeight());
-            if (!p.isActive()) { projectiles.remove(i); continue; }
-            if (p.getType() == ProjectileType.PLAYER_SWORD_WAVE) {
-                for (int j = enemies.size() - 1; j >= 0; j--) {
-                    if (isCollision(enemies.get(j), p)) {
-                        if (explosionBitmap != null) collisionEffects.add(new CollisionEffect(enemies.get(j).getX(), enemies.get(j).getY(), explosionBitmap));
-                        enemies.remove(j);
-                        if (player != null) player.applyGenericEffect("gold", 15);
-                    }
-                }
-                if (p.getLifespan() <= 0) p.setActive(false); else p.decrementLifespan();
-            } else {
-                for (int j = enemies.size() - 1; j >= 0; j--) {
-                    if (isCollision(enemies.get(j), p)) {
-                        if (explosionBitmap != null) collisionEffects.add(new CollisionEffect(enemies.get(j).getX(), enemies.get(j).getY(), explosionBitmap));
-                        enemies.remove(j);
-                        projectiles.remove(i);
-                        if (player != null) player.applyGenericEffect("gold", 10);
-                        break;
-                    }
-                }
-            }
-        }
+    // Cumulative ART counter, 0 where the runtime doesn't report it; parsing allocates, so about once a second only
+    private static long runtimeStat(String name) {
+        String value = Debug.getRuntimeStat(name);
+        if (value == null) return 0;
+        try { return Long.parseLong(value); } catch (NumberFormatException e) { return 0; }
+    }
 
-        for (int i = collisionEffects.size() - 1; i >= 0; i--) {
-            if (!collisionEffects.get(i).isAlive()) collisionEffects.remove(i);
-            else collisionEffects.get(i).update();
-        }
+    // From the touch to the first frame showing its effect being posted; the compositor adds about a vsync on top
+    private void recordInputLatency(long nanos) {
+        lastInputLatencyNanos = nanos;
+        inputLatencyCount++;
+        inputLatencyTotalNanos += nanos;
+        inputLatencyMaxNanos = Math.max(inputLatencyMaxNanos, nanos);
+    }
 
-        for (int i = items.size() - 1; i >= 0; i--) {
-            Item item = items.get(i);
-            item.update(getWidth(), getHeight());
-            if (!item.isActive()) { items.remove(i); continue; }
-            if (isCollision(player, item)) {
-                items.remove(i);
-                if (soundEffectsEnabled && soundPool != null) soundPool.play(itemPickupSoundId, 1.0f, 1.0f, 1, 0, 1.0f);
-                if (player != null) player.applyItemEffect(item.getType());
-                if (explosionBitmap != null) collisionEffects.add(new CollisionEffect(item.getX(), item.getY(), explosionBitmap));
-            }
-        }
+    // Everything an end screen's pixels depend on, folded into one number; 0 while the game is running
+    private long endScreenKey(WorldSnapshot s) {
+        if (!s.gameOver && !s.gameWon) return 0;
+        long key = s.gameOver ? 1 : 2;
+        key = key * 31 + s.gold;
+        key = key * 31 + getWidth();
+        key = key * 31 + getHeight();
+        for (int i = 0; i < s.highScoreCount; i++) key = key * 31 + s.highScores[i];
+        key = key * 31 + System.identityHashCode(s.gameOver ? gameOverImageBitmap : congratulationsBitmap); // Art may arrive late
+        key = key * 31 + System.identityHashCode(replayButtonBitmap);
+        return key != 0 ? key : 1;
+    }
 
-        backgroundOffsetX -= BACKGROUND_SPEED;
-        if (getWidth() > 0 && backgroundOffsetX <= -getWidth()) backgroundOffsetX = 0;
+    private GameRenderer createRenderer(RendererBackend backend) {
+        if (backend == RendererBackend.HARDWARE && HardwareCanvasRenderer.isSupported()) return new HardwareCanvasRenderer(holder, this::render, profiler);
+        return new CanvasRenderer(holder, this::render, profiler);
     }
-    
-    private void spawnRandomItem() {
-        if (getHeight() <= 0 || items.size() > 0) return;
-        ItemType type = ItemType.values()[random.nextInt(ItemType.values().length)];
-        Bitmap itemBitmap = null;
-        switch (type) {
-            case HEART: itemBitmap = heartItemBitmap; break;
-            case SHIELD: itemBitmap = shieldItemBitmap; break;
-            case INVINCIBILITY: itemBitmap = invincibleItemBitmap; break;
-        }
-        if (itemBitmap != null) {
-            items.add(new Item(getWidth(), random.nextFloat() * (getHeight() - itemBitmap.getHeight()), itemBitmap, type));
-            Log.d(TAG, "Spawned item: " + type);
-        }
+
+    public void setFramePacing(FramePacing pacing) {
+        framePacing = pacing;
+        updateExpectedFrameTime();
+    }
+
+    /** Takes effect the next time the render thread starts. */
+    public void setRendererBackend(RendererBackend backend) { rendererBackend = backend; }
+
+    public void setUpdateMode(UpdateMode mode) { world.setUpdateMode(mode); }
+
+    /** Whether unchanged end screens skip drawing (on by default); off redraws them every frame like gameplay. */
+    public void setEndScreenDirtyTracking(boolean enabled) { endScreenDirtyTracking = enabled; }
+
+    /** Caps the gameplay frame rate; AUTO follows the system battery saver, checked on each resume. */
+    public void setBatterySaver(BatterySaver saver) {
+        batterySaver = saver;
+        applyBatterySaver();
     }
 
-    private void spawnEnemies() {
-        if (scaledEnemyBitmap == null || getHeight() <= 0) return;
-        for (int i = 0; i < random.nextInt(3) + 1; i++) {
-            enemies.add(new Enemy(getWidth(), random.nextFloat() * (getHeight() - scaledEnemyBitmap.getHeight()), scaledEnemyBitmap, 5));
+    private void applyBatterySaver() {
+        BatterySaver saver = batterySaver;
+        boolean on = saver != BatterySaver.AUTO;
+        if (!on) {
+            PowerManager power = (PowerManager) getContext().getSystemService(Context.POWER_SERVICE);
+            on = power != null && power.isPowerSaveMode();
         }
+        scheduler.setFrameRateCap(on ? saver.fps : 0);
+        updateExpectedFrameTime();
+    }
+
+    // What a frame on time looks like to the profiler's drop detection: the capped rate, else a vsync
+    private void updateExpectedFrameTime() {
+        int cap = scheduler.getFrameRateCap();
+        float refreshRate = getDisplay() != null ? getDisplay().getRefreshRate() : 0;
+        if (cap > 0) profiler.setExpectedFrameNanos(1_000_000_000L / cap);
+        else if (framePacing == FramePacing.VSYNC && refreshRate > 0) profiler.setExpectedFrameNanos((long) (1_000_000_000L / refreshRate));
+        else profiler.setExpectedFrameNanos(frameClock.getStepNanos());
+    }
+
+    /** Shows the profiler overlay and starts timing every frame phase; switching on starts from fresh numbers. */
+    public void setProfilerEnabled(boolean enabled) {
+        updateExpectedFrameTime();
+        profiler.setEnabled(enabled);
+        scheduler.requestFrame();
     }
 
-    private Rect createHitbox(float x, float y, int width, int height, float scale) {
-        int newWidth = (int) (width * scale); int newHeight = (int) (height * scale);
-        return new Rect((int)(x + (width - newWidth) / 2), (int)(y + (height - newHeight) / 2), (int)(x + (width + newWidth) / 2), (int)(y + (height + newHeight) / 2));
+    public boolean isProfilerEnabled() { return profiler.isEnabled(); }
+
+    /** Whether a three-finger tap toggles the profiler; on in debuggable builds only, since in play it would swallow an attack. */
+    public void setProfilerGesture(boolean enabled) { profilerGesture = enabled; }
+
+    /** Writes the profile (per-phase summary, then the last frames as CSV) to {@link #PROFILE_FILE} on a background thread. */
+    public void dumpProfile() {
+        StringBuilder report = new StringBuilder();
+        try {
+            profiler.writeReport(report);
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringBuilder doesn't throw
+        }
+        File file = new File(getContext().getFilesDir(), PROFILE_FILE);
+        new Thread(() -> {
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                out.write(report.toString().getBytes(StandardCharsets.UTF_8));
+                Log.d(TAG, "Frame profile written to " + file);
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to write the frame profile", e);
+            }
+        }, "ProfileDump").start();
     }
 
-    private boolean isCollision(Player player, Enemy enemy) {
-        if (player == null || enemy == null) return false;
-        return Rect.intersects(createHitbox(player.getX(), player.getY(), (int)player.getWidth(), (int)player.getHeight(), 0.8f), createHitbox(enemy.getX(), enemy.getY(), (int)enemy.getWidth(), (int)enemy.getHeight(), 0.85f));
+    /** CPU time the whole process used per minute since the last resume. */
+    public long getCpuMillisPerMinute() { return cpuMeter.cpuMillisPerMinute(); }
+
+    /** Sprites drawn and culled (off screen) in the last frame drawn. */
+    public int getLastSpritesDrawn() { return lastSpritesDrawn; }
+    public int getLastSpritesCulled() { return lastSpritesCulled; }
+
+    /** Time from the last measured touch to the first frame showing its effect being posted, 0 before any. */
+    public long getLastInputLatencyNanos() { return lastInputLatencyNanos; }
+
+    private void waitForNextFrame() {
+        if (framePacing == FramePacing.VSYNC) {
+            try { vsyncPacer.awaitNextVsync(); } catch (InterruptedException e) { Log.w(TAG, "Render thread interrupted", e); }
+        } else {
+            LockSupport.parkNanos(frameClock.getStepNanos());
+        }
     }
 
-    private boolean isCollision(Player player, Item item) {
-        if (player == null || item == null) return false;
-        return Rect.intersects(new Rect((int)player.getX(), (int)player.getY(), (int)(player.getX() + player.getWidth()), (int)(player.getY() + player.getHeight())), new Rect((int)item.getX(), (int)item.getY(), (int)(item.getX() + item.getWidth()), (int)(item.getY() + item.getHeight())));
+    // How far the render clock is between the snapshot's previous and current step
+    private float interpolationAlpha(WorldSnapshot snapshot) {
+        float alpha = (System.nanoTime() - snapshot.stepTimeNanos) / (float) frameClock.getStepNanos();
+        return alpha < 0f ? 0f : Math.min(alpha, 1f);
     }
 
-    private boolean isCollision(Enemy enemy, Projectile projectile) {
-        if (enemy == null || projectile == null) return false;
-        return Rect.intersects(createHitbox(enemy.getX(), enemy.getY(), (int)enemy.getWidth(), (int)enemy.getHeight(), 0.85f), new Rect((int)projectile.getX(), (int)projectile.getY(), (int)(projectile.getX() + projectile.getWidth()), (int)(projectile.getY() + projectile.getHeight())));
+    private void publishSnapshot() {
+        long t = profiler.begin(FrameProfiler.Phase.PUBLISH);
+        WorldSnapshot s = snapshots.getBack();
+        s.beginWrite(++snapshotSequence, System.nanoTime());
+
+        world.writeSnapshot(s);
+        s.inputNanos = pendingInputNanos;
+        pendingInputNanos = 0;
+        screenGameOver = s.gameOver;
+        screenGameWon = s.gameWon;
+        s.musicEnabled = musicEnabled;
+        s.soundEffectsEnabled = soundEffectsEnabled;
+        HighScoreTable table = highScores.getTable();
+        for (int i = 0, n = Math.min(table.getCount(), END_SCREEN_HIGH_SCORES); i < n; i++) s.addHighScore(table.getScore(i));
+
+        snapshots.publish();
+        if (profiler.isEnabled()) profiler.setEntityCounts(world.getEnemyCount(), world.getProjectileCount(), world.getItemCount());
+        profiler.end(FrameProfiler.Phase.PUBLISH, t);
     }
 
-    @Override
-    public void draw(Canvas canvas) {
-        super.draw(canvas);
-        if (canvas == null) return;
-
-        if (scaledBackground != null) {
-            canvas.drawBitmap(scaledBackground, backgroundOffsetX, 0, paint);
-            if (getWidth() > 0) canvas.drawBitmap(scaledBackground, backgroundOffsetX + getWidth(), 0, paint);
-        } else { canvas.drawColor(Color.BLACK); }
-
-        if (isGameOver) {
-            drawEndScreen(canvas, gameOverImageBitmap);
-        } else if (isGameWon) {
-            drawEndScreen(canvas, congratulationsBitmap);
+    private void render(Canvas canvas, WorldSnapshot snapshot, float alpha) {
+        if (background != null) background.draw(canvas, snapshot, alpha);
+        else canvas.drawColor(Color.BLACK);
+
+        if (snapshot.gameOver) {
+            drawEndScreen(canvas, snapshot, gameOverImageBitmap);
+        } else if (snapshot.gameWon) {
+            drawEndScreen(canvas, snapshot, congratulationsBitmap);
         } else {
-            drawGame(canvas);
+            drawGame(canvas, snapshot, alpha);
         }
     }
     
-    private void drawEndScreen(Canvas canvas, Bitmap endImage) {
+    private void drawEndScreen(Canvas canvas, WorldSnapshot snapshot, Bitmap endImage) {
         if (endImage != null) canvas.drawBitmap(endImage, (getWidth() - endImage.getWidth()) / 2f, getHeight() / 5f, paint);
         
-        if (isGameWon) {
+        if (snapshot.gameWon) {
             paint.setColor(Color.WHITE);
             paint.setTextSize(40);
             paint.setTextAlign(Paint.Align.CENTER);
             canvas.drawText("High Scores:", getWidth() / 2f, getHeight() / 2f, paint);
             float yPos = getHeight() / 2f + 60;
-            for (int i = 0; i < highScores.size(); i++) {
-                canvas.drawText((i + 1) + ". " + highScores.get(i), getWidth() / 2f, yPos, paint);
+            for (int i = 0; i < snapshot.highScoreCount; i++) {
+                canvas.drawText((i + 1) + ". " + snapshot.highScores[i], getWidth() / 2f, yPos, paint);
                 yPos += 50;
             }
         }
@@ -429,10 +509,10 @@ public class GameView extends SurfaceView implements Runnable, SurfaceHolder.Cal
         paint.setColor(Color.YELLOW);
         paint.setTextSize(60);
         paint.setTextAlign(Paint.Align.CENTER);
-        canvas.drawText("Your Gold: " + (player != null ? player.getGold() : 0), getWidth() / 2f, getHeight() * 0.8f, paint);
+        canvas.drawText("Your Gold: " + snapshot.gold, getWidth() / 2f, getHeight() * 0.8f, paint);
         
         // Only draw buttons on Game Over screen
-        if(isGameOver) {
+        if(snapshot.gameOver) {
             if (replayButtonRect != null && replayButtonBitmap != null) canvas.drawBitmap(replayButtonBitmap, replayButtonRect.left, replayButtonRect.top, paint);
             if (menuButtonRect != null && menuButtonBitmap != null) canvas.drawBitmap(menuButtonBitmap, menuButtonRect.left, menuButtonRect.top, paint);
             if (settingsButtonRect != null && settingsButtonBitmap != null) canvas.drawBitmap(settingsButtonBitmap, settingsButtonRect.left, settingsButtonRect.top, paint);
@@ -440,150 +520,214 @@ public class GameView extends SurfaceView implements Runnable, SurfaceHolder.Cal
         paint.setTextAlign(Paint.Align.LEFT);
     }
 
-    private void drawGame(Canvas canvas) {
-        if (player != null) player.draw(canvas, paint);
-        for (Enemy enemy : enemies) enemy.draw(canvas, paint);
-        for (Projectile p : projectiles) p.draw(canvas, paint);
-        for (Item item : items) item.draw(canvas, paint);
-        for (CollisionEffect effect : collisionEffects) effect.draw(canvas, paint);
-
-        int topButtonSize = 100;
-        int topCenterX = getWidth() > 0 ? getWidth() / 2 - topButtonSize / 2 : 0;
-        if (musicEnabled && musicTurnOffBitmap != null) canvas.drawBitmap(musicTurnOffBitmap, topCenterX, 10, paint);
-        else if (!musicEnabled && musicTurnOnBitmap != null) canvas.drawBitmap(musicTurnOnBitmap, topCenterX, 10, paint);
-        if (soundOffBitmap != null && soundOnBitmap != null) {
-            if (soundEffectsEnabled) canvas.drawBitmap(soundOffBitmap, topCenterX + topButtonSize + 10, 10, paint);
-            else canvas.drawBitmap(soundOnBitmap, topCenterX + topButtonSize + 10, 10, paint);
+    private void drawGame(Canvas canvas, WorldSnapshot snapshot, float alpha) {
+        spriteBatch.begin(canvas);
+        for (int i = 0; i < snapshot.spriteCount; i++) {
+            float x = snapshot.prevX[i] + (snapshot.x[i] - snapshot.prevX[i]) * alpha;
+            float y = snapshot.prevY[i] + (snapshot.y[i] - snapshot.prevY[i]) * alpha;
+            spriteBatch.draw(snapshot.spriteId[i], x, y);
         }
+        spriteBatch.end();
 
-        paint.setColor(Color.GRAY);
-        paint.setAlpha(128);
-        if (getHeight() > 250 && getWidth() > 200) {
-            canvas.drawRect(50, getHeight() - 250, 150, getHeight() - 150, paint);
-            canvas.drawRect(50, getHeight() - 150, 150, getHeight() - 50, paint);
-            canvas.drawRect(0, getHeight() - 200, 100, getHeight() - 100, paint);
-            canvas.drawRect(100, getHeight() - 200, 200, getHeight() - 100, paint);
-
-            int actionButtonY = getHeight() - 150, h = 100, w = 100, s = 10;
-            Rect slashR = new Rect(getWidth() - w - s, actionButtonY, getWidth() - s, actionButtonY + h);
-            canvas.drawRect(slashR, paint);
-            Rect bombR = new Rect(slashR.left - w - s, actionButtonY, slashR.left - s, actionButtonY + h);
-            canvas.drawRect(bombR, paint);
-            Rect fireR = new Rect(bombR.left - w - s, actionButtonY, bombR.left - s, actionButtonY + h);
-            canvas.drawRect(fireR, paint);
-
-            paint.setAlpha(255); paint.setColor(Color.WHITE); paint.setTextSize(30); paint.setTextAlign(Paint.Align.CENTER);
-            canvas.drawText("S", slashR.centerX(), slashR.centerY() + 10, paint);
-            canvas.drawText("B", bombR.centerX(), bombR.centerY() + 10, paint);
-            canvas.drawText("F", fireR.centerX(), fireR.centerY() + 10, paint);
-        }
+        hud.draw(canvas, snapshot);
+        if (profiler.isEnabled()) profilerOverlay.draw(canvas, profiler, System.nanoTime());
+    }
 
-        paint.setTextAlign(Paint.Align.LEFT); paint.setTextSize(40);
-        if (player != null) {
-            paint.setColor(Color.WHITE);
-            canvas.drawText("Health: " + player.getHealth(), 10, 50, paint);
-            canvas.drawText("Armor: " + player.getArmor(), 10, 90, paint);
-            canvas.drawText("Gold: " + player.getGold(), 10, 130, paint);
-            if (player.getCurrentWeapon() != null) canvas.drawText("Weapon: " + player.getCurrentWeapon().toString(), 10, 170, paint);
-            if (player.isInvincible()) {
-                paint.setColor(Color.YELLOW);
-                canvas.drawText("INVINCIBLE!", getWidth() / 2f - paint.measureText("INVINCIBLE!") / 2, 50, paint);
-            }
+    public void resume() {
+        if (running) return; // surfaceCreated() and onResume() both call this
+        // onResume() comes before surfaceChanged(): a world stepped without a screen would clamp the player
+        // into a 0x0 field and run the round timer, so layout() or onAssetsProgress resumes once both are in
+        Viewport viewport = pendingViewport;
+        if (!assetsReady || viewport == null || viewport.width <= 0 || viewport.height <= 0) { resumePending = true; return; }
+        running = true;
+        scheduler.setIdle(false);
+        applyBatterySaver();
+        cpuMeter.restart();
+        simulationThread = new Thread(this::runSimulation, "GameSimulation");
+        renderThread = new Thread(this::runRender, "GameRender");
+        simulationThread.start();
+        renderThread.start();
+    }
+
+    public void pause() {
+        resumePending = false;
+        running = false;
+        scheduler.requestFrame(); // Wakes threads sleeping on an end screen so they see running == false
+        joinQuietly(simulationThread);
+        joinQuietly(renderThread);
+        stopRecording();
+        world.shutdown(); // Idle workers go away with the game threads; the next parallel step starts new ones
+        Log.d(TAG, "Entity pool stats:\n" + world.describePoolStats());
+        if (framesDrawn > 0) {
+            Log.d(TAG, "Frames: " + framesDrawn + " drawn, " + framesSkipped + " unchanged end screens skipped; sprites per frame: "
+                    + (totalSpritesDrawn / framesDrawn) + " drawn, " + (totalSpritesCulled / framesDrawn) + " culled");
         }
-        paint.setColor(Color.YELLOW); paint.setTextSize(50); paint.setTextAlign(Paint.Align.RIGHT);
-        canvas.drawText(String.format(Locale.getDefault(), "%02d:%02d", remainingTimeSeconds / 60, remainingTimeSeconds % 60), getWidth() - 20, 60, paint);
-        paint.setTextAlign(Paint.Align.LEFT);
+        if (inputLatencyCount > 0) {
+            Log.d(TAG, "Input latency: " + inputLatencyCount + " touches, avg " + (inputLatencyTotalNanos / inputLatencyCount / 1000) + " us, max "
+                    + (inputLatencyMaxNanos / 1000) + " us; " + input.getDroppedCount() + " dropped");
+        }
+        if (profiler.isEnabled()) dumpProfile();
+        Log.d(TAG, "CPU: " + cpuMeter.cpuMillisPerMinute() + " ms per minute over " + (cpuMeter.elapsedWallMillis() / 1000) + " s, frame cap "
+                + (scheduler.getFrameRateCap() > 0 ? scheduler.getFrameRateCap() + " fps" : "off"));
     }
 
-    public void resume() { running = true; gameThread = new Thread(this); gameThread.start(); }
-    public void pause() { running = false; boolean retry = true; while (retry) { try { if (gameThread != null) gameThread.join(); retry = false; } catch (InterruptedException e) { Log.w(TAG, "Game thread join interrupted", e); } } }
+    private void joinQuietly(Thread thread) {
+        boolean retry = true;
+        while (retry) { try { if (thread != null) thread.join(); retry = false; } catch (InterruptedException e) { Log.w(TAG, "Game thread join interrupted", e); } }
+    }
 
     private void restartGame() {
-        isGameOver = false; isGameWon = false;
-        player = new Player(initialPlayerX, initialPlayerY, initialScaledPlayerBitmap, initialPlayerSpeed);
-        enemies.clear(); projectiles.clear(); items.clear(); collisionEffects.clear();
-        backgroundOffsetX = 0; gameStartTime = System.currentTimeMillis();
-        lastEnemySpawnTime = System.currentTimeMillis(); lastItemSpawnTime = System.currentTimeMillis();
+        world.restart(System.nanoTime());
+        startRecording();
+        MediaPlayer mediaPlayer = assets.getMusicPlayer();
         if (musicEnabled && mediaPlayer != null && !mediaPlayer.isPlaying()) { mediaPlayer.seekTo(0); mediaPlayer.start(); }
         Log.d(TAG, "Game Restarted");
     }
 
+    // Replaces the previous round's replay; ReplayPlayer can play the file back headless
+    private synchronized void startRecording() {
+        stopRecording();
+        if (!replayRecording) return;
+        try {
+            recorder = new ReplayRecorder(new FileOutputStream(new File(getContext().getFilesDir(), REPLAY_FILE)).getChannel());
+            world.setRecorder(recorder);
+        } catch (IOException e) {
+            Log.w(TAG, "Replay recording unavailable", e);
+        }
+    }
+
+    private synchronized void stopRecording() {
+        if (recorder == null) return;
+        world.setRecorder(null);
+        try {
+            recorder.close();
+            Log.d(TAG, "Replay: " + recorder.getStepCount() + " steps, " + recorder.getBytesWritten() + " bytes");
+        } catch (IOException e) {
+            Log.w(TAG, "Replay recording failed", e);
+        }
+        recorder = null;
+    }
+
+    /** Whether rounds are recorded to {@link #REPLAY_FILE} (on by default); takes effect at the next restart. */
+    public void setReplayRecording(boolean enabled) { replayRecording = enabled; }
+
     @Override
     public boolean onTouchEvent(MotionEvent event) {
-        if (getHeight() <= 0 || getWidth() <= 0) return super.onTouchEvent(event);
-        float touchX = event.getX(); float touchY = event.getY(); int action = event.getAction();
+        boolean handled = handleTouch(event);
+        if (scheduler.isIdle()) scheduler.requestFrame(); // End screens only redraw on input or state changes
+        return handled;
+    }
 
-        if (isGameOver) { // Only handle touches on Game Over screen
-            if (action == MotionEvent.ACTION_DOWN) {
-                if (replayButtonRect != null && replayButtonRect.contains((int) touchX, (int) touchY)) { restartGame(); performClick(); return true; }
-                if (menuButtonRect != null && menuButtonRect.contains((int) touchX, (int) touchY)) { Log.d(TAG, "Menu button clicked."); performClick(); return true; }
-                if (settingsButtonRect != null && settingsButtonRect.contains((int) touchX, (int) touchY)) { Log.d(TAG, "Settings button clicked."); performClick(); return true; }
+    // UI thread: turns touches into queued commands; the world is only read through the last published screen
+    private boolean handleTouch(MotionEvent event) {
+        if (getHeight() <= 0 || getWidth() <= 0) return super.onTouchEvent(event);
+        int action = event.getActionMasked();
+        long eventNanos = event.getEventTime() * 1_000_000L; // uptimeMillis and System.nanoTime() share CLOCK_MONOTONIC
+
+        if (screenGameOver || screenGameWon) {
+            touchControls.cancel(eventNanos); // Nothing stays held into the next round
+            if (screenGameWon) return true; // Consume touches on win screen
+            if (action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_POINTER_DOWN) { // Only handle touches on Game Over screen
+                int index = event.getActionIndex();
+                int touchX = (int) event.getX(index), touchY = (int) event.getY(index);
+                if (replayButtonRect != null && replayButtonRect.contains(touchX, touchY)) { input.offer(InputQueue.Kind.RESTART, eventNanos); performClick(); }
+                else if (menuButtonRect != null && menuButtonRect.contains(touchX, touchY)) { Log.d(TAG, "Menu button clicked."); performClick(); }
+                else if (settingsButtonRect != null && settingsButtonRect.contains(touchX, touchY)) { Log.d(TAG, "Settings button clicked."); performClick(); }
             }
             return true;
         }
-        
-        if(isGameWon) return true; // Consume touches on win screen
 
-        if (player != null) {
-             if (touchX >= 50 && touchX <= 150 && touchY >= getHeight() - 250 && touchY <= getHeight() - 150) player.setMovingUp(action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_MOVE);
-             else if (touchX >= 50 && touchX <= 150 && touchY >= getHeight() - 150 && touchY <= getHeight() - 50) player.setMovingDown(action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_MOVE);
-             else if (touchX >= 0 && touchX <= 100 && touchY >= getHeight() - 200 && touchY <= getHeight() - 100) player.setMovingLeft(action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_MOVE);
-             else if (touchX >= 100 && touchX <= 200 && touchY >= getHeight() - 200 && touchY <= getHeight() - 100) player.setMovingRight(action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_MOVE);
+        if (profilerGesture && action == MotionEvent.ACTION_POINTER_DOWN && event.getPointerCount() == 3) { // Three-finger tap: profiler overlay on/off
+            setProfilerEnabled(!profiler.isEnabled());
+            return true;
         }
 
-        if (action == MotionEvent.ACTION_DOWN) {
-            int actionButtonY = getHeight() - 150, h = 100, w = 100, s = 10;
-            Rect slashR = new Rect(getWidth() - w - s, actionButtonY, getWidth() - s, actionButtonY + h);
-            Rect bombR = new Rect(slashR.left - w - s, actionButtonY, slashR.left - s, actionButtonY + h);
-            Rect fireR = new Rect(bombR.left - w - s, actionButtonY, bombR.left - s, actionButtonY + h);
-            if (player != null) {
-                if (fireR.contains((int)touchX, (int)touchY)) { player.switchAttack(WeaponType.FIREBALL); shoot(); performClick(); }
-                else if (bombR.contains((int)touchX, (int)touchY)) { player.switchAttack(WeaponType.BOMB_DROP); shoot(); performClick(); }
-                else if (slashR.contains((int)touchX, (int)touchY)) { player.switchAttack(WeaponType.SWORD_SLASH); shoot(); performClick(); }
+        switch (action) {
+            case MotionEvent.ACTION_DOWN:
+            case MotionEvent.ACTION_POINTER_DOWN: {
+                int index = event.getActionIndex();
+                touchControls.pointerDown(event.getPointerId(index), event.getX(index), event.getY(index), eventNanos);
+                break;
             }
-
-            int topButtonSize = 100; int topCenterX = getWidth() > 0 ? getWidth() / 2 - topButtonSize / 2 : 0;
-            if (touchX >= topCenterX && touchX <= topCenterX + topButtonSize && touchY >= 10 && touchY <= 10 + topButtonSize) { toggleMusic(); performClick(); }
-            if (touchX >= topCenterX + topButtonSize + 10 && touchX <= topCenterX + topButtonSize * 2 + 10 && touchY >= 10 && touchY <= 10 + topButtonSize) { toggleSoundEffects(); performClick(); }
-
-        } else if (action == MotionEvent.ACTION_UP && player != null) {
-            player.setMovingUp(false); player.setMovingDown(false); player.setMovingLeft(false); player.setMovingRight(false);
+            case MotionEvent.ACTION_MOVE:
+                for (int i = 0, n = event.getPointerCount(); i < n; i++) touchControls.pointerMove(event.getPointerId(i), event.getX(i), event.getY(i), eventNanos);
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_POINTER_UP:
+                touchControls.pointerUp(event.getPointerId(event.getActionIndex()), eventNanos);
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                touchControls.cancel(eventNanos);
+                break;
         }
         return true;
     }
 
+    /** The D-pad becomes an analog stick: speed follows how far the thumb is from its centre. */
+    public void setAnalogStick(boolean analog) { touchControls.setAnalogStick(analog); }
+
+    // Simulation thread, at the start of a tick
+    private void applyInput(InputQueue.Command command) {
+        if (pendingInputNanos == 0) pendingInputNanos = command.getEventNanos();
+        Player player = world.getPlayer();
+        switch (command.getKind()) {
+            case MOVE:
+                if (player != null) {
+                    player.setMovementBits(command.getMovementBits());
+                    player.setStick(command.getStickX(), command.getStickY());
+                }
+                break;
+            case ATTACK:
+                if (player != null && !world.isGameOver() && !world.isGameWon()) {
+                    player.switchAttack(command.getWeapon());
+                    world.shoot();
+                }
+                break;
+            case RESTART:
+                if (world.isGameOver()) restartGame();
+                break;
+            case TOGGLE_MUSIC:
+                toggleMusic();
+                break;
+            case TOGGLE_SOUND:
+                toggleSoundEffects();
+                break;
+        }
+    }
+
     @Override
     public boolean performClick() { super.performClick(); return true; }
 
-    private void triggerSuperBombEffect() {
-        if (explosionBitmap == null || enemies.isEmpty()) return;
-        int enemiesCleared = enemies.size();
-        for (Enemy enemy : new ArrayList<>(enemies)) collisionEffects.add(new CollisionEffect(enemy.getX(), enemy.getY(), explosionBitmap));
-        enemies.clear();
-        Log.d(TAG, "Super Bomb triggered, " + enemiesCleared + " enemies cleared.");
-        if (player != null) player.applyGenericEffect("gold", enemiesCleared * 5);
-    }
-
-    private void shoot() {
-        if (player == null) return;
-        WeaponType currentWeapon = player.getCurrentWeapon();
-        if (currentWeapon == null) return;
-        if ((currentWeapon == WeaponType.FIREBALL && bulletBitmap == null) || (currentWeapon == WeaponType.BOMB_DROP && playerBombItemBitmap == null) || (currentWeapon == WeaponType.SWORD_SLASH && playerMeleeBitmap == null)) return;
-
-        Projectile p = player.createAttack(bulletBitmap, playerMeleeBitmap, playerBombItemBitmap, 15f);
-        if (p != null) {
-            if (p.getType() == ProjectileType.PLAYER_SUPER_BOMB) {
-                triggerSuperBombEffect();
-                if (soundEffectsEnabled && soundPool != null) soundPool.play(shootSoundId, 1.2f, 1.2f, 1, 0, 1.1f);
-            } else {
-                if (p.getType() == ProjectileType.PLAYER_SWORD_WAVE) p.setLifespan(MELEE_ATTACK_DURATION_FRAMES);
-                projectiles.add(p);
-                if (soundEffectsEnabled && soundPool != null) soundPool.play(shootSoundId, 1.0f, 1.0f, 1, 0, 1.0f);
-            }
-        } else Log.w(TAG, "player.createAttack() returned null for weapon: " + currentWeapon);
+    @Override
+    public void onAttack(ProjectileType type) {
+        SoundPool soundPool = assets.getSoundPool();
+        if (!soundEffectsEnabled || soundPool == null) return;
+        if (type == ProjectileType.PLAYER_SUPER_BOMB) soundPool.play(assets.getShootSoundId(), 1.2f, 1.2f, 1, 0, 1.1f);
+        else soundPool.play(assets.getShootSoundId(), 1.0f, 1.0f, 1, 0, 1.0f);
+    }
+
+    @Override
+    public void onItemPickedUp(ItemType type) {
+        SoundPool soundPool = assets.getSoundPool();
+        if (soundEffectsEnabled && soundPool != null) soundPool.play(assets.getItemPickupSoundId(), 1.0f, 1.0f, 1, 0, 1.0f);
+        Log.d(TAG, "Item picked up: " + type);
+    }
+
+    @Override
+    public void onGameOver(int gold) {
+        MediaPlayer mediaPlayer = assets.getMusicPlayer();
+        if (mediaPlayer != null && mediaPlayer.isPlaying()) mediaPlayer.pause();
+    }
+
+    @Override
+    public void onGameWon(int gold) {
+        highScores.record(HighScoreStore.DEFAULT_NAME, gold);
+        MediaPlayer mediaPlayer = assets.getMusicPlayer();
+        if (mediaPlayer != null && mediaPlayer.isPlaying()) mediaPlayer.pause();
     }
 
     private void toggleMusic() {
+        MediaPlayer mediaPlayer = assets.getMusicPlayer(); // Null while the music is still being prepared
         if (mediaPlayer == null) return;
         if (!musicEnabled) {
             if (!mediaPlayer.isPlaying()) mediaPlayer.seekTo(0);
@@ -599,4 +743,15 @@ public class GameView extends SurfaceView implements Runnable, SurfaceHolder.Cal
         soundEffectsEnabled = !soundEffectsEnabled;
         Log.d(TAG, "Sound effects " + (soundEffectsEnabled ? "enabled" : "disabled"));
     }
+
+    private static final class Viewport {
+        final int width, height;
+        final float tileWidth; // Background tile on screen, 0 without a background
+
+        Viewport(int width, int height, float tileWidth) {
+            this.width = width;
+            this.height = height;
+            this.tileWidth = tileWidth;
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.my2dgame;
+
+import android.graphics.Canvas;
+import android.os.Build;
+import android.view.SurfaceHolder;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * {@link CanvasRenderer} on {@link SurfaceHolder#lockHardwareCanvas()}: the same
+ * drawing code, but rasterized on the GPU, so big bitmap fills stop costing CPU time. Only used
+ * from Android 10, the first release that draws {@link Canvas#drawVertices} (the sprite batch)
+ * on hardware canvases.
+ */
+@RequiresApi(api = Build.VERSION_CODES.Q)
+public class HardwareCanvasRenderer extends CanvasRenderer {
+
+    public HardwareCanvasRenderer(SurfaceHolder holder, Painter painter, FrameProfiler profiler) {
+        super(holder, painter, profiler);
+    }
+
+    public static boolean isSupported() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q;
+    }
+
+    @Override
+    protected Canvas lockCanvas() {
+        return holder.lockHardwareCanvas();
+    }
+
+    @Override
+    public String getName() { return "hardware canvas"; }
+}
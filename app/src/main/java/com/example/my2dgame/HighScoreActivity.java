@@ -1,7 +1,5 @@
 package com.example.my2dgame;
 
-import android.content.Context;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.widget.ArrayAdapter;
 import android.widget.ListView;
@@ -13,9 +11,6 @@ import java.util.List;
 
 public class HighScoreActivity extends AppCompatActivity {
 
-    private static final String PREFS_NAME = "My2DGamePrefs";
-    private static final String HIGH_SCORES_KEY = "highScores_v2";
-
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -23,32 +18,18 @@ public class HighScoreActivity extends AppCompatActivity {
 
         ListView highScoreListView = findViewById(R.id.high_score_list);
 
-        List<String> formattedScores = new ArrayList<>();
-        SharedPreferences prefs = getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        String scoresString = prefs.getString(HIGH_SCORES_KEY, "");
-
-        if (!scoresString.isEmpty()) {
-            try {
-                String[] scores = scoresString.split(";");
-                for (String score : scores) {
-                    if (!score.isEmpty()) {
-                        String[] parts = score.split(":");
-                        if (parts.length == 2) {
-                            formattedScores.add(parts[0] + " - " + parts[1]);
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // Handle potential parsing errors, maybe clear or show an error
-                formattedScores.add("Error loading scores");
+        // Same store the game saves to; the first use reads (or migrates) the file, so it's loaded on the store's thread
+        HighScoreStore.load(this, store -> {
+            HighScoreTable table = store.getTable();
+            List<String> formattedScores = new ArrayList<>();
+            synchronized (table) {
+                for (int i = 0; i < table.getCount(); i++) formattedScores.add(table.getName(i) + " - " + table.getScore(i));
             }
-        }
-
-        if (formattedScores.isEmpty()) {
-            formattedScores.add("No high scores yet!");
-        }
-
-        ArrayAdapter<String> adapter = new ArrayAdapter<>(this, android.R.layout.simple_list_item_1, formattedScores);
-        highScoreListView.setAdapter(adapter);
+            if (formattedScores.isEmpty()) formattedScores.add("No high scores yet!");
+            runOnUiThread(() -> {
+                if (isFinishing() || isDestroyed()) return; // Left the screen while loading
+                highScoreListView.setAdapter(new ArrayAdapter<>(this, android.R.layout.simple_list_item_1, formattedScores));
+            });
+        });
     }
 }
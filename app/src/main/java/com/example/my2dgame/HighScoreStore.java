@@ -0,0 +1,121 @@
+package com.example.my2dgame;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * The one place high scores live, shared by the game and the high-score screen. Scores are
+ * kept in memory in a {@link HighScoreTable} and saved to {@code high_scores.bin}
+ * ({@link HighScoreFormat}) through an AtomicFile, so a crash mid-write keeps the old file.
+ * Loading and saves run on one background thread; scores recorded while a save is queued go out with it.
+ *
+ * <p>On first use the two SharedPreferences formats the game had before are migrated into the
+ * file and removed: {@code highScores} (what the game wrote) and {@code highScores_v2} (what the
+ * old high-score screen read).
+ */
+public class HighScoreStore {
+    private static final String TAG = "HighScoreStore";
+    public static final int CAPACITY = 10;
+    static final String FILE_NAME = "high_scores.bin";
+    static final String DEFAULT_NAME = "Player";
+    private static final String LEGACY_PREFS_NAME = "My2DGamePrefs";
+    private static final String LEGACY_SCORES_KEY = "highScores";
+    private static final String LEGACY_NAMED_SCORES_KEY = "highScores_v2";
+    private static final int[] STARTING_SCORES = { 500, 400, 300, 200, 100, 50 };
+
+    private static HighScoreStore instance;
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor(r -> new Thread(r, "HighScoreIO"));
+
+    private final Context context;
+    private final AtomicFile file;
+    private final HighScoreTable table = new HighScoreTable(CAPACITY);
+    private final AtomicBoolean savePending = new AtomicBoolean();
+
+    private HighScoreStore(Context context) {
+        this.context = context;
+        this.file = new AtomicFile(new File(context.getFilesDir(), FILE_NAME));
+        load();
+    }
+
+    /** The store, loaded (and migrated if needed) on first call; the file is a few hundred bytes at most. */
+    public static synchronized HighScoreStore get(Context context) {
+        if (instance == null) instance = new HighScoreStore(context.getApplicationContext());
+        return instance;
+    }
+
+    /** Hands the store to {@code callback} on the store's background thread, loading it first if needed. */
+    public static void load(Context context, Consumer<HighScoreStore> callback) {
+        Context appContext = context.getApplicationContext();
+        IO.execute(() -> callback.accept(get(appContext)));
+    }
+
+    public HighScoreTable getTable() { return table; }
+
+    /** Adds a score if it makes the table and schedules a save; returns its rank or -1. Any thread. */
+    public int record(String name, int score) {
+        int rank = table.offer(name, score);
+        if (rank >= 0) scheduleSave();
+        return rank;
+    }
+
+    private void load() {
+        try {
+            HighScoreFormat.read(file.readFully(), table);
+        } catch (FileNotFoundException e) {
+            migrate();
+        } catch (IOException e) {
+            Log.w(TAG, "Unreadable high score file, starting over", e);
+            table.clear();
+            migrate();
+        }
+    }
+
+    private void migrate() {
+        SharedPreferences prefs = context.getSharedPreferences(LEGACY_PREFS_NAME, Context.MODE_PRIVATE);
+        HighScoreFormat.readLegacyScores(prefs.getString(LEGACY_SCORES_KEY, null), DEFAULT_NAME, table);
+        HighScoreFormat.readLegacyNamedScores(prefs.getString(LEGACY_NAMED_SCORES_KEY, null), table);
+        if (table.getCount() == 0) {
+            for (int score : STARTING_SCORES) table.offer(DEFAULT_NAME, score);
+        } else {
+            Log.d(TAG, "Migrated " + table.getCount() + " high scores from SharedPreferences");
+        }
+        // Old keys go once the file is written, so a failed first save migrates again next time
+        IO.execute(() -> {
+            if (save()) prefs.edit().remove(LEGACY_SCORES_KEY).remove(LEGACY_NAMED_SCORES_KEY).apply();
+        });
+    }
+
+    private void scheduleSave() {
+        if (!savePending.compareAndSet(false, true)) return; // The queued save will pick this score up
+        IO.execute(() -> {
+            savePending.set(false);
+            save();
+        });
+    }
+
+    private boolean save() {
+        byte[] data = HighScoreFormat.write(table);
+        FileOutputStream out = null;
+        try {
+            out = file.startWrite();
+            out.write(data);
+            file.finishWrite(out);
+            return true;
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to save high scores", e);
+            if (out != null) file.failWrite(out);
+            return false;
+        }
+    }
+}
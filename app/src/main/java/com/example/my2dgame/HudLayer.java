@@ -0,0 +1,192 @@
+package com.example.my2dgame;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+/**
+ * The in-game HUD, drawn from small cached layers instead of being rebuilt every frame. The
+ * static chrome (D-pad, action buttons) is rendered once per screen size; the music/sound
+ * toggles when either changes; the stats and the timer only when their values change, formatted
+ * into reusable char buffers with {@link CharFormat}. A frame with nothing new is a handful of
+ * drawBitmap calls and no allocations.
+ *
+ * <p>Icons come from the UI thread through {@link #setIcons}; everything else, including the
+ * layer bitmaps, belongs to the render thread.
+ */
+public class HudLayer {
+    // Same geometry TouchControls hit-tests against
+    static final int BUTTON_SIZE = TouchControls.BUTTON_SIZE, BUTTON_SPACING = TouchControls.BUTTON_SPACING;
+    static final int DPAD_SIZE = TouchControls.DPAD_SIZE, DPAD_BOTTOM = TouchControls.DPAD_BOTTOM;
+    private static final int STATS_TOP_BASELINE = 50, STATS_LINE_HEIGHT = 40, STATS_LINES = 4;
+    private static final int TIMER_BASELINE = 60, TIMER_MARGIN = 20;
+    private static final String INVINCIBLE = "INVINCIBLE!";
+    private static final String[] ACTION_LABELS = { "F", "B", "S" }; // Left to right: fireball, bomb, slash
+
+    private final Paint chromePaint = new Paint();
+    private final Paint labelPaint = new Paint();
+    private final Paint statsPaint = new Paint();
+    private final Paint invinciblePaint = new Paint();
+    private final Paint timerPaint = new Paint();
+    private final Paint bitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final char[][] weaponNames = new char[WeaponType.values().length][];
+    private final char[] line = new char[64];
+    private final float invincibleX0;
+
+    private volatile Bitmap[] icons; // music on, music off, sound on, sound off
+
+    // Render thread only
+    private int width, height;
+    private Bitmap[] builtIcons;
+    private Bitmap dpad, actions, toggles, stats, timer;
+    private Canvas statsCanvas, togglesCanvas, timerCanvas;
+    private int shownHealth, shownArmor, shownGold, shownSeconds = -1;
+    private WeaponType shownWeapon;
+    private int shownToggles = -1;
+    private int layerRedraws;
+
+    public HudLayer() {
+        chromePaint.setColor(Color.GRAY);
+        chromePaint.setAlpha(128);
+        labelPaint.setColor(Color.WHITE);
+        labelPaint.setTextSize(30);
+        labelPaint.setTextAlign(Paint.Align.CENTER);
+        statsPaint.setColor(Color.WHITE);
+        statsPaint.setTextSize(40);
+        invinciblePaint.setColor(Color.YELLOW);
+        invinciblePaint.setTextSize(40);
+        invincibleX0 = invinciblePaint.measureText(INVINCIBLE) / 2;
+        timerPaint.setColor(Color.YELLOW);
+        timerPaint.setTextSize(50);
+        timerPaint.setTextAlign(Paint.Align.RIGHT);
+        for (WeaponType type : WeaponType.values()) weaponNames[type.ordinal()] = type.toString().toCharArray();
+    }
+
+    /** Called from the UI thread whenever the toggle icons are (re)scaled; any of them may be null. */
+    public void setIcons(Bitmap musicTurnOn, Bitmap musicTurnOff, Bitmap soundOn, Bitmap soundOff) {
+        icons = new Bitmap[] { musicTurnOn, musicTurnOff, soundOn, soundOff };
+    }
+
+    /** Times any layer had to be redrawn; stays flat while nothing on the HUD changes. */
+    public int getLayerRedraws() { return layerRedraws; }
+
+    public void draw(Canvas canvas, WorldSnapshot snapshot) {
+        if (canvas.getWidth() != width || canvas.getHeight() != height || icons != builtIcons) build(canvas.getWidth(), canvas.getHeight());
+
+        int topCenterX = width / 2 - BUTTON_SIZE / 2;
+        updateToggles(snapshot);
+        if (toggles != null) canvas.drawBitmap(toggles, topCenterX, BUTTON_SPACING, bitmapPaint);
+        if (dpad != null) {
+            canvas.drawBitmap(dpad, 0, height - DPAD_BOTTOM - DPAD_SIZE, bitmapPaint);
+            canvas.drawBitmap(actions, width - actions.getWidth() - BUTTON_SPACING, height - DPAD_BOTTOM - BUTTON_SIZE, bitmapPaint);
+        }
+
+        updateStats(snapshot);
+        canvas.drawBitmap(stats, 0, 0, bitmapPaint);
+        if (snapshot.invincible) canvas.drawText(INVINCIBLE, width / 2f - invincibleX0, STATS_TOP_BASELINE, invinciblePaint);
+        updateTimer((int) snapshot.remainingTimeSeconds);
+        canvas.drawBitmap(timer, width - TIMER_MARGIN - timer.getWidth(), 0, bitmapPaint);
+    }
+
+    /** Frees the layers; the next draw builds them again. Render thread only. */
+    public void release() {
+        recycleLayers();
+        width = height = 0;
+    }
+
+    private void build(int width, int height) {
+        recycleLayers();
+        this.width = width;
+        this.height = height;
+        builtIcons = icons;
+        layerRedraws++;
+
+        if (height > DPAD_SIZE + DPAD_BOTTOM && width > DPAD_SIZE) {
+            // D-pad: up and down in the middle column, left and right across the middle row
+            dpad = Bitmap.createBitmap(DPAD_SIZE, DPAD_SIZE, Bitmap.Config.ARGB_8888);
+            Canvas c = new Canvas(dpad);
+            int inset = DPAD_SIZE / 4;
+            c.drawRect(inset, 0, inset + BUTTON_SIZE, BUTTON_SIZE, chromePaint);
+            c.drawRect(inset, BUTTON_SIZE, inset + BUTTON_SIZE, 2 * BUTTON_SIZE, chromePaint);
+            c.drawRect(0, inset, BUTTON_SIZE, inset + BUTTON_SIZE, chromePaint);
+            c.drawRect(BUTTON_SIZE, inset, 2 * BUTTON_SIZE, inset + BUTTON_SIZE, chromePaint);
+
+            actions = Bitmap.createBitmap(3 * BUTTON_SIZE + 2 * BUTTON_SPACING, BUTTON_SIZE, Bitmap.Config.ARGB_8888);
+            c = new Canvas(actions);
+            for (int i = 0; i < ACTION_LABELS.length; i++) {
+                int left = i * (BUTTON_SIZE + BUTTON_SPACING);
+                c.drawRect(left, 0, left + BUTTON_SIZE, BUTTON_SIZE, chromePaint);
+                c.drawText(ACTION_LABELS[i], left + BUTTON_SIZE / 2f, BUTTON_SIZE / 2f + 10, labelPaint);
+            }
+        }
+
+        toggles = Bitmap.createBitmap(2 * BUTTON_SIZE + BUTTON_SPACING, BUTTON_SIZE, Bitmap.Config.ARGB_8888);
+        togglesCanvas = new Canvas(toggles);
+        shownToggles = -1;
+
+        // Wide enough for the longest line any value can produce
+        float statsWidth = statsPaint.measureText("Health: -2147483648");
+        for (char[] name : weaponNames) statsWidth = Math.max(statsWidth, statsPaint.measureText("Weapon: " + new String(name)));
+        stats = Bitmap.createBitmap((int) Math.ceil(statsWidth) + 20, STATS_TOP_BASELINE + STATS_LINES * STATS_LINE_HEIGHT, Bitmap.Config.ARGB_8888);
+        statsCanvas = new Canvas(stats);
+        shownWeapon = null;
+        shownHealth = shownArmor = shownGold = Integer.MIN_VALUE;
+
+        timer = Bitmap.createBitmap((int) Math.ceil(timerPaint.measureText("000:00")), TIMER_BASELINE + 15, Bitmap.Config.ARGB_8888);
+        timerCanvas = new Canvas(timer);
+        shownSeconds = -1;
+    }
+
+    private void updateToggles(WorldSnapshot snapshot) {
+        int state = (snapshot.musicEnabled ? 1 : 0) | (snapshot.soundEffectsEnabled ? 2 : 0);
+        if (state == shownToggles || builtIcons == null) return;
+        shownToggles = state;
+        layerRedraws++;
+        toggles.eraseColor(Color.TRANSPARENT);
+        // Each toggle shows the action a tap would take
+        Bitmap music = builtIcons[snapshot.musicEnabled ? 1 : 0];
+        Bitmap sound = builtIcons[snapshot.soundEffectsEnabled ? 3 : 2];
+        if (music != null && !music.isRecycled()) togglesCanvas.drawBitmap(music, 0, 0, bitmapPaint);
+        if (sound != null && !sound.isRecycled()) togglesCanvas.drawBitmap(sound, BUTTON_SIZE + BUTTON_SPACING, 0, bitmapPaint);
+    }
+
+    private void updateStats(WorldSnapshot snapshot) {
+        if (snapshot.health == shownHealth && snapshot.armor == shownArmor && snapshot.gold == shownGold && snapshot.weapon == shownWeapon) return;
+        shownHealth = snapshot.health;
+        shownArmor = snapshot.armor;
+        shownGold = snapshot.gold;
+        shownWeapon = snapshot.weapon;
+        layerRedraws++;
+        stats.eraseColor(Color.TRANSPARENT);
+        float x = 10, y = STATS_TOP_BASELINE;
+        int end = CharFormat.appendInt(line, CharFormat.append(line, 0, "Health: "), shownHealth);
+        statsCanvas.drawText(line, 0, end, x, y, statsPaint);
+        end = CharFormat.appendInt(line, CharFormat.append(line, 0, "Armor: "), shownArmor);
+        statsCanvas.drawText(line, 0, end, x, y += STATS_LINE_HEIGHT, statsPaint);
+        end = CharFormat.appendInt(line, CharFormat.append(line, 0, "Gold: "), shownGold);
+        statsCanvas.drawText(line, 0, end, x, y += STATS_LINE_HEIGHT, statsPaint);
+        if (shownWeapon != null) {
+            char[] name = weaponNames[shownWeapon.ordinal()];
+            end = CharFormat.append(line, 0, "Weapon: ");
+            System.arraycopy(name, 0, line, end, name.length);
+            statsCanvas.drawText(line, 0, end + name.length, x, y + STATS_LINE_HEIGHT, statsPaint);
+        }
+    }
+
+    private void updateTimer(int seconds) {
+        if (seconds == shownSeconds) return;
+        shownSeconds = seconds;
+        layerRedraws++;
+        timer.eraseColor(Color.TRANSPARENT);
+        int end = CharFormat.appendMinutesSeconds(line, 0, seconds);
+        timerCanvas.drawText(line, 0, end, timer.getWidth(), TIMER_BASELINE, timerPaint);
+    }
+
+    private void recycleLayers() {
+        Bitmap[] layers = { dpad, actions, toggles, stats, timer };
+        for (Bitmap layer : layers) if (layer != null) layer.recycle();
+        dpad = actions = toggles = stats = timer = null;
+        statsCanvas = togglesCanvas = timerCanvas = null;
+    }
+}
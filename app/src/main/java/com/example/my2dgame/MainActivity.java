@@ -32,4 +32,11 @@ public class MainActivity extends Activity {
         super.onPause();
         gameView.pause();
     }
+
+    @Override
+    protected void onDestroy() {
+        // Leaving the game for good: the music player is the one asset worth freeing, the next game prepares it again
+        if (isFinishing()) GameAssets.get(this).releaseMusic();
+        super.onDestroy();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.example.my2dgame;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.util.Log;
+
+/**
+ * The scrolling background: one image split into horizontal bands, each band a parallax layer
+ * scrolling at its own speed. Bands are kept at the image's own resolution (never scaled to the
+ * screen), decoded once as RGB_565 and downsampled if needed to stay under {@link #MAX_BYTES},
+ * so memory doesn't depend on the display. Each frame every band is one drawRect through a
+ * horizontally repeating BitmapShader that scales it to the screen height.
+ *
+ * <p>The render thread fits the bands to whatever canvas it draws on, the way {@link HudLayer}
+ * does, so a rotation can't pair a new screen height with an old scale; the UI thread only asks
+ * for {@link #tileWidth} to hand to the world.
+ */
+public class ParallaxBackground {
+    private static final String TAG = "ParallaxBackground";
+    static final long MAX_BYTES = 8L * 1024 * 1024;
+
+    private final Bitmap[] bands;
+    private final float[] bandTop; // Fraction of the image height where each band starts; the last entry is 1
+    private final int imageHeight;
+    private final Paint[] paints;
+    private final BitmapShader[] shaders;
+    // Render thread only
+    private final Matrix matrix = new Matrix();
+    private float scale = 1f;
+    private int screenHeight;
+
+    private ParallaxBackground(Bitmap[] bands, float[] bandTop, int imageHeight) {
+        this.bands = bands;
+        this.bandTop = bandTop;
+        this.imageHeight = imageHeight;
+        paints = new Paint[bands.length];
+        shaders = new BitmapShader[bands.length];
+        for (int i = 0; i < bands.length; i++) {
+            shaders[i] = new BitmapShader(bands[i], Shader.TileMode.REPEAT, Shader.TileMode.CLAMP);
+            paints[i] = new Paint(Paint.FILTER_BITMAP_FLAG);
+            paints[i].setShader(shaders[i]);
+        }
+    }
+
+    /**
+     * Decodes {@code resId} and cuts it at the given edges (fractions of its height, strictly
+     * increasing, between 0 and 1) into {@code edges.length + 1} bands, back layer first.
+     * Returns null if the image can't be decoded.
+     */
+    public static ParallaxBackground load(Resources resources, BitmapDecoder decoder, int resId, float... edges) {
+        BitmapFactory.Options options = decoder.readBounds(resId); // Unscaled: drawable/ would otherwise be scaled up to the screen density
+        if (options.outWidth <= 0 || options.outHeight <= 0) return null;
+        long fullSize = (long) Math.round(options.outWidth * decoder.getDensityScale()) * Math.round(options.outHeight * decoder.getDensityScale()) * 4;
+
+        int sampleSize = 1;
+        while ((long) (options.outWidth / sampleSize) * (options.outHeight / sampleSize) * 2 > MAX_BYTES) sampleSize *= 2;
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        options.inPreferredConfig = Bitmap.Config.RGB_565; // Opaque art, half the bytes of ARGB_8888
+        Bitmap image = BitmapFactory.decodeResource(resources, resId, options);
+        if (image == null) return null;
+
+        float[] bandTop = new float[edges.length + 2];
+        System.arraycopy(edges, 0, bandTop, 1, edges.length);
+        bandTop[bandTop.length - 1] = 1f;
+        Bitmap[] bands = new Bitmap[edges.length + 1];
+        long bytes = 0;
+        for (int i = 0; i < bands.length; i++) {
+            int top = Math.round(bandTop[i] * image.getHeight()), bottom = Math.round(bandTop[i + 1] * image.getHeight());
+            bands[i] = Bitmap.createBitmap(image, 0, top, image.getWidth(), Math.max(1, bottom - top));
+            bytes += bands[i].getByteCount();
+        }
+        decoder.record(fullSize, bytes);
+        int imageHeight = image.getHeight();
+        if (bands.length > 1) image.recycle(); // A single band can be the image itself
+        Log.d(TAG, "Background: " + bands.length + " layers, " + (bytes / 1024) + " KB (sample size " + sampleSize + ")");
+        return new ParallaxBackground(bands, bandTop, imageHeight);
+    }
+
+    public int getLayerCount() { return bands.length; }
+
+    /** On-screen width of one tile, after which the layers repeat, with the image fitted to {@code screenHeight}. Any thread. */
+    public float tileWidth(int screenHeight) {
+        return bands[0].getWidth() * ((float) screenHeight / imageHeight);
+    }
+
+    /** Draws every layer at its interpolated offset from the snapshot, fitted to the canvas height. Render thread. */
+    public void draw(Canvas canvas, WorldSnapshot snapshot, float alpha) {
+        int screenWidth = canvas.getWidth(), height = canvas.getHeight();
+        if (screenWidth <= 0 || height <= 0) { canvas.drawColor(Color.BLACK); return; }
+        if (height != screenHeight) { // No reallocation, only the draw matrices change
+            screenHeight = height;
+            scale = (float) height / imageHeight;
+        }
+        for (int i = 0; i < bands.length; i++) {
+            // Layers the world doesn't scroll (fewer speeds than bands) share the front-most offset
+            int layer = Math.min(i, snapshot.backgroundLayerCount - 1);
+            float offset = layer < 0 ? 0 : snapshot.prevBackgroundOffsetX[layer] + (snapshot.backgroundOffsetX[layer] - snapshot.prevBackgroundOffsetX[layer]) * alpha;
+            float top = bandTop[i] * screenHeight, bottom = bandTop[i + 1] * screenHeight;
+            matrix.setScale(scale, scale);
+            matrix.postTranslate(Math.round(offset), top);
+            shaders[i].setLocalMatrix(matrix);
+            canvas.drawRect(0, top, screenWidth, bottom, paints[i]);
+        }
+    }
+
+    public void recycle() {
+        for (Bitmap band : bands) band.recycle();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.my2dgame;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+/**
+ * Draws a {@link FrameProfiler} as a text panel under the HUD stats: frame interval percentiles
+ * and drops, each phase's average and p95, entity counts and GC rates. The text is rebuilt into
+ * fixed char buffers twice a second, so the overlay itself allocates nothing and doesn't
+ * distort the numbers it shows. Render thread only.
+ */
+public class ProfilerOverlay {
+    private static final long REFRESH_NANOS = 500_000_000;
+    private static final int LINE_HEIGHT = 28, PADDING = 10, TOP = 230;
+    private static final int LINES = 4 + FrameProfiler.Phase.values().length;
+
+    private final Paint panelPaint = new Paint();
+    private final Paint textPaint = new Paint();
+    private final char[][] lines = new char[LINES][64];
+    private final int[] lengths = new int[LINES];
+    private final float panelWidth;
+    private long refreshedNanos;
+
+    public ProfilerOverlay() {
+        panelPaint.setColor(Color.BLACK);
+        panelPaint.setAlpha(160);
+        textPaint.setColor(Color.GREEN);
+        textPaint.setTextSize(22);
+        textPaint.setTypeface(Typeface.MONOSPACE);
+        panelWidth = textPaint.measureText("unlockCanvasAndPost avg 00.00 p95 00.00 ms") + 2 * PADDING;
+    }
+
+    public void draw(Canvas canvas, FrameProfiler profiler, long nowNanos) {
+        if (nowNanos - refreshedNanos >= REFRESH_NANOS) {
+            refresh(profiler);
+            refreshedNanos = nowNanos;
+        }
+        canvas.drawRect(0, TOP, panelWidth, TOP + LINES * LINE_HEIGHT + PADDING, panelPaint);
+        float y = TOP + LINE_HEIGHT;
+        for (int i = 0; i < LINES; i++, y += LINE_HEIGHT) canvas.drawText(lines[i], 0, lengths[i], PADDING, y, textPaint);
+    }
+
+    private void refresh(FrameProfiler profiler) {
+        TimeHistogram frames = profiler.getFrameIntervals();
+        char[] line = lines[0];
+        int end = CharFormat.append(line, 0, "frame p50 ");
+        end = appendMillis(line, end, frames.percentileNanos(50));
+        end = appendMillis(line, CharFormat.append(line, end, " p95 "), frames.percentileNanos(95));
+        end = appendMillis(line, CharFormat.append(line, end, " p99 "), frames.percentileNanos(99));
+        lengths[0] = CharFormat.append(line, end, " ms");
+
+        line = lines[1];
+        end = CharFormat.appendInt(line, CharFormat.append(line, 0, "dropped "), (int) profiler.getDroppedFrames());
+        end = CharFormat.appendInt(line, CharFormat.append(line, end, " of "), (int) frames.getCount());
+        end = appendMillis(line, CharFormat.append(line, end, " @ "), profiler.getExpectedFrameNanos());
+        lengths[1] = CharFormat.append(line, end, " ms");
+
+        int l = 2;
+        for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+            TimeHistogram h = profiler.getPhase(phase);
+            line = lines[l];
+            end = CharFormat.append(line, 0, phase.getLabel());
+            end = appendMillis(line, CharFormat.append(line, end, " avg "), h.getAverageNanos());
+            end = appendMillis(line, CharFormat.append(line, end, " p95 "), h.percentileNanos(95));
+            lengths[l++] = CharFormat.append(line, end, " ms");
+        }
+
+        line = lines[l];
+        end = CharFormat.appendInt(line, CharFormat.append(line, 0, "enemies "), profiler.getEnemies());
+        end = CharFormat.appendInt(line, CharFormat.append(line, end, " shots "), profiler.getProjectiles());
+        end = CharFormat.appendInt(line, CharFormat.append(line, end, " sprites "), profiler.getSpritesDrawn());
+        end = CharFormat.appendInt(line, CharFormat.append(line, end, "/"), profiler.getSpritesDrawn() + profiler.getSpritesCulled());
+        lengths[l++] = end;
+
+        line = lines[l];
+        end = CharFormat.appendInt(line, CharFormat.append(line, 0, "gc "), (int) profiler.getGcPerSecond());
+        end = CharFormat.appendInt(line, CharFormat.append(line, end, "/s "), (int) profiler.getGcMillisPerSecond());
+        end = CharFormat.appendInt(line, CharFormat.append(line, end, " ms/s alloc "), (int) (profiler.getAllocatedBytesPerSecond() / 1024));
+        lengths[l] = CharFormat.append(line, end, " KB/s");
+    }
+
+    // e.g. 16.67
+    private static int appendMillis(char[] line, int pos, long nanos) {
+        long hundredths = (nanos + 5_000) / 10_000;
+        pos = CharFormat.appendInt(line, pos, (int) Math.min(hundredths / 100, 9999));
+        line[pos++] = '.';
+        return CharFormat.appendPadded(line, pos, (int) (hundredths % 100), 2);
+    }
+}
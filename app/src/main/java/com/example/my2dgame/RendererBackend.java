@@ -0,0 +1,9 @@
+package com.example.my2dgame;
+
+/**
+ * Which {@link GameRenderer} the game view draws with; picked when the render thread starts.
+ */
+public enum RendererBackend {
+    SOFTWARE, // SurfaceHolder.lockCanvas(), rasterized on the CPU
+    HARDWARE  // SurfaceHolder.lockHardwareCanvas(), rasterized on the GPU (Android 10+, else falls back to SOFTWARE)
+}
@@ -0,0 +1,86 @@
+package com.example.my2dgame;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.util.function.IntFunction;
+
+/**
+ * Scaled copies of loaded bitmaps, keyed by (resource id, size, config). Each copy is always
+ * scaled from the loaded original, never from an earlier copy, so a rotation or a recreated
+ * surface just looks the same sizes up again. Least recently used copies are dropped once the
+ * byte budget is exceeded; the budget is meant to hold the working set of a couple of screen
+ * sizes. Dropped copies are never recycled here: callers keep them in fields and the render
+ * thread may still be drawing one, so they are left to the GC once nothing references them.
+ */
+public class ScaledBitmapCache {
+    private static final String TAG = "ScaledBitmapCache";
+
+    private final IntFunction<Bitmap> sources;
+    private final LruCache<Key, Bitmap> cache;
+
+    /** {@code sources} returns the loaded original for a resource id, or null if it isn't loaded (yet). */
+    public ScaledBitmapCache(IntFunction<Bitmap> sources, int maxBytes) {
+        this.sources = sources;
+        this.cache = new LruCache<Key, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(Key key, Bitmap bitmap) { return bitmap.getAllocationByteCount(); }
+        };
+    }
+
+    /**
+     * The resource at {@code width} x {@code height} in its original config, scaled on a miss.
+     * Null if the source isn't loaded (yet) or the size is empty. Shared: never recycle it.
+     */
+    public Bitmap get(int resId, int width, int height) {
+        if (width <= 0 || height <= 0) return null;
+        Bitmap source = sources.apply(resId);
+        if (source == null) return null;
+        Key key = new Key(resId, width, height, source.getConfig());
+        Bitmap scaled = cache.get(key);
+        if (scaled != null) return scaled;
+        scaled = Bitmap.createScaledBitmap(source, width, height, true);
+        if (scaled == source) scaled = source.copy(source.getConfig(), false); // Same size: keep a copy, the loaded original stays GameAssets' own
+        if (scaled == null) return null;
+        cache.put(key, scaled);
+        return scaled;
+    }
+
+    public int getHitCount() { return cache.hitCount(); }
+    public int getMissCount() { return cache.missCount(); }
+    public int getEvictionCount() { return cache.evictionCount(); }
+    public int getByteCount() { return cache.size(); }
+
+    /** e.g. "Scaled bitmaps: 7 hits, 9 misses, 2 evicted, 6120/16384 KB". */
+    public String describe() {
+        return "Scaled bitmaps: " + cache.hitCount() + " hits, " + cache.missCount() + " misses, " + cache.evictionCount()
+                + " evicted, " + (cache.size() / 1024) + "/" + (cache.maxSize() / 1024) + " KB";
+    }
+
+    public void logStats() { Log.d(TAG, describe()); }
+
+    private static final class Key {
+        final int resId, width, height;
+        final Bitmap.Config config;
+
+        Key(int resId, int width, int height, Bitmap.Config config) {
+            this.resId = resId;
+            this.width = width;
+            this.height = height;
+            this.config = config;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return resId == k.resId && width == k.width && height == k.height && config == k.config;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((resId * 31 + width) * 31 + height) * 31 + (config != null ? config.hashCode() : 0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.my2dgame;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Build;
+
+/**
+ * The game's entity sprites copied into one or a few atlas pages on first launch, laid out by
+ * {@link AtlasLayout}. Drawing every entity from the same page lets {@link SpriteBatch} issue one
+ * draw call per page instead of one per entity.
+ */
+public class SpriteAtlas {
+    static final int PAGE_SIZE = 1024;
+    private static final int PADDING = 2;
+
+    private final AtlasLayout layout;
+    private final Bitmap[] pages;
+
+    private SpriteAtlas(AtlasLayout layout, Bitmap[] pages) {
+        this.layout = layout;
+        this.pages = pages;
+    }
+
+    /** Packs the non-null sprites (indexed by {@link SpriteIds}) into new ARGB_8888 pages. */
+    public static SpriteAtlas build(Bitmap[] sprites) {
+        return build(sprites, new Rect[SpriteIds.COUNT]);
+    }
+
+    /**
+     * Like {@link #build(Bitmap[])}, but a sprite with a region is only that rectangle of its
+     * bitmap, so every frame of a sprite sheet can point at the same sheet.
+     */
+    public static SpriteAtlas build(Bitmap[] sprites, Rect[] regions) {
+        SpriteSizes sizes = new SpriteSizes();
+        for (int id = 0; id < SpriteIds.COUNT; id++) {
+            if (sprites[id] == null) continue;
+            if (regions[id] != null) sizes.set(id, regions[id].width(), regions[id].height());
+            else sizes.set(id, sprites[id].getWidth(), sprites[id].getHeight());
+        }
+        AtlasLayout layout = AtlasLayout.pack(sizes, PAGE_SIZE, PADDING);
+        Bitmap[] pages = new Bitmap[layout.getPageCount()];
+        Canvas canvas = new Canvas();
+        Rect target = new Rect();
+        for (int p = 0; p < pages.length; p++) {
+            pages[p] = Bitmap.createBitmap(PAGE_SIZE, PAGE_SIZE, Bitmap.Config.ARGB_8888);
+            canvas.setBitmap(pages[p]);
+            for (int id = 0; id < SpriteIds.COUNT; id++) {
+                if (!layout.has(id) || layout.page(id) != p) continue;
+                if (regions[id] == null) { canvas.drawBitmap(sprites[id], layout.x(id), layout.y(id), null); continue; }
+                target.set(layout.x(id), layout.y(id), layout.x(id) + layout.width(id), layout.y(id) + layout.height(id));
+                canvas.drawBitmap(sprites[id], regions[id], target, null);
+            }
+        }
+        canvas.setBitmap(null);
+        return new SpriteAtlas(layout, pages);
+    }
+
+    /**
+     * A copy with every page in GPU memory (Bitmap.Config.HARDWARE); cheaper to draw on hardware
+     * canvases, but software canvases can't draw it at all. Returns this atlas below Android 8.
+     */
+    public SpriteAtlas copyToHardware() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) return this;
+        Bitmap[] copies = new Bitmap[pages.length];
+        for (int p = 0; p < pages.length; p++) {
+            copies[p] = pages[p].copy(Bitmap.Config.HARDWARE, false);
+            if (copies[p] == null) return this; // Not supported on this device after all
+        }
+        return new SpriteAtlas(layout, copies);
+    }
+
+    /** A copy with ARGB_8888 pages, which software canvases can draw; returns this atlas if it already has them. */
+    public SpriteAtlas copyToSoftware() {
+        if (!isHardware()) return this;
+        Bitmap[] copies = new Bitmap[pages.length];
+        for (int p = 0; p < pages.length; p++) {
+            copies[p] = pages[p].copy(Bitmap.Config.ARGB_8888, false);
+            if (copies[p] == null) return this;
+        }
+        return new SpriteAtlas(layout, copies);
+    }
+
+    /** Whether the pages live in GPU memory, see {@link #copyToHardware}. */
+    public boolean isHardware() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.O && pages.length > 0 && pages[0].getConfig() == Bitmap.Config.HARDWARE;
+    }
+
+    public long getByteCount() {
+        long bytes = 0;
+        for (Bitmap page : pages) bytes += page.getAllocationByteCount();
+        return bytes;
+    }
+
+    public AtlasLayout getLayout() { return layout; }
+    public int getPageCount() { return pages.length; }
+    public Bitmap getPage(int page) { return pages[page]; }
+
+    public void recycle() {
+        for (Bitmap page : pages) page.recycle();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.my2dgame;
+
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Shader;
+
+/**
+ * Collects sprite quads from a {@link SpriteAtlas} and draws them with one
+ * {@link Canvas#drawVertices} call per run of sprites on the same page, sampling the page
+ * through a BitmapShader. Quads are flushed in submission order, so overlapping sprites stack
+ * the same way as separate drawBitmap calls would. Render thread only.
+ */
+public class SpriteBatch {
+    private static final int FLOATS_PER_QUAD = 8; // 4 corners, x and y
+    private static final int INDICES_PER_QUAD = 6; // 2 triangles
+
+    private final SpriteAtlas atlas;
+    private final AtlasLayout layout;
+    private final Paint[] pagePaints;
+    private final int maxQuads;
+    private final float[] vertices, texCoords;
+    private final short[] indices;
+
+    private Canvas canvas;
+    private int quadCount = 0, currentPage = AtlasLayout.NO_PAGE;
+    private int drawCalls = 0, spritesDrawn = 0;
+
+    /** {@code maxQuads} quads per draw call, at most 8192 so vertex indices fit in a short. */
+    public SpriteBatch(SpriteAtlas atlas, int maxQuads) {
+        this.atlas = atlas;
+        this.layout = atlas.getLayout();
+        this.maxQuads = Math.min(maxQuads, (Short.MAX_VALUE + 1) / 4);
+        vertices = new float[this.maxQuads * FLOATS_PER_QUAD];
+        texCoords = new float[this.maxQuads * FLOATS_PER_QUAD];
+        indices = new short[this.maxQuads * INDICES_PER_QUAD];
+        for (int q = 0; q < this.maxQuads; q++) {
+            int v = q * 4, i = q * INDICES_PER_QUAD;
+            indices[i] = (short) v;
+            indices[i + 1] = (short) (v + 1);
+            indices[i + 2] = (short) (v + 2);
+            indices[i + 3] = (short) v;
+            indices[i + 4] = (short) (v + 2);
+            indices[i + 5] = (short) (v + 3);
+        }
+        pagePaints = new Paint[atlas.getPageCount()];
+        for (int p = 0; p < pagePaints.length; p++) {
+            pagePaints[p] = new Paint(Paint.ANTI_ALIAS_FLAG);
+            pagePaints[p].setShader(new BitmapShader(atlas.getPage(p), Shader.TileMode.CLAMP, Shader.TileMode.CLAMP));
+        }
+    }
+
+    public void begin(Canvas canvas) {
+        this.canvas = canvas;
+        quadCount = 0;
+        currentPage = AtlasLayout.NO_PAGE;
+        drawCalls = 0;
+        spritesDrawn = 0;
+    }
+
+    /** Queues the sprite with its top-left corner at (x, y); sprites not in the atlas are skipped. */
+    public void draw(int spriteId, float x, float y) {
+        if (!layout.has(spriteId)) return;
+        int page = layout.page(spriteId);
+        if (page != currentPage || quadCount == maxQuads) {
+            flush();
+            currentPage = page;
+        }
+        float w = layout.width(spriteId), h = layout.height(spriteId);
+        float u = layout.x(spriteId), v = layout.y(spriteId);
+        int o = quadCount * FLOATS_PER_QUAD;
+        putCorner(o, x, y, u, v);
+        putCorner(o + 2, x + w, y, u + w, v);
+        putCorner(o + 4, x + w, y + h, u + w, v + h);
+        putCorner(o + 6, x, y + h, u, v + h);
+        quadCount++;
+        spritesDrawn++;
+    }
+
+    /** Draws whatever is still queued; call once after the last {@link #draw}. */
+    public void end() {
+        flush();
+        canvas = null;
+    }
+
+    /** Draw calls issued since {@link #begin}; one per page run unless a run overflows the batch. */
+    public int getDrawCallCount() { return drawCalls; }
+    public int getSpritesDrawn() { return spritesDrawn; }
+    public SpriteAtlas getAtlas() { return atlas; }
+
+    private void putCorner(int o, float x, float y, float u, float v) {
+        vertices[o] = x;
+        vertices[o + 1] = y;
+        texCoords[o] = u;
+        texCoords[o + 1] = v;
+    }
+
+    private void flush() {
+        if (quadCount == 0 || canvas == null) return;
+        canvas.drawVertices(Canvas.VertexMode.TRIANGLES, quadCount * FLOATS_PER_QUAD, vertices, 0, texCoords, 0,
+                null, 0, indices, 0, quadCount * INDICES_PER_QUAD, pagePaints[currentPage]);
+        drawCalls++;
+        quadCount = 0;
+    }
+}
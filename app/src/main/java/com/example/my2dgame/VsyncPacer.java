@@ -0,0 +1,65 @@
+package com.example.my2dgame;
+
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+/**
+ * Lets the game thread block until the next display vsync. Choreographer callbacks run on
+ * the main looper, so this must be created on the UI thread; {@link #awaitNextVsync()} is
+ * then called from the game thread.
+ */
+public class VsyncPacer implements Choreographer.FrameCallback {
+    // Upper bound on a wait, so a busy main thread can never freeze the game thread.
+    private static final long MAX_WAIT_MS = 50;
+
+    private final Choreographer choreographer;
+    private final Object lock = new Object();
+    private boolean active = false;
+    private long frameCount = 0;
+    private long lastFrameTimeNanos = 0;
+
+    public VsyncPacer() {
+        choreographer = Choreographer.getInstance();
+    }
+
+    public void start() {
+        synchronized (lock) {
+            if (active) return;
+            active = true;
+        }
+        choreographer.postFrameCallback(this);
+    }
+
+    public void stop() {
+        synchronized (lock) {
+            active = false;
+            lock.notifyAll();
+        }
+        choreographer.removeFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        synchronized (lock) {
+            if (!active) return;
+            frameCount++;
+            lastFrameTimeNanos = frameTimeNanos;
+            lock.notifyAll();
+        }
+        choreographer.postFrameCallback(this);
+    }
+
+    /** Blocks until the next vsync has been signalled and returns its frame time. */
+    public long awaitNextVsync() throws InterruptedException {
+        synchronized (lock) {
+            long seen = frameCount;
+            long deadline = SystemClock.uptimeMillis() + MAX_WAIT_MS; // Monotonic: a wall clock change can't stretch the wait
+            while (active && frameCount == seen) {
+                long remaining = deadline - SystemClock.uptimeMillis();
+                if (remaining <= 0) break;
+                lock.wait(remaining);
+            }
+            return lastFrameTimeNanos;
+        }
+    }
+}
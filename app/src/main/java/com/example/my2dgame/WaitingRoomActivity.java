@@ -4,18 +4,38 @@ import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
+import android.widget.ProgressBar;
+import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 
 public class WaitingRoomActivity extends AppCompatActivity {
+    private GameAssets assets;
+    private ProgressBar loadingProgress;
+    private TextView loadingText;
+    private Button startButton;
+    // Start is enabled once the gameplay assets are in; music and end-screen art keep loading in the game
+    private final GameAssets.ProgressListener onProgress = (loaded, total, criticalReady) -> {
+        loadingProgress.setMax(total);
+        loadingProgress.setProgress(loaded);
+        loadingText.setText(loaded < total ? "Đang tải... " + loaded + "/" + total : "Sẵn sàng");
+        startButton.setEnabled(criticalReady);
+    };
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_waiting_room);
 
-        Button startButton = findViewById(R.id.button_start);
+        startButton = findViewById(R.id.button_start);
         Button exitButton = findViewById(R.id.button_exit);
+        loadingProgress = findViewById(R.id.progress_loading);
+        loadingText = findViewById(R.id.text_loading);
+
+        // Bắt đầu tải tài nguyên ngay khi vào màn hình chờ
+        assets = GameAssets.get(this);
+        assets.startLoading();
+        assets.addProgressListener(onProgress);
 
         startButton.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -35,4 +55,10 @@ public class WaitingRoomActivity extends AppCompatActivity {
             }
         });
     }
+
+    @Override
+    protected void onDestroy() {
+        assets.removeProgressListener(onProgress);
+        super.onDestroy();
+    }
 }
@@ -0,0 +1,59 @@
+package com.example.my2dgame;
+
+import java.util.Random;
+
+/**
+ * Worlds and component rows for the benchmarks, built from a seed so every run and every
+ * commit measures the same input. Like the combat tests, the playfield is one 1920x1080 screen
+ * per 1000 enemies laid side by side, so density stays the same as the counts grow.
+ */
+final class BenchmarkWorlds {
+    static final int SCREEN_WIDTH = 1920, SCREEN_HEIGHT = 1080;
+    static final long SEED = 42;
+
+    private BenchmarkWorlds() {}
+
+    static int fieldWidth(int enemyCount) {
+        return SCREEN_WIDTH * Math.max(1, enemyCount / 1000);
+    }
+
+    /** A restarted world with the game's scaled sprite sizes and a clock that never moves, so the round never ends. */
+    static GameWorld newWorld(int enemyCount) {
+        GameWorld world = new GameWorld(new ManualClock(0), new Random(SEED), null);
+        world.setViewport(fieldWidth(enemyCount), SCREEN_HEIGHT);
+        setGameSprites(world.getSprites());
+        world.restart();
+        return world;
+    }
+
+    /** The sprite sizes the game ends up with on a 1080p xxhdpi screen. */
+    static void setGameSprites(SpriteSizes sprites) {
+        sprites.set(SpriteIds.PLAYER, 125, 125);
+        sprites.set(SpriteIds.ENEMY, 111, 93);
+        sprites.set(SpriteIds.FIREBALL, 62, 62);
+        sprites.set(SpriteIds.SWORD_SLASH, 125, 125);
+        sprites.set(SpriteIds.BOMB, 41, 41);
+        sprites.set(SpriteIds.HEART_ITEM, 62, 62);
+        sprites.set(SpriteIds.SHIELD_ITEM, 62, 62);
+        sprites.set(SpriteIds.INVINCIBLE_ITEM, 62, 62);
+        sprites.set(SpriteIds.EXPLOSION, 166, 139);
+        for (int f = 0; f < SpriteIds.PLAYER_WALK_FRAMES; f++) sprites.set(SpriteIds.PLAYER_WALK + f, 125, 125);
+    }
+
+    /** Adds {@code count} active rows at seeded positions across the field. */
+    static void addRows(ComponentStore c, int count, int fieldWidth, int width, int height, float hitboxScale, Random random) {
+        for (int i = 0; i < count; i++) {
+            int r = c.addRow();
+            c.posX[r] = c.prevX[r] = random.nextFloat() * fieldWidth;
+            c.posY[r] = c.prevY[r] = random.nextFloat() * SCREEN_HEIGHT;
+            c.width[r] = width;
+            c.height[r] = height;
+            c.hitboxLeft[r] = Collision.startOffset(width, hitboxScale);
+            c.hitboxRight[r] = Collision.endOffset(width, hitboxScale);
+            c.hitboxTop[r] = Collision.startOffset(height, hitboxScale);
+            c.hitboxBottom[r] = Collision.endOffset(height, hitboxScale);
+            c.lifespan[r] = -1;
+            c.active[r] = true;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.my2dgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collision throughput: the narrow-phase AABB check on its own, and the broad phase the game
+ * runs every step (rebuild the enemy grid, then query it with every projectile and check the
+ * candidates). Positions don't change between ops, so every op does the same work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CollisionBenchmark {
+    private static final int PAIR_PROJECTILES = 64, PAIR_ENEMIES = 1024;
+    private static final int PAIR_CHECKS = PAIR_PROJECTILES * PAIR_ENEMIES;
+
+    @Param({ "1000", "10000", "50000" })
+    public int enemies;
+
+    private final ComponentStore enemyRows = new ComponentStore(16);
+    private final ComponentStore projectileRows = new ComponentStore(16);
+    private final SpatialHash grid = new SpatialHash(128, 1 << 14);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkWorlds.SEED);
+        int fieldWidth = BenchmarkWorlds.fieldWidth(enemies);
+        BenchmarkWorlds.addRows(enemyRows, enemies, fieldWidth, 111, 93, Collision.ENEMY_HITBOX_SCALE, random);
+        BenchmarkWorlds.addRows(projectileRows, Math.max(PAIR_PROJECTILES, enemies / 10), fieldWidth, 62, 62, 1f, random);
+    }
+
+    /** One narrow-phase check; reported per pair. */
+    @Benchmark
+    @OperationsPerInvocation(PAIR_CHECKS)
+    public int overlapCheck() {
+        int hits = 0;
+        for (int p = 0; p < PAIR_PROJECTILES; p++) {
+            for (int e = 0; e < PAIR_ENEMIES; e++) {
+                if (Collision.overlaps(projectileRows, p, enemyRows, e)) hits++;
+            }
+        }
+        return hits;
+    }
+
+    /** Grid rebuild plus every projectile's query and narrow-phase checks; one op is one step's worth. */
+    @Benchmark
+    public int gridIndexAndQuery() {
+        CollisionSystem.index(enemyRows, grid);
+        int hits = 0;
+        for (int p = 0, n = projectileRows.getRowCount(); p < n; p++) {
+            int count = CollisionSystem.query(grid, projectileRows, p);
+            int[] candidates = grid.results();
+            for (int k = 0; k < count; k++) {
+                if (Collision.overlaps(projectileRows, p, enemyRows, candidates[k])) hits++;
+            }
+        }
+        return hits;
+    }
+}
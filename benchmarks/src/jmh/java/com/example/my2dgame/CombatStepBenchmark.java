@@ -0,0 +1,102 @@
+package com.example.my2dgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One combat step on its own (enemy steering, grid rebuild, projectile moves and hits) at
+ * constant density, sequential versus parallel. Every op starts from the same wave, restored
+ * outside the measured time; ops take a millisecond or more at the bigger counts, long enough
+ * for per-invocation setup not to skew them. Parallel gains depend on how many cores the
+ * machine has.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CombatStepBenchmark {
+    private static final float TARGET_X = BenchmarkWorlds.SCREEN_WIDTH / 4f, TARGET_Y = BenchmarkWorlds.SCREEN_HEIGHT / 2f;
+
+    @Param({ "1000", "10000", "50000" })
+    public int enemies;
+
+    @Param({ "SEQUENTIAL", "PARALLEL" })
+    public UpdateMode mode;
+
+    private final ComponentStore enemyTemplate = new ComponentStore(16), projectileTemplate = new ComponentStore(16);
+    private final ComponentStore enemyRows = new ComponentStore(16), projectileRows = new ComponentStore(16);
+    private final SpatialHash grid = new SpatialHash(128, 1 << 14);
+    private final CombatSystem.HitListener ignore = (enemyRow, projectileRow) -> { };
+    private CombatSystem combat;
+    private int fieldWidth;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkWorlds.SEED);
+        fieldWidth = BenchmarkWorlds.fieldWidth(enemies);
+        BenchmarkWorlds.addRows(enemyTemplate, enemies, fieldWidth, 111, 93, Collision.ENEMY_HITBOX_SCALE, random);
+        for (int r = 0; r < enemies; r++) {
+            enemyTemplate.speed[r] = 5;
+            enemyTemplate.spriteId[r] = SpriteIds.ENEMY;
+        }
+        BenchmarkWorlds.addRows(projectileTemplate, enemies / 10, fieldWidth, 62, 62, 1f, random);
+        for (int r = 0; r < projectileTemplate.rowCount; r++) {
+            projectileTemplate.kind[r] = ProjectileType.PLAYER_FIREBALL.ordinal();
+            projectileTemplate.velX[r] = 15;
+        }
+        for (int r = 0; r < enemyTemplate.rowCount; r++) enemyRows.addRow();
+        for (int r = 0; r < projectileTemplate.rowCount; r++) projectileRows.addRow();
+        combat = new CombatSystem(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        combat.setMode(mode);
+    }
+
+    @Setup(Level.Invocation)
+    public void restoreWave() {
+        copy(enemyTemplate, enemyRows);
+        copy(projectileTemplate, projectileRows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        combat.shutdown();
+    }
+
+    @Benchmark
+    public int combatStep() {
+        combat.steerEnemies(enemyRows, TARGET_X, TARGET_Y);
+        CollisionSystem.index(enemyRows, grid);
+        combat.moveProjectilesAndResolveHits(projectileRows, enemyRows, grid, fieldWidth, ignore);
+        return projectileRows.rowCount;
+    }
+
+    private static void copy(ComponentStore from, ComponentStore to) {
+        int n = from.rowCount;
+        System.arraycopy(from.posX, 0, to.posX, 0, n);
+        System.arraycopy(from.posY, 0, to.posY, 0, n);
+        System.arraycopy(from.prevX, 0, to.prevX, 0, n);
+        System.arraycopy(from.prevY, 0, to.prevY, 0, n);
+        System.arraycopy(from.velX, 0, to.velX, 0, n);
+        System.arraycopy(from.velY, 0, to.velY, 0, n);
+        System.arraycopy(from.speed, 0, to.speed, 0, n);
+        System.arraycopy(from.width, 0, to.width, 0, n);
+        System.arraycopy(from.height, 0, to.height, 0, n);
+        System.arraycopy(from.hitboxLeft, 0, to.hitboxLeft, 0, n);
+        System.arraycopy(from.hitboxTop, 0, to.hitboxTop, 0, n);
+        System.arraycopy(from.hitboxRight, 0, to.hitboxRight, 0, n);
+        System.arraycopy(from.hitboxBottom, 0, to.hitboxBottom, 0, n);
+        System.arraycopy(from.lifespan, 0, to.lifespan, 0, n);
+        System.arraycopy(from.spriteId, 0, to.spriteId, 0, n);
+        System.arraycopy(from.kind, 0, to.kind, 0, n);
+        System.arraycopy(from.active, 0, to.active, 0, n);
+    }
+}
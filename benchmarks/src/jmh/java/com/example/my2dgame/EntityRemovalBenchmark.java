@@ -0,0 +1,69 @@
+package com.example.my2dgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removing about half of a full entity list, as a super bomb or a big wave does: ArrayList.remove(i)
+ * (the old update loops) versus EntityList's mark-then-flush swap-remove. The lists are refilled
+ * before every invocation, outside the measured time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityRemovalBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int entities;
+
+    private boolean[] kill;
+    private ArrayList<Integer> arrayList;
+    private EntityList<Integer> entityList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkWorlds.SEED);
+        kill = new boolean[entities];
+        for (int i = 0; i < entities; i++) kill[i] = random.nextBoolean();
+        arrayList = new ArrayList<>(entities);
+        entityList = new EntityList<>(entities, null);
+    }
+
+    @Setup(Level.Invocation)
+    public void refill() {
+        arrayList.clear();
+        entityList.clear();
+        for (int i = 0; i < entities; i++) {
+            arrayList.add(i);
+            entityList.add(i);
+        }
+    }
+
+    @Benchmark
+    public int arrayListRemove() {
+        for (int i = arrayList.size() - 1; i >= 0; i--) {
+            if (kill[arrayList.get(i)]) arrayList.remove(i);
+        }
+        return arrayList.size();
+    }
+
+    @Benchmark
+    public int entityListSwapRemove() {
+        for (int i = 0; i < entityList.size(); i++) {
+            if (kill[entityList.get(i)]) entityList.markForRemoval(i);
+        }
+        entityList.flushRemovals();
+        return entityList.size();
+    }
+}
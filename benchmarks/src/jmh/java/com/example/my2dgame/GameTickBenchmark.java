@@ -0,0 +1,53 @@
+package com.example.my2dgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link GameWorld#step()}: player, enemy homing, projectile sweep and hits, item
+ * pickup and effect decay. Before every step the world is topped back up to the target load
+ * (a quarter as many fireballs as enemies, plus one item), so each op sees about the same
+ * number of entities; the refill comes from the pools and is part of the measured time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameTickBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int enemies;
+
+    @Param({ "SEQUENTIAL", "PARALLEL" })
+    public UpdateMode mode;
+
+    private GameWorld world;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = BenchmarkWorlds.newWorld(enemies);
+        world.setUpdateMode(mode);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.shutdown();
+    }
+
+    @Benchmark
+    public int tick() {
+        world.getPlayer().activateInvincibility(1); // Enemies that reach the player die without ending the round
+        world.fill(enemies, enemies / 4);
+        world.step();
+        return world.getEnemyCount();
+    }
+}
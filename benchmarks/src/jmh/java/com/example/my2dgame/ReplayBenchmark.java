@@ -0,0 +1,65 @@
+package com.example.my2dgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Random;
+
+/**
+ * A whole recorded round replayed through {@link ReplayPlayer}: the real spawn schedule, input
+ * and clock instead of a synthetic fixed load. The session is recorded once per trial from a
+ * scripted player (weaving up and down, cycling weapons) on a seeded world; a replay saved
+ * from a device ({@code last_session.replay}) would be measured the same way.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MILLISECONDS)
+public class ReplayBenchmark {
+    private static final int STEPS = 55 * FixedStepClock.DEFAULT_STEPS_PER_SECOND; // Just short of the round timer
+    private static final WeaponType[] WEAPONS = { WeaponType.FIREBALL, WeaponType.SWORD_SLASH, WeaponType.FIREBALL, WeaponType.BOMB_DROP };
+
+    private byte[] session;
+
+    @Setup(Level.Trial)
+    public void record() throws IOException {
+        ManualClock clock = new ManualClock(0);
+        GameWorld world = new GameWorld(clock, new Random(), null);
+        world.setViewport(BenchmarkWorlds.SCREEN_WIDTH, BenchmarkWorlds.SCREEN_HEIGHT);
+        BenchmarkWorlds.setGameSprites(world.getSprites());
+        world.restart(BenchmarkWorlds.SEED);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplayRecorder recorder = new ReplayRecorder(Channels.newChannel(bytes));
+        world.setRecorder(recorder);
+        for (int step = 0; step < STEPS; step++) {
+            clock.advance(ManualClock.STEP_MILLIS);
+            Player player = world.getPlayer();
+            player.activateInvincibility(1); // Survive the whole round
+            player.setMovingUp(step % 240 >= 120);
+            player.setMovingDown(step % 240 < 120);
+            if (step % 20 == 0) {
+                player.switchAttack(WEAPONS[(step / 20) % WEAPONS.length]);
+                world.shoot();
+            }
+            world.step();
+        }
+        recorder.close();
+        session = bytes.toByteArray();
+    }
+
+    @Benchmark
+    public int replayRound() throws IOException {
+        ReplayPlayer replay = new ReplayPlayer(Channels.newChannel(new ByteArrayInputStream(session)), null);
+        replay.playToEnd();
+        return replay.getWorld().getPlayer().getGold();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.my2dgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spawning and clearing a wave of enemies: through the pools and an {@link EntityList} the way
+ * the game does it, and with fresh objects and a fresh store as the unpooled baseline. With
+ * the GC profiler the pooled path should show close to zero bytes per op once warmed up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpawnBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int wave;
+
+    private final EntityPools pools = new EntityPools();
+    private EntityList<Enemy> enemies;
+    private float[] spawnY;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        enemies = new EntityList<>(64, pools.enemies::release);
+        Random random = new Random(BenchmarkWorlds.SEED);
+        spawnY = new float[wave];
+        for (int i = 0; i < wave; i++) spawnY[i] = random.nextFloat() * (BenchmarkWorlds.SCREEN_HEIGHT - 93);
+    }
+
+    @Benchmark
+    public int pooledWave() {
+        for (int i = 0; i < wave; i++) {
+            enemies.add(pools.enemies.acquire().init(BenchmarkWorlds.SCREEN_WIDTH, spawnY[i], 111, 93, GameWorld.ENEMY_SPEED));
+        }
+        int spawned = enemies.size();
+        enemies.clear();
+        return spawned;
+    }
+
+    @Benchmark
+    public Object unpooledWave() {
+        ComponentStore store = new ComponentStore(16);
+        Enemy[] wave = new Enemy[this.wave];
+        for (int i = 0; i < wave.length; i++) {
+            wave[i] = new Enemy(store, BenchmarkWorlds.SCREEN_WIDTH, spawnY[i], 111, 93, GameWorld.ENEMY_SPEED);
+        }
+        return wave;
+    }
+}
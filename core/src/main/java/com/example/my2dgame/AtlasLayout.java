@@ -0,0 +1,77 @@
+package com.example.my2dgame;
+
+import java.util.Arrays;
+
+/**
+ * Where each sprite sits in a texture atlas: shelf packing of the sprite rectangles into square
+ * pages, tallest first, with a gap between neighbours so filtered sampling doesn't bleed.
+ * Sprites without a size get no region. Pure arithmetic; the platform layer copies the pixels.
+ */
+public final class AtlasLayout {
+    public static final int NO_PAGE = -1;
+
+    private final int pageSize;
+    private final int[] page = new int[SpriteIds.COUNT];
+    private final int[] x = new int[SpriteIds.COUNT];
+    private final int[] y = new int[SpriteIds.COUNT];
+    private final int[] width = new int[SpriteIds.COUNT];
+    private final int[] height = new int[SpriteIds.COUNT];
+    private int pageCount;
+
+    private AtlasLayout(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /** Packs every sized sprite; throws if one doesn't fit on a page by itself. */
+    public static AtlasLayout pack(SpriteSizes sizes, int pageSize, int padding) {
+        AtlasLayout layout = new AtlasLayout(pageSize);
+        Integer[] order = new Integer[SpriteIds.COUNT];
+        for (int id = 0; id < SpriteIds.COUNT; id++) {
+            order[id] = id;
+            layout.page[id] = NO_PAGE;
+            if (!sizes.has(id)) continue;
+            if (sizes.width(id) > pageSize || sizes.height(id) > pageSize) {
+                throw new IllegalArgumentException("Sprite " + id + " (" + sizes.width(id) + "x" + sizes.height(id) + ") doesn't fit a " + pageSize + " atlas page");
+            }
+        }
+        // Tallest first keeps shelves tight; ties keep id order so the layout is stable
+        Arrays.sort(order, (a, b) -> Integer.compare(sizes.height(b), sizes.height(a)));
+
+        int page = 0, shelfY = 0, shelfHeight = 0, cursorX = 0;
+        boolean pageUsed = false;
+        for (int id : order) {
+            if (!sizes.has(id)) continue;
+            int w = sizes.width(id), h = sizes.height(id);
+            if (cursorX + w > pageSize) { // Next shelf
+                shelfY += shelfHeight + padding;
+                cursorX = 0;
+                shelfHeight = 0;
+            }
+            if (shelfY + h > pageSize) { // Next page
+                page++;
+                shelfY = 0;
+                cursorX = 0;
+                shelfHeight = 0;
+            }
+            layout.page[id] = page;
+            layout.x[id] = cursorX;
+            layout.y[id] = shelfY;
+            layout.width[id] = w;
+            layout.height[id] = h;
+            cursorX += w + padding;
+            shelfHeight = Math.max(shelfHeight, h);
+            pageUsed = true;
+        }
+        layout.pageCount = pageUsed ? page + 1 : 0;
+        return layout;
+    }
+
+    public int getPageSize() { return pageSize; }
+    public int getPageCount() { return pageCount; }
+    public boolean has(int spriteId) { return page[spriteId] != NO_PAGE; }
+    public int page(int spriteId) { return page[spriteId]; }
+    public int x(int spriteId) { return x[spriteId]; }
+    public int y(int spriteId) { return y[spriteId]; }
+    public int width(int spriteId) { return width[spriteId]; }
+    public int height(int spriteId) { return height[spriteId]; }
+}
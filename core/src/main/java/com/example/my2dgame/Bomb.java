@@ -1,6 +1,5 @@
 package com.example.my2dgame;
 
-import android.graphics.Bitmap;
 // Canvas and Paint are not strictly needed here if draw is fully handled by Projectile/GameObject
 // import android.graphics.Canvas;
 // import android.graphics.Paint;
@@ -11,9 +10,13 @@ public class Bomb extends Projectile { // Bomb vẫn kế thừa từ Projectile
     // private int fuseTime;
     // private boolean exploded;
 
-    public Bomb(float x, float y, Bitmap bitmap, float speed, ProjectileType type) {
-        // Gọi constructor của lớp cha (Projectile) với đầy đủ 5 tham số
-        super(x, y, bitmap, speed, type);
+    public Bomb(float x, float y, int width, int height, float speed, ProjectileType type) {
+        this(new ComponentStore(1), x, y, width, height, speed, type);
+    }
+
+    public Bomb(ComponentStore components, float x, float y, int width, int height, float speed, ProjectileType type) {
+        // Gọi constructor của lớp cha (Projectile) với đầy đủ tham số
+        super(components, x, y, width, height, speed, type);
         // Khởi tạo các thuộc tính riêng của Bomb nếu có
         // this.fuseTime = 180; // Ví dụ: 3 giây ở 60 FPS
         // this.exploded = false;
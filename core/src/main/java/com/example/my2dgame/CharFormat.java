@@ -0,0 +1,43 @@
+package com.example.my2dgame;
+
+/**
+ * Allocation-free text formatting into reusable {@code char[]} buffers, for text that is
+ * rebuilt every frame or every value change (HUD counters, timers). Every method writes at
+ * {@code pos} and returns the position after the last char written; the caller makes sure the
+ * buffer is big enough.
+ */
+public final class CharFormat {
+    /** Longest {@link #appendInt} output: "-2147483648". */
+    public static final int MAX_INT_CHARS = 11;
+
+    private CharFormat() {}
+
+    public static int append(char[] buffer, int pos, String text) {
+        text.getChars(0, text.length(), buffer, pos);
+        return pos + text.length();
+    }
+
+    public static int appendInt(char[] buffer, int pos, int value) {
+        return appendPadded(buffer, pos, value, 1);
+    }
+
+    /** Decimal {@code value}, left-padded with zeros to at least {@code minDigits} digits (after the sign). */
+    public static int appendPadded(char[] buffer, int pos, int value, int minDigits) {
+        long v = value; // Integer.MIN_VALUE has no positive int
+        if (v < 0) { buffer[pos++] = '-'; v = -v; }
+        int digits = 1;
+        for (long t = v; t >= 10; t /= 10) digits++;
+        if (digits < minDigits) digits = minDigits;
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) { buffer[i] = (char) ('0' + v % 10); v /= 10; }
+        return end;
+    }
+
+    /** "mm:ss", minutes growing past two digits if needed. Negative seconds count as 0. */
+    public static int appendMinutesSeconds(char[] buffer, int pos, int totalSeconds) {
+        if (totalSeconds < 0) totalSeconds = 0;
+        pos = appendPadded(buffer, pos, totalSeconds / 60, 2);
+        buffer[pos++] = ':';
+        return appendPadded(buffer, pos, totalSeconds % 60, 2);
+    }
+}
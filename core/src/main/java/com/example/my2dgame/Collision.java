@@ -0,0 +1,64 @@
+package com.example.my2dgame;
+
+/**
+ * Allocation-free AABB overlap tests. Replaces building two {@code android.graphics.Rect}s
+ * per check: each entity's hitbox edges relative to its position are cached in its
+ * {@link ComponentStore} row, and an overlap test is four integer comparisons.
+ *
+ * <p>Edges are truncated to int exactly as the old {@code createHitbox()} /
+ * {@code Rect.intersects} code did, so every pair collides under the same conditions as
+ * before (edges that merely touch do not overlap).
+ */
+public final class Collision {
+    public static final float PLAYER_HITBOX_SCALE = 0.8f;
+    public static final float ENEMY_HITBOX_SCALE = 0.85f;
+
+    private Collision() {}
+
+    /** Scaled hitboxes of both objects overlap. */
+    public static boolean overlaps(GameObject a, GameObject b) {
+        return overlaps(a.components, a.row, b.components, b.row);
+    }
+
+    /** Scaled hitboxes of two store rows overlap. */
+    public static boolean overlaps(ComponentStore a, int ra, ComponentStore b, int rb) {
+        float ax = a.posX[ra], ay = a.posY[ra], bx = b.posX[rb], by = b.posY[rb];
+        return (int) (ax + a.hitboxLeft[ra]) < (int) (bx + b.hitboxRight[rb])
+                && (int) (bx + b.hitboxLeft[rb]) < (int) (ax + a.hitboxRight[ra])
+                && (int) (ay + a.hitboxTop[ra]) < (int) (by + b.hitboxBottom[rb])
+                && (int) (by + b.hitboxTop[rb]) < (int) (ay + a.hitboxBottom[ra]);
+    }
+
+    /** Full sprite bounds of both objects overlap, ignoring hitbox scale (used for pickups). */
+    public static boolean boundsOverlap(GameObject a, GameObject b) {
+        return boundsOverlap(a.components, a.row, b.components, b.row);
+    }
+
+    /** Full sprite bounds of two store rows overlap. */
+    public static boolean boundsOverlap(ComponentStore a, int ra, ComponentStore b, int rb) {
+        float ax = a.posX[ra], ay = a.posY[ra], bx = b.posX[rb], by = b.posY[rb];
+        return (int) ax < (int) (bx + b.width[rb])
+                && (int) bx < (int) (ax + a.width[ra])
+                && (int) ay < (int) (by + b.height[rb])
+                && (int) by < (int) (ay + a.height[ra]);
+    }
+
+    /** Same test as {@link #overlaps(GameObject, GameObject)} on raw values. */
+    public static boolean overlaps(float ax, float ay, int aWidth, int aHeight, float aScale,
+                                   float bx, float by, int bWidth, int bHeight, float bScale) {
+        return (int) (ax + startOffset(aWidth, aScale)) < (int) (bx + endOffset(bWidth, bScale))
+                && (int) (bx + startOffset(bWidth, bScale)) < (int) (ax + endOffset(aWidth, aScale))
+                && (int) (ay + startOffset(aHeight, aScale)) < (int) (by + endOffset(bHeight, bScale))
+                && (int) (by + startOffset(bHeight, bScale)) < (int) (ay + endOffset(aHeight, aScale));
+    }
+
+    /** Offset of the scaled hitbox's near edge from the sprite's edge. */
+    static int startOffset(int size, float scale) {
+        return (size - (int) (size * scale)) / 2;
+    }
+
+    /** Offset of the scaled hitbox's far edge from the sprite's near edge. */
+    static int endOffset(int size, float scale) {
+        return (size + (int) (size * scale)) / 2;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.my2dgame;
+
+public class CollisionEffect extends GameObject { // Được tạo quanh một tâm, (x, y) là góc trên bên trái như mọi đối tượng khác
+    static final int DURATION_FRAMES = 30; // Hiệu ứng kéo dài 0.5 giây (60 FPS)
+
+    public CollisionEffect(float centerX, float centerY, int width, int height) {
+        this(new ComponentStore(1), centerX, centerY, width, height);
+    }
+
+    public CollisionEffect(ComponentStore components, float centerX, float centerY, int width, int height) {
+        super(components, centerX, centerY, width, height);
+        init(centerX, centerY, width, height);
+    }
+
+    public CollisionEffect init(float centerX, float centerY, int width, int height) {
+        set(centerX - width / 2f, centerY - height / 2f, width, height);
+        components.lifespan[row] = DURATION_FRAMES; // Đếm ngược bởi LifetimeSystem
+        components.spriteId[row] = SpriteIds.EXPLOSION;
+        return this;
+    }
+
+    /** Single-effect version of {@link LifetimeSystem#tick}. */
+    public void update() {
+        int frames = components.lifespan[row];
+        if (frames > 0) components.lifespan[row] = --frames;
+        if (frames == 0) setActive(false);
+    }
+
+    public boolean isAlive() { return isActive(); }
+}
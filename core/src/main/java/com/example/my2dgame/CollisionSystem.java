@@ -0,0 +1,27 @@
+package com.example.my2dgame;
+
+/**
+ * Broad phase over {@link ComponentStore} columns. Grids built here use store rows as ids,
+ * so query results index straight back into the columns; pair them with
+ * {@link Collision#overlaps(ComponentStore, int, ComponentStore, int)} for the narrow phase.
+ */
+public final class CollisionSystem {
+    private CollisionSystem() {}
+
+    /** Clears the grid and inserts every active row of the store. */
+    public static void index(ComponentStore c, SpatialHash grid) {
+        grid.clear();
+        float[] posX = c.posX, posY = c.posY;
+        int[] width = c.width, height = c.height;
+        boolean[] active = c.active;
+        for (int r = 0, n = c.rowCount; r < n; r++) {
+            if (active[r]) grid.insert(r, posX[r], posY[r], width[r], height[r]);
+        }
+        grid.build();
+    }
+
+    /** Candidate rows whose cells overlap the given row's bounds; see {@link SpatialHash#results()}. */
+    public static int query(SpatialHash grid, ComponentStore c, int row) {
+        return grid.query(c.posX[row], c.posY[row], c.width[row], c.height[row]);
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.my2dgame;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Enemy steering and projectile-vs-enemy hits, either on the simulation thread or split
+ * across a bounded {@link ForkJoinPool}.
+ *
+ * <p>In {@link UpdateMode#PARALLEL} the rows are cut into fixed chunks. Steering chunks just
+ * move their enemies. Projectile chunks move their projectiles and record every
+ * (projectile, enemy) pair whose hitboxes overlap, using their own {@link SpatialHash.Query}.
+ * Nothing is killed by a worker. The simulation thread then merges the chunks in row order and
+ * applies exactly the rules the sequential path applies, so both modes produce the same kills,
+ * in the same order, for the same input.
+ *
+ * <p>Small waves don't amortise the hand-off; below {@link #MIN_CHUNK_ROWS} rows a pass runs
+ * sequentially whatever the mode.
+ */
+public class CombatSystem {
+
+    /** Called once per kill, in a fixed order, on the thread that called the system. */
+    public interface HitListener {
+        void onEnemyHit(int enemyRow, int projectileRow);
+    }
+
+    static final int MIN_CHUNK_ROWS = 256;
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int SWORD_KIND = ProjectileType.PLAYER_SWORD_WAVE.ordinal();
+
+    private volatile UpdateMode mode = UpdateMode.SEQUENTIAL;
+    private final int parallelism;
+    private ForkJoinPool workers; // Created on first parallel pass
+
+    // Chunks and their per-chunk outputs are allocated once and reused every step
+    private final Chunk[] chunks;
+    private final SpatialHash.Query[] chunkQueries;
+    private final int[][] chunkPairs; // (projectileRow, enemyRow) pairs, in row then query order
+    private final int[] chunkPairCount;
+    private final RecursiveAction runChunks;
+    private int activeChunks;
+
+    // Inputs of the pass in flight; written before the pool is entered, read by the workers
+    private boolean steering;
+    private ComponentStore enemies, projectiles;
+    private SpatialHash enemyGrid;
+    private float targetX, targetY;
+    private int screenWidth;
+
+    public CombatSystem(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        int maxChunks = this.parallelism * CHUNKS_PER_WORKER;
+        chunks = new Chunk[maxChunks];
+        chunkQueries = new SpatialHash.Query[maxChunks];
+        chunkPairs = new int[maxChunks][];
+        chunkPairCount = new int[maxChunks];
+        for (int i = 0; i < maxChunks; i++) {
+            chunks[i] = new Chunk(i);
+            chunkQueries[i] = new SpatialHash.Query();
+            chunkPairs[i] = new int[64];
+        }
+        runChunks = new RecursiveAction() {
+            @Override
+            protected void compute() {
+                for (int i = activeChunks - 1; i > 0; i--) chunks[i].fork();
+                chunks[0].invoke();
+                for (int i = 1; i < activeChunks; i++) chunks[i].join();
+            }
+        };
+    }
+
+    public void setMode(UpdateMode mode) { this.mode = mode; }
+    public UpdateMode getMode() { return mode; }
+    public int getParallelism() { return parallelism; }
+
+    /** Moves every active enemy towards the target; see {@link MovementSystem#steerTowards}. */
+    public void steerEnemies(ComponentStore enemies, float targetX, float targetY) {
+        if (!splitInto(enemies.rowCount)) {
+            MovementSystem.steerTowards(enemies, targetX, targetY);
+            return;
+        }
+        this.steering = true;
+        this.enemies = enemies;
+        this.targetX = targetX;
+        this.targetY = targetY;
+        runChunks();
+    }
+
+    /**
+     * Moves projectiles, drops the ones that left the screen and resolves their hits against
+     * enemies indexed in {@code enemyGrid} (by row). A sword wave kills every enemy it overlaps;
+     * any other projectile kills the overlapping enemy with the highest row and is used up.
+     * Killed enemies and spent projectiles are only deactivated; the listener hears of each kill.
+     */
+    public void moveProjectilesAndResolveHits(ComponentStore projectiles, ComponentStore enemies, SpatialHash enemyGrid,
+                                              int screenWidth, HitListener listener) {
+        if (!splitInto(projectiles.rowCount)) {
+            resolveSequential(projectiles, enemies, enemyGrid, screenWidth, listener);
+            return;
+        }
+        this.steering = false;
+        this.projectiles = projectiles;
+        this.enemies = enemies;
+        this.enemyGrid = enemyGrid;
+        this.screenWidth = screenWidth;
+        runChunks();
+        for (int c = 0; c < activeChunks; c++) mergeChunk(c, listener);
+    }
+
+    /** Stops the worker threads; a later parallel pass starts new ones. */
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdown();
+            workers = null;
+        }
+    }
+
+    private void resolveSequential(ComponentStore pc, ComponentStore ec, SpatialHash grid, int screenWidth, HitListener listener) {
+        MovementSystem.integrate(pc);
+        MovementSystem.deactivateOffscreen(pc, screenWidth);
+        for (int r = 0; r < pc.rowCount; r++) {
+            if (!pc.active[r]) continue;
+            int hitCount = CollisionSystem.query(grid, pc, r);
+            int[] hits = grid.results();
+            if (pc.kind[r] == SWORD_KIND) {
+                for (int k = 0; k < hitCount; k++) {
+                    int e = hits[k];
+                    if (ec.active[e] && Collision.overlaps(ec, e, pc, r)) kill(ec, e, r, listener);
+                }
+            } else {
+                // A single-target shot takes out one enemy; pick the highest row so the choice is deterministic
+                int target = -1;
+                for (int k = 0; k < hitCount; k++) {
+                    int e = hits[k];
+                    if (e > target && ec.active[e] && Collision.overlaps(ec, e, pc, r)) target = e;
+                }
+                if (target >= 0) {
+                    pc.active[r] = false;
+                    kill(ec, target, r, listener);
+                }
+            }
+        }
+    }
+
+    // Worker side: move this chunk's projectiles and record overlapping pairs, killing nothing
+    private void collectPairs(int chunk, int from, int to) {
+        ComponentStore pc = projectiles, ec = enemies;
+        SpatialHash.Query q = chunkQueries[chunk];
+        int[] pairs = chunkPairs[chunk];
+        int count = 0;
+        for (int r = from; r < to; r++) {
+            if (!pc.active[r]) continue;
+            MovementSystem.integrate(pc, r);
+            MovementSystem.deactivateOffscreen(pc, r, screenWidth);
+            if (!pc.active[r]) continue;
+            int hitCount = enemyGrid.query(q, pc.posX[r], pc.posY[r], pc.width[r], pc.height[r]);
+            int[] hits = q.results();
+            for (int k = 0; k < hitCount; k++) {
+                int e = hits[k];
+                if (!ec.active[e] || !Collision.overlaps(ec, e, pc, r)) continue;
+                if (count + 2 > pairs.length) pairs = grow(pairs);
+                pairs[count++] = r;
+                pairs[count++] = e;
+            }
+        }
+        chunkPairs[chunk] = pairs;
+        chunkPairCount[chunk] = count;
+    }
+
+    // Simulation thread: apply one chunk's pairs with the same rules as resolveSequential
+    private void mergeChunk(int chunk, HitListener listener) {
+        ComponentStore pc = projectiles, ec = enemies;
+        int[] pairs = chunkPairs[chunk];
+        int count = chunkPairCount[chunk];
+        int i = 0;
+        while (i < count) {
+            int r = pairs[i];
+            int groupEnd = i;
+            while (groupEnd < count && pairs[groupEnd] == r) groupEnd += 2;
+            if (pc.kind[r] == SWORD_KIND) {
+                for (int k = i; k < groupEnd; k += 2) {
+                    if (ec.active[pairs[k + 1]]) kill(ec, pairs[k + 1], r, listener);
+                }
+            } else {
+                int target = -1;
+                for (int k = i; k < groupEnd; k += 2) {
+                    int e = pairs[k + 1];
+                    if (e > target && ec.active[e]) target = e;
+                }
+                if (target >= 0) {
+                    pc.active[r] = false;
+                    kill(ec, target, r, listener);
+                }
+            }
+            i = groupEnd;
+        }
+    }
+
+    private static void kill(ComponentStore ec, int enemyRow, int projectileRow, HitListener listener) {
+        ec.active[enemyRow] = false;
+        if (listener != null) listener.onEnemyHit(enemyRow, projectileRow);
+    }
+
+    // Decides whether a pass over rowCount rows goes parallel and, if so, lays out the chunks
+    private boolean splitInto(int rowCount) {
+        if (mode != UpdateMode.PARALLEL || rowCount < 2 * MIN_CHUNK_ROWS) return false;
+        int count = Math.min(chunks.length, rowCount / MIN_CHUNK_ROWS);
+        int size = (rowCount + count - 1) / count;
+        for (int i = 0; i < count; i++) {
+            chunks[i].from = i * size;
+            chunks[i].to = Math.min(rowCount, (i + 1) * size);
+        }
+        activeChunks = count;
+        return true;
+    }
+
+    private void runChunks() {
+        if (workers == null) workers = new ForkJoinPool(parallelism);
+        for (int i = 0; i < activeChunks; i++) chunks[i].reinitialize();
+        runChunks.reinitialize();
+        workers.invoke(runChunks);
+    }
+
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int index;
+        int from, to;
+
+        Chunk(int index) { this.index = index; }
+
+        @Override
+        protected void compute() {
+            if (steering) MovementSystem.steerTowards(enemies, from, to, targetX, targetY);
+            else collectPairs(index, from, to);
+        }
+    }
+}
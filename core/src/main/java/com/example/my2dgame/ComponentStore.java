@@ -0,0 +1,95 @@
+package com.example.my2dgame;
+
+/**
+ * Structure-of-arrays storage for entity state: positions, velocities, sizes, hitbox edges,
+ * lifespans, sprite ids and animation clocks live in primitive columns indexed by row. Every {@link GameObject}
+ * owns one row for its whole life; pooled objects keep their row while parked, flagged
+ * inactive, so rows are never reused and never move.
+ *
+ * <p>The systems ({@link MovementSystem}, {@link LifetimeSystem}, {@link CollisionSystem})
+ * walk these columns in tight loops instead of chasing object references. Columns are
+ * package-private and may be replaced when the store grows, so read them from the store on
+ * each pass rather than holding on to an array.
+ */
+public class ComponentStore {
+    int rowCount;
+
+    float[] posX, posY;
+    float[] prevX, prevY; // Vị trí ở bước mô phỏng trước
+    float[] velX, velY;
+    float[] speed;
+    int[] width, height;
+    int[] hitboxLeft, hitboxTop, hitboxRight, hitboxBottom; // Tính từ (posX, posY)
+    int[] lifespan; // Số bước còn lại, -1 = không giới hạn
+    int[] spriteId;
+    int[] animation; // Chỉ số trong SpriteAnimations, -1 = không có, dùng spriteId
+    long[] animationStart; // Thời điểm (ms) animation bắt đầu, đồng hồ riêng của từng đối tượng
+    int[] kind; // Loại con trong một store, ví dụ ordinal của ProjectileType
+    boolean[] active;
+
+    public ComponentStore(int initialCapacity) {
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    /** Appends a row for a new entity and returns its index. */
+    int addRow() {
+        if (rowCount == posX.length) allocate(posX.length * 2);
+        return rowCount++;
+    }
+
+    public int getRowCount() { return rowCount; }
+
+    public int getActiveCount() {
+        int count = 0;
+        for (int r = 0; r < rowCount; r++) if (active[r]) count++;
+        return count;
+    }
+
+    private void allocate(int capacity) {
+        posX = grow(posX, capacity);
+        posY = grow(posY, capacity);
+        prevX = grow(prevX, capacity);
+        prevY = grow(prevY, capacity);
+        velX = grow(velX, capacity);
+        velY = grow(velY, capacity);
+        speed = grow(speed, capacity);
+        width = grow(width, capacity);
+        height = grow(height, capacity);
+        hitboxLeft = grow(hitboxLeft, capacity);
+        hitboxTop = grow(hitboxTop, capacity);
+        hitboxRight = grow(hitboxRight, capacity);
+        hitboxBottom = grow(hitboxBottom, capacity);
+        lifespan = grow(lifespan, capacity);
+        spriteId = grow(spriteId, capacity);
+        animation = grow(animation, capacity);
+        animationStart = grow(animationStart, capacity);
+        kind = grow(kind, capacity);
+        boolean[] grownActive = new boolean[capacity];
+        if (active != null) System.arraycopy(active, 0, grownActive, 0, rowCount);
+        active = grownActive;
+    }
+
+    private float[] grow(float[] column, int capacity) {
+        float[] grown = new float[capacity];
+        if (column != null) System.arraycopy(column, 0, grown, 0, rowCount);
+        return grown;
+    }
+
+    private int[] grow(int[] column, int capacity) {
+        int[] grown = new int[capacity];
+        if (column != null) System.arraycopy(column, 0, grown, 0, rowCount);
+        return grown;
+    }
+
+    private long[] grow(long[] column, int capacity) {
+        long[] grown = new long[capacity];
+        if (column != null) System.arraycopy(column, 0, grown, 0, rowCount);
+        return grown;
+    }
+
+    /** The sprite row {@code r} shows at {@code nowMillis}: its animation frame if one is running, else its sprite id. */
+    int spriteAt(int r, long nowMillis) {
+        int a = animation[r];
+        return a < 0 ? spriteId[r] : SpriteAnimations.get(a).spriteAt(nowMillis - animationStart[r]);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.my2dgame;
+
+import java.util.function.LongSupplier;
+
+/**
+ * CPU time the process spends per minute of wall-clock time, the number that tracks battery
+ * drain. Both clocks are injected in milliseconds: on Android the CPU clock is
+ * Process.getElapsedCpuTime(), in tests a counter.
+ */
+public class CpuTimeMeter {
+    private final LongSupplier cpuMillis, wallMillis;
+    private long startCpu, startWall;
+
+    public CpuTimeMeter(LongSupplier cpuMillis, LongSupplier wallMillis) {
+        this.cpuMillis = cpuMillis;
+        this.wallMillis = wallMillis;
+        restart();
+    }
+
+    public void restart() {
+        startCpu = cpuMillis.getAsLong();
+        startWall = wallMillis.getAsLong();
+    }
+
+    /** Milliseconds of CPU per minute since {@link #restart}; 0 before any wall time has passed. */
+    public long cpuMillisPerMinute() {
+        long wall = wallMillis.getAsLong() - startWall;
+        return wall > 0 ? (cpuMillis.getAsLong() - startCpu) * 60_000 / wall : 0;
+    }
+
+    public long elapsedWallMillis() { return wallMillis.getAsLong() - startWall; }
+}
@@ -0,0 +1,34 @@
+package com.example.my2dgame;
+
+public class Enemy extends GameObject {
+
+    public Enemy(float x, float y, int width, int height, float speed) {
+        this(new ComponentStore(1), x, y, width, height, speed);
+    }
+
+    public Enemy(ComponentStore components, float x, float y, int width, int height, float speed) {
+        super(components, x, y, width, height);
+        components.speed[row] = speed;
+        components.spriteId[row] = SpriteIds.ENEMY;
+        setHitboxScale(Collision.ENEMY_HITBOX_SCALE);
+    }
+
+    public Enemy init(float x, float y, int width, int height, float speed) {
+        set(x, y, width, height);
+        components.speed[row] = speed;
+        components.spriteId[row] = SpriteIds.ENEMY;
+        return this;
+    }
+
+    /**
+     * Moves this enemy towards the player. GameWorld steers all enemies at once with
+     * {@link MovementSystem#steerTowards(ComponentStore, float, float)}; this is the same
+     * step for a single enemy.
+     */
+    public void update(float playerX, float playerY, int screenWidth, int screenHeight) {
+        MovementSystem.steerTowards(components, row, playerX, playerY);
+    }
+
+    public float getSpeed() { return components.speed[row]; }
+    public void setSpeed(float speed) { components.speed[row] = speed; } // This can still be useful for effects (e.g., traps)
+}
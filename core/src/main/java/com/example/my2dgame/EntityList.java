@@ -0,0 +1,166 @@
+package com.example.my2dgame;
+
+import java.util.Arrays;
+
+/**
+ * Dense, unordered entity container for the per-tick update loops.
+ *
+ * <ul>
+ *   <li>Removal is O(1): the last element is swapped into the hole, nothing is shifted.
+ *   <li>Removal can be deferred: {@link #markForRemoval(int)} during the tick keeps every
+ *       index stable (so spatial-hash ids stay valid), and {@link #flushRemovals()} applies
+ *       all of them at the end of the tick, handing each entity to the removal listener.
+ *   <li>Every entity gets a stable handle from {@link #add}. Indices change when elements
+ *       are swapped; a handle keeps resolving to the same entity until it is removed, and
+ *       then resolves to null rather than to whatever reused the slot.
+ * </ul>
+ *
+ * Element order is not preserved. Not thread-safe.
+ */
+public class EntityList<T> {
+
+    public interface RemovalListener<T> {
+        void onRemoved(T entity);
+    }
+
+    private static final int SLOT_BITS = 20;                 // Up to ~1M live entities
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int GENERATION_MASK = 0x7FF;        // 11 bits, keeps handles positive
+    public static final int INVALID_HANDLE = -1;
+
+    private final RemovalListener<T> removalListener;
+
+    private Object[] items;
+    private int[] denseToSlot;
+    private boolean[] markedForRemoval;
+    private int size = 0;
+    private int markedCount = 0;
+
+    private int[] slotToDense;
+    private int[] slotGeneration;
+    private int[] freeSlots;
+    private int freeSlotCount = 0;
+    private int slotCount = 0;
+
+    public EntityList(int initialCapacity, RemovalListener<T> removalListener) {
+        int capacity = Math.max(initialCapacity, 8);
+        this.removalListener = removalListener;
+        items = new Object[capacity];
+        denseToSlot = new int[capacity];
+        markedForRemoval = new boolean[capacity];
+        slotToDense = new int[capacity];
+        slotGeneration = new int[capacity];
+        freeSlots = new int[capacity];
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) items[index];
+    }
+
+    /** Appends the entity and returns its handle. */
+    public int add(T entity) {
+        if (size == items.length) growDense();
+        int slot;
+        if (freeSlotCount > 0) {
+            slot = freeSlots[--freeSlotCount];
+        } else {
+            if (slotCount == slotToDense.length) growSlots();
+            slot = slotCount++;
+        }
+        items[size] = entity;
+        denseToSlot[size] = slot;
+        markedForRemoval[size] = false;
+        slotToDense[slot] = size;
+        size++;
+        return (slotGeneration[slot] << SLOT_BITS) | slot;
+    }
+
+    public int handleAt(int index) {
+        int slot = denseToSlot[index];
+        return (slotGeneration[slot] << SLOT_BITS) | slot;
+    }
+
+    /** Current index of the entity behind {@code handle}, or -1 if it has been removed. */
+    public int indexOf(int handle) {
+        if (handle < 0) return -1;
+        int slot = handle & SLOT_MASK;
+        if (slot >= slotCount || slotGeneration[slot] != (handle >>> SLOT_BITS)) return -1;
+        return slotToDense[slot];
+    }
+
+    public T resolve(int handle) {
+        int index = indexOf(handle);
+        return index >= 0 ? get(index) : null;
+    }
+
+    /** Schedules removal at the next {@link #flushRemovals()}; the entity keeps its index until then. */
+    public void markForRemoval(int index) {
+        if (markedForRemoval[index]) return;
+        markedForRemoval[index] = true;
+        markedCount++;
+    }
+
+    public boolean isMarkedForRemoval(int index) {
+        return markedForRemoval[index];
+    }
+
+    /** Removes every marked entity, notifying the removal listener. Returns how many were removed. */
+    public int flushRemovals() {
+        if (markedCount == 0) return 0;
+        int removed = 0;
+        // Walk downwards: everything above i is already unmarked, so the element swapped in is kept
+        for (int i = size - 1; i >= 0 && markedCount > 0; i--) {
+            if (markedForRemoval[i]) {
+                removeAt(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /** Removes immediately by swapping the last element into {@code index}. */
+    public T removeAt(int index) {
+        T entity = get(index);
+        if (markedForRemoval[index]) markedCount--;
+        int slot = denseToSlot[index];
+        int last = size - 1;
+        if (index != last) {
+            items[index] = items[last];
+            denseToSlot[index] = denseToSlot[last];
+            markedForRemoval[index] = markedForRemoval[last];
+            slotToDense[denseToSlot[index]] = index;
+        }
+        items[last] = null;
+        markedForRemoval[last] = false;
+        size = last;
+
+        slotGeneration[slot] = (slotGeneration[slot] + 1) & GENERATION_MASK;
+        freeSlots[freeSlotCount++] = slot;
+        if (removalListener != null) removalListener.onRemoved(entity);
+        return entity;
+    }
+
+    /** Removes everything, notifying the removal listener for each entity. */
+    public void clear() {
+        for (int i = size - 1; i >= 0; i--) removeAt(i);
+    }
+
+    private void growDense() {
+        int capacity = items.length * 2;
+        items = Arrays.copyOf(items, capacity);
+        denseToSlot = Arrays.copyOf(denseToSlot, capacity);
+        markedForRemoval = Arrays.copyOf(markedForRemoval, capacity);
+    }
+
+    private void growSlots() {
+        int capacity = slotToDense.length * 2;
+        if (capacity > SLOT_MASK + 1) throw new IllegalStateException("EntityList is full");
+        slotToDense = Arrays.copyOf(slotToDense, capacity);
+        slotGeneration = Arrays.copyOf(slotGeneration, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+    }
+}
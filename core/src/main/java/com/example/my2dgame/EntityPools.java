@@ -0,0 +1,45 @@
+package com.example.my2dgame;
+
+/**
+ * The object pools for every entity type the game spawns repeatedly, and the component
+ * stores their rows live in. Each pooled object gets a row when the pool creates it and keeps
+ * it for good, so the stores only grow with the pools' high-water marks.
+ */
+public class EntityPools {
+    public final ComponentStore enemyComponents = new ComponentStore(64);
+    public final ComponentStore projectileComponents = new ComponentStore(64);
+    public final ComponentStore itemComponents = new ComponentStore(8);
+    public final ComponentStore effectComponents = new ComponentStore(64);
+
+    public final ObjectPool<Enemy> enemies = new ObjectPool<>("Enemy", () -> new Enemy(enemyComponents, 0, 0, 0, 0, 0), 32);
+    public final ObjectPool<Projectile> projectiles = new ObjectPool<>("Projectile", () -> new Projectile(projectileComponents, 0, 0, 0, 0, 0, ProjectileType.PLAYER_FIREBALL), 32);
+    public final ObjectPool<Bomb> bombs = new ObjectPool<>("Bomb", () -> new Bomb(projectileComponents, 0, 0, 0, 0, 0, ProjectileType.PLAYER_SUPER_BOMB), 2);
+    public final ObjectPool<Item> items = new ObjectPool<>("Item", () -> new Item(itemComponents, 0, 0, 0, 0, ItemType.HEART), 4);
+    public final ObjectPool<CollisionEffect> effects = new ObjectPool<>("CollisionEffect", () -> new CollisionEffect(effectComponents, 0, 0, 0, 0), 32);
+
+    /** Returns a projectile to the pool it came from. */
+    public void releaseProjectile(Projectile projectile) {
+        if (projectile instanceof Bomb) bombs.release((Bomb) projectile);
+        else projectiles.release(projectile);
+    }
+
+    /** One line per pool: in use, free, high-water mark and total allocations. */
+    public String describeStats() {
+        StringBuilder sb = new StringBuilder();
+        appendStats(sb, enemies);
+        appendStats(sb, projectiles);
+        appendStats(sb, bombs);
+        appendStats(sb, items);
+        appendStats(sb, effects);
+        return sb.toString();
+    }
+
+    private static void appendStats(StringBuilder sb, ObjectPool<?> pool) {
+        sb.append(pool.getName())
+                .append(": inUse=").append(pool.getInUse())
+                .append(" free=").append(pool.getFreeCount())
+                .append(" highWater=").append(pool.getHighWaterMark())
+                .append(" created=").append(pool.getCreatedCount())
+                .append('\n');
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.my2dgame;
+
+/**
+ * Fixed-timestep accumulator for the game loop. Real elapsed time is fed in once per
+ * frame and converted into a whole number of simulation steps, so gameplay speed no
+ * longer depends on how fast frames are presented. The leftover fraction of a step is
+ * exposed as {@link #getAlpha()} for interpolated rendering.
+ */
+public class FixedStepClock {
+    public static final int DEFAULT_STEPS_PER_SECOND = 60;
+    public static final int DEFAULT_MAX_CATCH_UP_STEPS = 5;
+
+    private final long stepNanos;
+    private final int maxCatchUpSteps;
+    private long lastNanos;
+    private long accumulatorNanos;
+    private long droppedSteps;
+
+    public FixedStepClock() {
+        this(DEFAULT_STEPS_PER_SECOND, DEFAULT_MAX_CATCH_UP_STEPS);
+    }
+
+    public FixedStepClock(int stepsPerSecond, int maxCatchUpSteps) {
+        if (stepsPerSecond <= 0) throw new IllegalArgumentException("stepsPerSecond must be > 0");
+        if (maxCatchUpSteps <= 0) throw new IllegalArgumentException("maxCatchUpSteps must be > 0");
+        this.stepNanos = 1_000_000_000L / stepsPerSecond;
+        this.maxCatchUpSteps = maxCatchUpSteps;
+    }
+
+    public void reset(long nowNanos) {
+        lastNanos = nowNanos;
+        accumulatorNanos = 0;
+        droppedSteps = 0;
+    }
+
+    /**
+     * Adds the time elapsed since the previous call and returns how many fixed steps
+     * should be simulated now. At most {@code maxCatchUpSteps} are returned; anything
+     * beyond that is dropped so a long stall (GC, app switch) slows the game down for one
+     * frame instead of sending it into a catch-up spiral.
+     */
+    public int advance(long nowNanos) {
+        long elapsed = nowNanos - lastNanos;
+        lastNanos = nowNanos;
+        if (elapsed > 0) accumulatorNanos += elapsed;
+
+        int steps = (int) Math.min(accumulatorNanos / stepNanos, Integer.MAX_VALUE);
+        if (steps > maxCatchUpSteps) {
+            droppedSteps += steps - maxCatchUpSteps;
+            steps = maxCatchUpSteps;
+            accumulatorNanos %= stepNanos;
+        } else {
+            accumulatorNanos -= steps * stepNanos;
+        }
+        return steps;
+    }
+
+    /** Fraction (0..1) of the next step that has already elapsed; used to interpolate positions. */
+    public float getAlpha() {
+        return accumulatorNanos / (float) stepNanos;
+    }
+
+    /** Time left before another step becomes due, measured from the last {@link #advance(long)}. */
+    public long nanosUntilNextStep() {
+        return stepNanos - accumulatorNanos;
+    }
+
+    public long getLastAdvanceNanos() { return lastNanos; }
+    public long getStepNanos() { return stepNanos; }
+    public long getDroppedSteps() { return droppedSteps; }
+}
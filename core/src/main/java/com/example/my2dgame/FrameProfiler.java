@@ -0,0 +1,239 @@
+package com.example.my2dgame;
+
+import java.io.IOException;
+import java.util.function.LongSupplier;
+
+/**
+ * Where the frame time goes: per-phase timers on the simulation and render threads, a histogram
+ * of the interval between drawn frames with dropped-frame detection, entity counts and GC
+ * counters, plus the last {@link #RECENT_FRAMES} frames phase by phase for {@link #writeReport}.
+ *
+ * <p>Switched off it costs a volatile read per phase: {@link #begin} returns without reading the
+ * clock and {@link #end} returns on the untimed start. Each phase is timed on one thread only
+ * (see {@link Phase}), so recording needs no locks; readers on other threads (the overlay, a
+ * report) may see numbers a sample behind. Switching on from another thread only posts a reset:
+ * the render and simulation threads clear their own statistics in {@link #beginFrame} and
+ * {@link #beginStep}. An optional {@link Tracer} mirrors every timed phase as a trace section
+ * (android.os.Trace in the app).
+ */
+public class FrameProfiler {
+    public enum Phase {
+        // Simulation thread
+        INPUT("input"), STEP("step"), PUBLISH("publish"),
+        // Render thread
+        LOCK("lockCanvas"), DRAW("draw"), POST("unlockCanvasAndPost");
+
+        final String label;
+
+        Phase(String label) { this.label = label; }
+
+        public String getLabel() { return label; }
+
+        boolean isRenderPhase() { return ordinal() >= LOCK.ordinal(); }
+    }
+
+    /** Receives matching begin/end pairs on the thread that timed the phase. */
+    public interface Tracer {
+        void beginSection(String name);
+        void endSection();
+    }
+
+    static final int RECENT_FRAMES = 600; // 10 s at 60 fps
+    private static final int COLUMNS = 6; // end, interval, lock, draw, post, step
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+    private static final long SECOND_NANOS = 1_000_000_000L;
+
+    private final LongSupplier nanoClock;
+    private volatile boolean enabled;
+    private volatile int resets; // Bumped each time the profiler is switched on
+    private volatile Tracer tracer;
+    private final TimeHistogram[] phases = new TimeHistogram[Phase.values().length];
+    private final long[] lastPhaseNanos = new long[Phase.values().length];
+    private final TimeHistogram frameIntervals = new TimeHistogram();
+    private volatile long expectedFrameNanos = SECOND_NANOS / FixedStepClock.DEFAULT_STEPS_PER_SECOND;
+    private volatile long droppedFrames;
+    private volatile int spritesDrawn, spritesCulled, enemies, projectiles, items;
+    private volatile long gcPerSecond, gcMillisPerSecond, allocatedBytesPerSecond;
+
+    // Simulation thread only
+    private int stepResets;
+
+    // Render thread only
+    private int frameResets;
+    private long lastFrameNanos = NOT_TIMED;
+    private final long[] recent = new long[RECENT_FRAMES * COLUMNS];
+    private long recentCount;
+    private long runtimeSampleNanos = NOT_TIMED, lastGcCount, lastGcMillis, lastAllocatedBytes;
+
+    public FrameProfiler(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < phases.length; i++) phases[i] = new TimeHistogram();
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /** Switching on starts from empty statistics, cleared by each thread at its next {@link #beginFrame} or {@link #beginStep}. */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) resets++; // Only the thread that toggles writes this
+        this.enabled = enabled;
+    }
+
+    public void setTracer(Tracer tracer) { this.tracer = tracer; }
+
+    /** The frame interval the display should manage (vsync, or the capped rate); an interval half as long again counts as dropped frames. */
+    public void setExpectedFrameNanos(long nanos) { expectedFrameNanos = nanos; }
+    public long getExpectedFrameNanos() { return expectedFrameNanos; }
+
+    /** Render thread, before anything of a frame is timed: applies a pending reset to the render thread's numbers. */
+    public void beginFrame() {
+        int r = resets;
+        if (r == frameResets) return;
+        frameResets = r;
+        resetPhases(true);
+        frameIntervals.reset();
+        droppedFrames = 0;
+        recentCount = 0;
+        lastFrameNanos = NOT_TIMED;
+        runtimeSampleNanos = NOT_TIMED;
+    }
+
+    /** Simulation thread, before anything of a tick is timed: applies a pending reset to the simulation phases. */
+    public void beginStep() {
+        int r = resets;
+        if (r == stepResets) return;
+        stepResets = r;
+        resetPhases(false);
+    }
+
+    /** Starts timing a phase; pass the result to {@link #end}. */
+    public long begin(Phase phase) {
+        if (!enabled) return NOT_TIMED;
+        Tracer t = tracer;
+        if (t != null) t.beginSection(phase.label);
+        return nanoClock.getAsLong();
+    }
+
+    public void end(Phase phase, long start) {
+        if (start == NOT_TIMED) return;
+        long nanos = nanoClock.getAsLong() - start;
+        phases[phase.ordinal()].record(nanos);
+        lastPhaseNanos[phase.ordinal()] = nanos;
+        Tracer t = tracer;
+        if (t != null) t.endSection();
+    }
+
+    /**
+     * Render thread, after a frame was posted: records the interval since the previous one and
+     * counts the vsyncs it missed.
+     */
+    public void frameDrawn() {
+        if (!enabled) return;
+        long now = nanoClock.getAsLong();
+        long interval = lastFrameNanos == NOT_TIMED ? 0 : now - lastFrameNanos;
+        lastFrameNanos = now;
+        if (interval > 0) {
+            frameIntervals.record(interval);
+            long expected = expectedFrameNanos;
+            if (interval > expected + expected / 2) droppedFrames += (interval + expected / 2) / expected - 1;
+        }
+        int at = (int) (recentCount++ % RECENT_FRAMES) * COLUMNS;
+        recent[at] = now;
+        recent[at + 1] = interval;
+        recent[at + 2] = lastPhaseNanos[Phase.LOCK.ordinal()];
+        recent[at + 3] = lastPhaseNanos[Phase.DRAW.ordinal()];
+        recent[at + 4] = lastPhaseNanos[Phase.POST.ordinal()];
+        recent[at + 5] = lastPhaseNanos[Phase.STEP.ordinal()];
+    }
+
+    /** Render thread: the next frame doesn't follow on from the last one (end screen wake-up, new surface). */
+    public void breakFrameChain() { lastFrameNanos = NOT_TIMED; }
+
+    /** Simulation thread, once per published step. */
+    public void setEntityCounts(int enemies, int projectiles, int items) {
+        this.enemies = enemies;
+        this.projectiles = projectiles;
+        this.items = items;
+    }
+
+    /** Render thread, once per drawn frame. */
+    public void setSpriteCounts(int drawn, int culled) {
+        spritesDrawn = drawn;
+        spritesCulled = culled;
+    }
+
+    /** Render thread: true about once a second while enabled; then read the runtime's counters and pass them to {@link #sampleRuntime}. */
+    public boolean isRuntimeSampleDue() {
+        return enabled && (runtimeSampleNanos == NOT_TIMED || nanoClock.getAsLong() - runtimeSampleNanos >= SECOND_NANOS);
+    }
+
+    /** Cumulative GC count, GC time and bytes allocated since process start; turned into per-second rates. */
+    public void sampleRuntime(long gcCount, long gcMillis, long allocatedBytes) {
+        long now = nanoClock.getAsLong();
+        if (runtimeSampleNanos != NOT_TIMED && now > runtimeSampleNanos) {
+            long elapsed = now - runtimeSampleNanos;
+            gcPerSecond = (gcCount - lastGcCount) * SECOND_NANOS / elapsed;
+            gcMillisPerSecond = (gcMillis - lastGcMillis) * SECOND_NANOS / elapsed;
+            allocatedBytesPerSecond = (allocatedBytes - lastAllocatedBytes) * SECOND_NANOS / elapsed;
+        }
+        runtimeSampleNanos = now;
+        lastGcCount = gcCount;
+        lastGcMillis = gcMillis;
+        lastAllocatedBytes = allocatedBytes;
+    }
+
+    public TimeHistogram getPhase(Phase phase) { return phases[phase.ordinal()]; }
+    public TimeHistogram getFrameIntervals() { return frameIntervals; }
+    public long getDroppedFrames() { return droppedFrames; }
+    public int getSpritesDrawn() { return spritesDrawn; }
+    public int getSpritesCulled() { return spritesCulled; }
+    public int getEnemies() { return enemies; }
+    public int getProjectiles() { return projectiles; }
+    public int getItems() { return items; }
+    public long getGcPerSecond() { return gcPerSecond; }
+    public long getGcMillisPerSecond() { return gcMillisPerSecond; }
+    public long getAllocatedBytesPerSecond() { return allocatedBytesPerSecond; }
+
+    /**
+     * Plain-text report: a summary per phase in microseconds, then the recent frames as CSV.
+     * Exact when neither game thread is running (e.g. after a pause), approximate otherwise.
+     */
+    public void writeReport(Appendable out) throws IOException {
+        out.append("# Frame profile: ").append(Long.toString(recentCount)).append(" frames, ")
+                .append(Long.toString(droppedFrames)).append(" dropped, expected interval ")
+                .append(Long.toString(expectedFrameNanos / 1000)).append(" us\n");
+        out.append("phase,count,avg_us,p50_us,p95_us,p99_us,max_us\n");
+        writeSummary(out, "frame", frameIntervals);
+        for (Phase phase : Phase.values()) writeSummary(out, phase.label, phases[phase.ordinal()]);
+        out.append("# Entities: ").append(Integer.toString(enemies)).append(" enemies, ").append(Integer.toString(projectiles))
+                .append(" projectiles, ").append(Integer.toString(items)).append(" items; sprites ").append(Integer.toString(spritesDrawn))
+                .append(" drawn, ").append(Integer.toString(spritesCulled)).append(" culled\n");
+        out.append("# GC: ").append(Long.toString(gcPerSecond)).append(" collections/s, ").append(Long.toString(gcMillisPerSecond))
+                .append(" ms/s, ").append(Long.toString(allocatedBytesPerSecond / 1024)).append(" KB/s allocated\n");
+
+        out.append("end_us,interval_us,lock_us,draw_us,post_us,step_us\n");
+        long count = recentCount;
+        for (long f = Math.max(0, count - RECENT_FRAMES); f < count; f++) {
+            int at = (int) (f % RECENT_FRAMES) * COLUMNS;
+            for (int c = 0; c < COLUMNS; c++) {
+                if (c > 0) out.append(',');
+                out.append(Long.toString(recent[at + c] / 1000));
+            }
+            out.append('\n');
+        }
+    }
+
+    private static void writeSummary(Appendable out, String name, TimeHistogram h) throws IOException {
+        out.append(name).append(',').append(Long.toString(h.getCount()))
+                .append(',').append(Long.toString(h.getAverageNanos() / 1000))
+                .append(',').append(Long.toString(h.percentileNanos(50) / 1000))
+                .append(',').append(Long.toString(h.percentileNanos(95) / 1000))
+                .append(',').append(Long.toString(h.percentileNanos(99) / 1000))
+                .append(',').append(Long.toString(h.getMaxNanos() / 1000)).append('\n');
+    }
+
+    private void resetPhases(boolean render) {
+        for (Phase phase : Phase.values()) {
+            if (phase.isRenderPhase() == render) phases[phase.ordinal()].reset();
+        }
+    }
+}
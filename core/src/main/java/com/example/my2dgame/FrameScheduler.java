@@ -0,0 +1,85 @@
+package com.example.my2dgame;
+
+/**
+ * Decides when the game threads have work. While the game is running they tick continuously,
+ * optionally with the render rate capped below the display rate to save battery. On static
+ * screens (end screens) the scheduler goes idle and the threads block in {@link #awaitWork}
+ * until something asks for a frame: a touch, a state change, a new surface or late assets.
+ *
+ * <p>Requests are counted in a generation number so any number of threads can wait: each one
+ * remembers the generation it last handled and wakes once it moves on. Thread-safe.
+ */
+public class FrameScheduler {
+    /** A frame may run this early against its capped slot, so vsync jitter doesn't skip it. */
+    static final long CAP_SLACK_NANOS = 2_000_000;
+
+    private final Object lock = new Object();
+    private long generation;
+    private boolean idle;
+    private volatile int frameRateCap;
+    // Used by the render thread only; the grid is laid out for appliedCap and restarts when the cap changes
+    private int appliedCap;
+    private long nextFrameNanos;
+
+    /** Static screen: stop ticking and only wake on requests. */
+    public void setIdle(boolean idle) {
+        synchronized (lock) {
+            if (this.idle == idle) return;
+            this.idle = idle;
+            generation++;
+            lock.notifyAll();
+        }
+    }
+
+    public boolean isIdle() {
+        synchronized (lock) { return idle; }
+    }
+
+    /** Wakes every thread waiting in {@link #awaitWork}. Cheap enough to call on every input event. */
+    public void requestFrame() {
+        synchronized (lock) {
+            generation++;
+            lock.notifyAll();
+        }
+    }
+
+    public long getGeneration() {
+        synchronized (lock) { return generation; }
+    }
+
+    /**
+     * While idle, blocks until the generation moves past {@code seen}; returns the new one
+     * straight away otherwise. Pass the result back in on the next call.
+     */
+    public long awaitWork(long seen) throws InterruptedException {
+        synchronized (lock) {
+            while (idle && generation == seen) lock.wait();
+            return generation;
+        }
+    }
+
+    /** Caps the render rate to {@code fps} (e.g. 30 or 45 for battery saving); 0 removes the cap. Takes effect at the next {@link #isFrameDue}. */
+    public void setFrameRateCap(int fps) {
+        frameRateCap = Math.max(fps, 0);
+    }
+
+    public int getFrameRateCap() { return frameRateCap; }
+
+    /**
+     * Whether a frame should be drawn at {@code nowNanos} under the cap. Slots are kept on a
+     * fixed grid, so a 45 fps cap on a 60 Hz display draws 3 vsyncs out of 4; after a stall
+     * the grid restarts instead of bursting to catch up.
+     */
+    public boolean isFrameDue(long nowNanos) {
+        int cap = frameRateCap;
+        if (cap != appliedCap) {
+            appliedCap = cap;
+            nextFrameNanos = 0;
+        }
+        if (cap <= 0) return true;
+        if (nowNanos < nextFrameNanos - CAP_SLACK_NANOS) return false;
+        long interval = 1_000_000_000L / cap;
+        nextFrameNanos = nowNanos - nextFrameNanos > interval ? nowNanos + interval : nextFrameNanos + interval;
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.my2dgame;
+
+/**
+ * Wall-clock source for {@link GameWorld}'s timers (round length, spawn intervals). The game
+ * uses {@link #SYSTEM}; tests and headless runs pass a {@link ManualClock} so a session plays
+ * out the same way every time, as fast as the machine can step it.
+ */
+public interface GameClock {
+    GameClock SYSTEM = System::currentTimeMillis;
+
+    long nowMillis();
+}
@@ -0,0 +1,108 @@
+package com.example.my2dgame;
+
+/**
+ * Base for everything that lives in the game world. Objects carry no bitmaps: the world only
+ * needs their size, and the renderer maps sprite ids to images.
+ */
+public class GameObject {
+    // Vị trí, vận tốc, kích thước... nằm trong các cột của ComponentStore; đối tượng chỉ giữ số hàng của mình
+    protected final ComponentStore components;
+    protected final int row;
+    protected float hitboxScale = 1f;
+
+    /** A standalone object with a one-row store of its own. */
+    public GameObject(float x, float y, int width, int height) {
+        this(new ComponentStore(1), x, y, width, height);
+    }
+
+    /** An object whose state lives in a row of a shared store, so systems can update it in bulk. */
+    public GameObject(ComponentStore components, float x, float y, int width, int height) {
+        this.components = components;
+        this.row = components.addRow();
+        components.spriteId[row] = SpriteIds.NONE;
+        set(x, y, width, height);
+    }
+
+    /** Puts a pooled object back into play; the pooled counterpart of the constructor. */
+    protected void set(float x, float y, int width, int height) {
+        ComponentStore c = components;
+        c.posX[row] = x;
+        c.posY[row] = y;
+        c.prevX[row] = x;
+        c.prevY[row] = y;
+        c.velX[row] = 0;
+        c.velY[row] = 0;
+        c.lifespan[row] = -1;
+        c.animation[row] = SpriteAnimations.NONE;
+        c.active[row] = true;
+        c.width[row] = width;
+        c.height[row] = height;
+        updateHitbox();
+    }
+
+    /**
+     * Called by {@link ObjectPool#release} before the object is parked in its pool. Restores
+     * defaults and deactivates the row so the systems skip it until the next spawn.
+     * Subclasses reset their own fields and must call super.
+     */
+    public void reset() {
+        set(0, 0, 0, 0);
+        components.speed[row] = 0;
+        components.active[row] = false;
+    }
+
+    protected void setHitboxScale(float scale) {
+        hitboxScale = scale;
+        updateHitbox();
+    }
+
+    /** Refreshes the hitbox columns; call when the size or scale changes. */
+    protected void updateHitbox() {
+        ComponentStore c = components;
+        int width = c.width[row], height = c.height[row];
+        c.hitboxLeft[row] = Collision.startOffset(width, hitboxScale);
+        c.hitboxRight[row] = Collision.endOffset(width, hitboxScale);
+        c.hitboxTop[row] = Collision.startOffset(height, hitboxScale);
+        c.hitboxBottom[row] = Collision.endOffset(height, hitboxScale);
+    }
+
+    /**
+     * Plays one of the {@link SpriteAnimations} from {@code nowMillis} instead of the static sprite.
+     * Already playing it: keeps its clock, so calling this every step doesn't restart the cycle.
+     */
+    public void startAnimation(int animation, long nowMillis) {
+        if (components.animation[row] == animation) return;
+        components.animation[row] = animation;
+        components.animationStart[row] = nowMillis;
+    }
+
+    /** Back to the static sprite. */
+    public void stopAnimation() { components.animation[row] = SpriteAnimations.NONE; }
+
+    public boolean isAnimating() { return components.animation[row] != SpriteAnimations.NONE; }
+
+    /** The sprite to draw at {@code nowMillis}: the current animation frame, or the static sprite. */
+    public int getSpriteAt(long nowMillis) { return components.spriteAt(row, nowMillis); }
+
+    /** Called at the start of every fixed simulation step, before the object moves. */
+    public void storePreviousPosition() {
+        components.prevX[row] = components.posX[row];
+        components.prevY[row] = components.posY[row];
+    }
+
+    /** Position between the previous and current step; alpha is in [0, 1]. */
+    public float getRenderX(float alpha) { return getPrevX() + (getX() - getPrevX()) * alpha; }
+    public float getRenderY(float alpha) { return getPrevY() + (getY() - getPrevY()) * alpha; }
+    public float getX() { return components.posX[row]; }
+    public float getY() { return components.posY[row]; }
+    public float getPrevX() { return components.prevX[row]; }
+    public float getPrevY() { return components.prevY[row]; }
+    public float getWidth() { return components.width[row]; }
+    public float getHeight() { return components.height[row]; }
+    public void setX(float x) { components.posX[row] = x; }
+    public void setY(float y) { components.posY[row] = y; }
+    public boolean isActive() { return components.active[row]; }
+    public void setActive(boolean active) { components.active[row] = active; }
+    public ComponentStore getComponents() { return components; }
+    public int getRow() { return row; }
+}
@@ -0,0 +1,20 @@
+package com.example.my2dgame;
+
+/**
+ * A backend that turns published {@link WorldSnapshot}s into pixels. The render thread calls
+ * {@link #renderFrame} once per frame; implementations decide where the pixels go (a software
+ * or hardware-accelerated surface canvas on Android, an offscreen buffer in tests).
+ */
+public interface GameRenderer {
+    /**
+     * Draws the snapshot, with sprites interpolated {@code alpha} of the way from their previous
+     * to their current position. Returns false if the target wasn't ready and nothing was drawn.
+     */
+    boolean renderFrame(WorldSnapshot snapshot, float alpha);
+
+    /** Short name for logs, e.g. "software canvas". */
+    String getName();
+
+    /** Frees whatever the backend holds; it isn't used again afterwards. */
+    void release();
+}
@@ -0,0 +1,338 @@
+package com.example.my2dgame;
+
+import java.util.Random;
+
+/**
+ * The whole game simulation with no platform dependencies: spawn timers, movement, collisions,
+ * scoring, item effects and win/lose. The platform layer sets the viewport and sprite sizes,
+ * calls {@link #step()} at a fixed rate, forwards input, copies state out with
+ * {@link #writeSnapshot(WorldSnapshot)} and reacts to {@link Listener} events (sounds, music,
+ * saving scores).
+ *
+ * <p>Time comes from the injected {@link GameClock} and randomness from the injected
+ * {@link Random}, so a world built with a {@link ManualClock} and a seeded Random plays out the
+ * same on every run. Not thread-safe: drive it from one thread.
+ */
+public class GameWorld {
+
+    /** Events the platform layer turns into sound, music and storage. Called on the stepping thread. */
+    public interface Listener {
+        void onAttack(ProjectileType type);
+        void onItemPickedUp(ItemType type);
+        void onGameOver(int gold);
+        void onGameWon(int gold);
+    }
+
+    public static final long ENEMY_SPAWN_INTERVAL = 5000;
+    public static final long ITEM_SPAWN_INTERVAL = 8000;
+    public static final long GAME_DURATION_SECONDS = 60;
+    static final int MELEE_ATTACK_DURATION_FRAMES = 5;
+    static final float PROJECTILE_SPEED = 15f;
+    static final float ENEMY_SPEED = 5;
+    public static final float BACKGROUND_SPEED = 2;
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+
+    private final GameClock clock;
+    private final Random random;
+    private final Listener listener;
+    private long seed; // Last seed passed to restart(long), for replays
+    private ReplayRecorder recorder;
+    private final SpriteSizes sprites = new SpriteSizes();
+    private int width, height;
+    private float playerStartX = 200, playerStartY = 300, playerStartSpeed = 5;
+
+    private Player player;
+    // Recycled entities; everything removed from the lists below goes back here
+    private final EntityPools pools = new EntityPools();
+
+    // Entity lists: unordered, O(1) removal; removals are marked during a step and flushed at its end
+    private final EntityList<Enemy> enemies = new EntityList<>(64, pools.enemies::release);
+    private final EntityList<Projectile> projectiles = new EntityList<>(64, pools::releaseProjectile);
+    private final EntityList<CollisionEffect> collisionEffects = new EntityList<>(64, pools.effects::release);
+    private final EntityList<Item> items = new EntityList<>(8, pools.items::release);
+
+    // Collision broad phase, rebuilt every step; ids are rows of the pools' component stores
+    private static final float COLLISION_CELL_SIZE = 128;
+    private final SpatialHash enemyGrid = new SpatialHash(COLLISION_CELL_SIZE, 1024);
+    private final SpatialHash itemGrid = new SpatialHash(COLLISION_CELL_SIZE, 64);
+    // Enemy steering and projectile hits; PARALLEL spreads them over the cores the two game threads leave free
+    private final CombatSystem combat = new CombatSystem(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 2)));
+    private final CombatSystem.HitListener onEnemyHit = this::applyEnemyHit;
+    private final ParallaxScroller background = new ParallaxScroller(BACKGROUND_SPEED);
+
+    // Timing
+    private long lastEnemySpawnTime = 0, lastItemSpawnTime = 0, gameStartTime;
+    private long lastStepMillis; // Clock time of the latest step; animation frames are picked for it
+    private long remainingTimeSeconds = GAME_DURATION_SECONDS;
+
+    // Game State
+    private boolean isGameOver = false, isGameWon = false;
+
+    public GameWorld(GameClock clock, Random random, Listener listener) {
+        this.clock = clock;
+        this.random = random;
+        this.listener = listener;
+    }
+
+    /** Size of the playfield in pixels. */
+    public void setViewport(int width, int height) {
+        this.width = width;
+        this.height = height;
+        if (recorder != null) recorder.viewport(width, height);
+    }
+
+    /**
+     * Records the round to {@code recorder} (null stops recording; closing it is up to the caller).
+     * Attach straight after {@link #restart(long)}, before the first step, so the replay starts
+     * from the same seed and setup.
+     */
+    public void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+        if (recorder != null) recorder.writeHeader(seed, gameStartTime, width, height, playerStartX, playerStartY, playerStartSpeed, sprites);
+    }
+
+    /** Sprite sizes to spawn with; fill in before {@link #restart()}. */
+    public SpriteSizes getSprites() { return sprites; }
+
+    /** Background layers and their scroll speeds; one layer at the default speed unless the platform sets others. */
+    public ParallaxScroller getBackground() { return background; }
+
+    public void setPlayerStart(float x, float y, float speed) {
+        playerStartX = x;
+        playerStartY = y;
+        playerStartSpeed = speed;
+    }
+
+    public void setUpdateMode(UpdateMode mode) { combat.setMode(mode); }
+
+    /** Stops the parallel workers, if any; the next parallel step starts new ones. */
+    public void shutdown() { combat.shutdown(); }
+
+    /** Reseeds the world's Random first, so the round can be replayed from {@code seed}. */
+    public void restart(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+        restart();
+    }
+
+    public void restart() {
+        isGameOver = false; isGameWon = false;
+        player = new Player(playerStartX, playerStartY, sprites.width(SpriteIds.PLAYER), sprites.height(SpriteIds.PLAYER), playerStartSpeed);
+        enemies.clear(); projectiles.clear(); items.clear(); collisionEffects.clear();
+        background.reset();
+        long now = clock.nowMillis();
+        gameStartTime = now; lastEnemySpawnTime = now; lastItemSpawnTime = now; lastStepMillis = now;
+        remainingTimeSeconds = GAME_DURATION_SECONDS;
+    }
+
+    /** Advances the simulation by one fixed step. */
+    public void step() {
+        if (isGameOver || isGameWon) return;
+
+        ComponentStore enemyRows = pools.enemyComponents, projectileRows = pools.projectileComponents, itemRows = pools.itemComponents;
+        if (player != null) player.storePreviousPosition();
+        MovementSystem.storePreviousPositions(enemyRows);
+        MovementSystem.storePreviousPositions(projectileRows);
+        MovementSystem.storePreviousPositions(itemRows);
+        background.storePreviousOffsets();
+
+        long currentTime = clock.nowMillis();
+        lastStepMillis = currentTime;
+        if (recorder != null) {
+            if (player != null) recorder.step(currentTime, player.getMovementBits(), player.getStickX(), player.getStickY());
+            else recorder.step(currentTime, 0, 0, 0);
+        }
+        remainingTimeSeconds = GAME_DURATION_SECONDS - ((currentTime - gameStartTime) / 1000);
+
+        if (remainingTimeSeconds <= 0) {
+            isGameWon = true;
+            if (listener != null) listener.onGameWon(player != null ? player.getGold() : 0);
+            return;
+        }
+
+        if (currentTime - lastEnemySpawnTime >= ENEMY_SPAWN_INTERVAL) { spawnEnemies(); lastEnemySpawnTime = currentTime; }
+        if (currentTime - lastItemSpawnTime >= ITEM_SPAWN_INTERVAL) { spawnRandomItem(); lastItemSpawnTime = currentTime; }
+
+        if (player != null) {
+            player.update(width, height);
+            player.animate(currentTime, sprites);
+            if (player.getHealth() <= 0) {
+                isGameOver = true;
+                if (listener != null) listener.onGameOver(player.getGold());
+            }
+        }
+
+        combat.steerEnemies(enemyRows, player != null ? player.getX() : 0, player != null ? player.getY() : 0);
+        MovementSystem.deactivateStranded(enemyRows);
+        CollisionSystem.index(enemyRows, enemyGrid);
+
+        if (player != null) {
+            int hitCount = enemyGrid.query(player);
+            int[] hits = enemyGrid.results();
+            for (int k = 0; k < hitCount; k++) {
+                int e = hits[k];
+                if (!Collision.overlaps(player.getComponents(), player.getRow(), enemyRows, e)) continue;
+                enemyRows.active[e] = false;
+                if (!player.isInvincible()) {
+                    if (!player.isShieldActive()) player.applyGenericEffect("health", -10);
+                    else player.applyGenericEffect("health", -5);
+                }
+                spawnEffect(enemyRows.posX[e], enemyRows.posY[e]);
+            }
+        }
+
+        combat.moveProjectilesAndResolveHits(projectileRows, enemyRows, enemyGrid, width, onEnemyHit);
+        LifetimeSystem.tick(projectileRows);
+        LifetimeSystem.tick(pools.effectComponents);
+
+        MovementSystem.integrate(itemRows);
+        MovementSystem.deactivateOffscreen(itemRows, width);
+        if (player != null && !items.isEmpty()) {
+            CollisionSystem.index(itemRows, itemGrid);
+            int hitCount = itemGrid.query(player);
+            int[] hits = itemGrid.results();
+            for (int k = 0; k < hitCount; k++) {
+                int r = hits[k];
+                if (!Collision.boundsOverlap(player.getComponents(), player.getRow(), itemRows, r)) continue;
+                itemRows.active[r] = false;
+                ItemType type = ITEM_TYPES[itemRows.kind[r]];
+                player.applyItemEffect(type);
+                if (listener != null) listener.onItemPickedUp(type);
+                spawnEffect(itemRows.posX[r], itemRows.posY[r]);
+            }
+        }
+
+        removeInactive(enemies);
+        removeInactive(projectiles);
+        removeInactive(collisionEffects);
+        removeInactive(items);
+
+        background.scroll(width);
+    }
+
+    /** Fires the player's current weapon. */
+    public void shoot() {
+        if (player == null) return;
+        if (recorder != null) recorder.shoot(player.getCurrentWeapon());
+        Projectile p = player.createAttack(sprites, PROJECTILE_SPEED, pools);
+        if (p == null) return;
+        ProjectileType type = p.getType();
+        if (type == ProjectileType.PLAYER_SUPER_BOMB) {
+            triggerSuperBombEffect();
+            pools.releaseProjectile(p); // The super bomb is an instant effect, nothing stays on screen
+        } else {
+            // One step more than the duration: the wave still hits on the step it runs out, as it always has
+            if (type == ProjectileType.PLAYER_SWORD_WAVE) p.setLifespan(MELEE_ATTACK_DURATION_FRAMES + 1);
+            projectiles.add(p);
+        }
+        if (listener != null) listener.onAttack(type);
+    }
+
+    /** Copies everything the renderer needs into {@code s}; call between its beginWrite and publish. */
+    public void writeSnapshot(WorldSnapshot s) {
+        long now = lastStepMillis;
+        s.setCullBounds(width, height);
+        if (player != null) s.addSprite(player.getSpriteAt(now), player);
+        s.addSprites(pools.enemyComponents, now);
+        s.addSprites(pools.projectileComponents, now);
+        s.addSprites(pools.itemComponents, now);
+        s.addSprites(pools.effectComponents, now);
+
+        s.backgroundLayerCount = background.getLayerCount();
+        for (int i = 0; i < s.backgroundLayerCount; i++) {
+            s.prevBackgroundOffsetX[i] = background.getPrevOffset(i);
+            s.backgroundOffsetX[i] = background.getOffset(i);
+        }
+        s.gameOver = isGameOver;
+        s.gameWon = isGameWon;
+        s.health = player != null ? player.getHealth() : 0;
+        s.armor = player != null ? player.getArmor() : 0;
+        s.gold = player != null ? player.getGold() : 0;
+        s.weapon = player != null ? player.getCurrentWeapon() : null;
+        s.invincible = player != null && player.isInvincible();
+        s.remainingTimeSeconds = remainingTimeSeconds;
+    }
+
+    private void spawnRandomItem() {
+        if (height <= 0 || items.size() > 0) return;
+        ItemType type = ITEM_TYPES[random.nextInt(ITEM_TYPES.length)];
+        int spriteId = SpriteIds.forItem(type);
+        if (sprites.has(spriteId)) {
+            int w = sprites.width(spriteId), h = sprites.height(spriteId);
+            items.add(pools.items.acquire().init(width, random.nextFloat() * (height - h), w, h, type));
+        }
+    }
+
+    private void spawnEnemies() {
+        if (!sprites.has(SpriteIds.ENEMY) || height <= 0) return;
+        int w = sprites.width(SpriteIds.ENEMY), h = sprites.height(SpriteIds.ENEMY);
+        for (int i = 0; i < random.nextInt(3) + 1; i++) {
+            enemies.add(pools.enemies.acquire().init(width, random.nextFloat() * (height - h), w, h, ENEMY_SPEED));
+        }
+    }
+
+    /**
+     * Tops the world up to {@code enemyCount} enemies, {@code projectileCount} fireballs and one
+     * item, placed with the world's Random; tests and benchmarks use it to hold a steady load.
+     * Enemies start on the right half of the playfield, fireballs on the left half.
+     */
+    void fill(int enemyCount, int projectileCount) {
+        if (height <= 0) return;
+        if (sprites.has(SpriteIds.ENEMY)) {
+            int w = sprites.width(SpriteIds.ENEMY), h = sprites.height(SpriteIds.ENEMY);
+            while (enemies.size() < enemyCount) {
+                float x = width / 2f + random.nextFloat() * (width / 2f);
+                enemies.add(pools.enemies.acquire().init(x, random.nextFloat() * (height - h), w, h, ENEMY_SPEED));
+            }
+        }
+        if (sprites.has(SpriteIds.FIREBALL)) {
+            int w = sprites.width(SpriteIds.FIREBALL), h = sprites.height(SpriteIds.FIREBALL);
+            while (projectiles.size() < projectileCount) {
+                float x = random.nextFloat() * (width / 2f);
+                projectiles.add(pools.projectiles.acquire().init(x, random.nextFloat() * (height - h), w, h, PROJECTILE_SPEED, ProjectileType.PLAYER_FIREBALL));
+            }
+        }
+        spawnRandomItem();
+    }
+
+    private void spawnEffect(float x, float y) {
+        if (sprites.has(SpriteIds.EXPLOSION)) {
+            collisionEffects.add(pools.effects.acquire().init(x, y, sprites.width(SpriteIds.EXPLOSION), sprites.height(SpriteIds.EXPLOSION)));
+        }
+    }
+
+    private void triggerSuperBombEffect() {
+        if (!sprites.has(SpriteIds.EXPLOSION) || enemies.isEmpty()) return;
+        int enemiesCleared = enemies.size();
+        for (int i = 0; i < enemiesCleared; i++) spawnEffect(enemies.get(i).getX(), enemies.get(i).getY());
+        enemies.clear();
+        if (player != null) player.applyGenericEffect("gold", enemiesCleared * 5);
+    }
+
+    // Kills arrive here in the same order in both update modes
+    private void applyEnemyHit(int enemyRow, int projectileRow) {
+        ComponentStore enemyRows = pools.enemyComponents;
+        spawnEffect(enemyRows.posX[enemyRow], enemyRows.posY[enemyRow]);
+        if (player == null) return;
+        boolean sword = pools.projectileComponents.kind[projectileRow] == ProjectileType.PLAYER_SWORD_WAVE.ordinal();
+        player.applyGenericEffect("gold", sword ? 15 : 10);
+    }
+
+    // The systems only clear the active flag; this hands those entities back to their pools
+    private static void removeInactive(EntityList<? extends GameObject> list) {
+        for (int i = 0; i < list.size(); i++) {
+            if (!list.get(i).isActive()) list.markForRemoval(i);
+        }
+        list.flushRemovals();
+    }
+
+    public Player getPlayer() { return player; }
+    public boolean isGameOver() { return isGameOver; }
+    public boolean isGameWon() { return isGameWon; }
+    public long getRemainingTimeSeconds() { return remainingTimeSeconds; }
+    public int getEnemyCount() { return enemies.size(); }
+    public int getProjectileCount() { return projectiles.size(); }
+    public int getItemCount() { return items.size(); }
+    public int getEffectCount() { return collisionEffects.size(); }
+    public String describePoolStats() { return pools.describeStats(); }
+}
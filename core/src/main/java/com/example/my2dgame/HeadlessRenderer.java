@@ -0,0 +1,74 @@
+package com.example.my2dgame;
+
+import java.util.Arrays;
+
+/**
+ * Reference {@link GameRenderer} that draws into an ARGB int[] instead of a surface, for JVM
+ * tests and tools. Sprites are solid rectangles in {@link #colorOf(int) one colour per id},
+ * interpolated and clipped like the real backends; the end screens are a flat fill. It also
+ * counts pixels written, a rough measure of a scene's fill rate.
+ */
+public class HeadlessRenderer implements GameRenderer {
+    public static final int BACKGROUND_COLOR = 0xFF000000;
+    public static final int END_SCREEN_COLOR = 0xFF202020;
+
+    private final int width, height;
+    private final int[] pixels;
+    private final SpriteSizes sizes;
+    private long framesRendered = 0, pixelsWritten = 0;
+    private int lastSpritesDrawn = 0;
+
+    public HeadlessRenderer(int width, int height, SpriteSizes sizes) {
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+        this.sizes = sizes;
+    }
+
+    @Override
+    public boolean renderFrame(WorldSnapshot snapshot, float alpha) {
+        boolean endScreen = snapshot.gameOver || snapshot.gameWon;
+        Arrays.fill(pixels, endScreen ? END_SCREEN_COLOR : BACKGROUND_COLOR);
+        pixelsWritten += pixels.length;
+        lastSpritesDrawn = 0;
+        if (!endScreen) {
+            for (int i = 0; i < snapshot.spriteCount; i++) {
+                int id = snapshot.spriteId[i];
+                if (!sizes.has(id)) continue;
+                float x = snapshot.prevX[i] + (snapshot.x[i] - snapshot.prevX[i]) * alpha;
+                float y = snapshot.prevY[i] + (snapshot.y[i] - snapshot.prevY[i]) * alpha;
+                fillRect((int) Math.floor(x), (int) Math.floor(y), sizes.width(id), sizes.height(id), colorOf(id));
+                lastSpritesDrawn++;
+            }
+        }
+        framesRendered++;
+        return true;
+    }
+
+    private void fillRect(int left, int top, int w, int h, int color) {
+        int x0 = Math.max(0, left), x1 = Math.min(width, left + w);
+        int y0 = Math.max(0, top), y1 = Math.min(height, top + h);
+        if (x0 >= x1 || y0 >= y1) return;
+        for (int y = y0; y < y1; y++) Arrays.fill(pixels, y * width + x0, y * width + x1, color);
+        pixelsWritten += (long) (x1 - x0) * (y1 - y0);
+    }
+
+    /** Opaque colour the sprite id is drawn with. */
+    public static int colorOf(int spriteId) {
+        return 0xFF000000 | ((spriteId + 1) * 0x3F1F7F & 0xFFFFFF);
+    }
+
+    public int getPixel(int x, int y) { return pixels[y * width + x]; }
+    public int[] getPixels() { return pixels; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public long getFramesRendered() { return framesRendered; }
+    public long getPixelsWritten() { return pixelsWritten; }
+    public int getLastSpritesDrawn() { return lastSpritesDrawn; }
+
+    @Override
+    public String getName() { return "headless " + width + "x" + height; }
+
+    @Override
+    public void release() {}
+}
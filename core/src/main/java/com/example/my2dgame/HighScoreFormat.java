@@ -0,0 +1,105 @@
+package com.example.my2dgame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+/**
+ * Binary high-score file: magic "HSCR", a version byte, the entry count, then each entry as
+ * a modified-UTF-8 name and a 4-byte score, best first, followed by a CRC32 of everything before
+ * it. Readers reject other magics, newer versions and bad checksums, so a torn or foreign file
+ * is treated as missing rather than half-read. Also parses the two SharedPreferences formats
+ * the game used before, for migration.
+ */
+public final class HighScoreFormat {
+    static final int MAGIC = 0x48534352; // "HSCR"
+    static final int VERSION = 1;
+
+    private HighScoreFormat() {}
+
+    public static byte[] write(HighScoreTable table) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            synchronized (table) {
+                out.writeShort(table.getCount());
+                for (int i = 0; i < table.getCount(); i++) {
+                    out.writeUTF(table.getName(i));
+                    out.writeInt(table.getScore(i));
+                }
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // In-memory streams don't throw
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Reads {@code data} into {@code table}; throws IOException, leaving the table unchanged, if it isn't a valid file. */
+    public static void read(byte[] data, HighScoreTable table) throws IOException {
+        if (data.length < 4 + 1 + 2 + 4) throw new IOException("High score file too short: " + data.length + " bytes");
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        in.skipBytes(data.length - 4);
+        if (in.readInt() != (int) crc.getValue()) throw new IOException("High score file checksum mismatch");
+
+        in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4));
+        if (in.readInt() != MAGIC) throw new IOException("Not a high score file");
+        int version = in.readUnsignedByte();
+        if (version > VERSION) throw new IOException("High score file version " + version + " is newer than " + VERSION);
+        int count = in.readUnsignedShort();
+        String[] names = new String[count];
+        int[] scores = new int[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = in.readUTF();
+            scores[i] = in.readInt();
+        }
+        for (int i = 0; i < count; i++) table.offer(names[i], scores[i]);
+    }
+
+    /** The first format: scores only, comma-separated ("500,400,"). Unparseable entries are skipped. */
+    public static void readLegacyScores(String csv, String name, HighScoreTable table) {
+        if (csv == null) return;
+        int start = 0;
+        while (start < csv.length()) {
+            int end = csv.indexOf(',', start);
+            if (end < 0) end = csv.length();
+            Integer score = parseScore(csv, start, end);
+            if (score != null) table.offer(name, score);
+            start = end + 1;
+        }
+    }
+
+    /** The high-score screen's format: "name:score;" entries. Unparseable entries are skipped. */
+    public static void readLegacyNamedScores(String entries, HighScoreTable table) {
+        if (entries == null) return;
+        int start = 0;
+        while (start < entries.length()) {
+            int end = entries.indexOf(';', start);
+            if (end < 0) end = entries.length();
+            int colon = entries.lastIndexOf(':', end - 1);
+            if (colon >= start) {
+                Integer score = parseScore(entries, colon + 1, end);
+                if (score != null) table.offer(entries.substring(start, colon), score);
+            }
+            start = end + 1;
+        }
+    }
+
+    private static Integer parseScore(String s, int start, int end) {
+        String digits = s.substring(start, end).trim();
+        if (digits.isEmpty()) return null;
+        try {
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.my2dgame;
+
+/**
+ * The top {@code capacity} scores, best first, in two parallel arrays. A new score is put in
+ * place by shifting the lower entries down one slot, so recording a score never re-sorts the
+ * table. Equal scores keep their arrival order. Thread-safe.
+ */
+public class HighScoreTable {
+    private final String[] names;
+    private final int[] scores;
+    private int count;
+
+    public HighScoreTable(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        names = new String[capacity];
+        scores = new int[capacity];
+    }
+
+    /** Inserts the score if it makes the table; returns its rank (0 = best) or -1 if it didn't. */
+    public synchronized int offer(String name, int score) {
+        int rank = count;
+        while (rank > 0 && scores[rank - 1] < score) rank--;
+        if (rank == scores.length) return -1;
+        int moved = Math.min(count, scores.length - 1) - rank;
+        System.arraycopy(scores, rank, scores, rank + 1, moved);
+        System.arraycopy(names, rank, names, rank + 1, moved);
+        scores[rank] = score;
+        names[rank] = name != null ? name : "";
+        if (count < scores.length) count++;
+        return rank;
+    }
+
+    /** Whether {@code score} would make the table. */
+    public synchronized boolean qualifies(int score) {
+        return count < scores.length || score > scores[count - 1];
+    }
+
+    public synchronized void clear() {
+        java.util.Arrays.fill(names, null);
+        count = 0;
+    }
+
+    public synchronized int getCount() { return count; }
+    public int getCapacity() { return scores.length; }
+    public synchronized int getScore(int rank) { return scores[rank]; }
+    public synchronized String getName(int rank) { return names[rank]; }
+
+    /** Copies up to {@code out.length} scores, best first, and returns how many were copied. */
+    public synchronized int copyScores(int[] out) {
+        int n = Math.min(count, out.length);
+        System.arraycopy(scores, 0, out, 0, n);
+        return n;
+    }
+}
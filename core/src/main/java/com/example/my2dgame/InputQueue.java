@@ -0,0 +1,122 @@
+package com.example.my2dgame;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free ring of input commands from one producer (the UI thread) to one consumer (the
+ * simulation thread), which drains it at the start of each tick. Commands live in preallocated
+ * slots that are filled in place, so queuing input allocates nothing; a producer that finds the
+ * ring full drops the command and counts it instead of waiting.
+ *
+ * <p>Each index is only ever written by its own side. A slot is published by the lazySet of the
+ * tail after its fields are written, and handed back by the lazySet of the head after it has
+ * been handled, so the fields themselves need no synchronization. The producer caches the head
+ * and only rereads it when the ring looks full.
+ */
+public class InputQueue {
+    public enum Kind { MOVE, ATTACK, RESTART, TOGGLE_MUSIC, TOGGLE_SOUND }
+
+    /** One queued input. Only valid inside {@link Handler#onCommand}; the slot is reused afterwards. */
+    public static final class Command {
+        Kind kind;
+        int movementBits;   // MOVE: Player.MOVE_* bits held after the event
+        int stickX, stickY; // MOVE: analog stick, see Player#setStick
+        WeaponType weapon;  // ATTACK
+        long eventNanos;    // When the input happened, on the System.nanoTime() clock
+
+        public Kind getKind() { return kind; }
+        public int getMovementBits() { return movementBits; }
+        public int getStickX() { return stickX; }
+        public int getStickY() { return stickY; }
+        public WeaponType getWeapon() { return weapon; }
+        public long getEventNanos() { return eventNanos; }
+    }
+
+    public interface Handler {
+        void onCommand(Command command);
+    }
+
+    private final Command[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Next slot to handle; written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to fill; written by the producer
+    private long cachedHead; // Producer only
+    private volatile int dropped;
+
+    /** {@code capacity} is rounded up to a power of two. */
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        slots = new Command[size];
+        for (int i = 0; i < size; i++) slots[i] = new Command();
+        mask = size - 1;
+    }
+
+    public int getCapacity() { return slots.length; }
+
+    /** Commands dropped because the ring was full. */
+    public int getDroppedCount() { return dropped; }
+
+    /** Producer: the movement buttons held now. */
+    public boolean offerMove(int movementBits, long eventNanos) {
+        return offer(Kind.MOVE, movementBits, 0, 0, null, eventNanos);
+    }
+
+    /** Producer: the movement buttons held now and the analog stick position. */
+    public boolean offerMove(int movementBits, int stickX, int stickY, long eventNanos) {
+        return offer(Kind.MOVE, movementBits, stickX, stickY, null, eventNanos);
+    }
+
+    /** Producer: switch to {@code weapon} and fire it. */
+    public boolean offerAttack(WeaponType weapon, long eventNanos) {
+        return offer(Kind.ATTACK, 0, 0, 0, weapon, eventNanos);
+    }
+
+    /** Producer: RESTART, TOGGLE_MUSIC or TOGGLE_SOUND. */
+    public boolean offer(Kind kind, long eventNanos) {
+        return offer(kind, 0, 0, 0, null, eventNanos);
+    }
+
+    private boolean offer(Kind kind, int movementBits, int stickX, int stickY, WeaponType weapon, long eventNanos) {
+        long t = tail.get();
+        if (t - cachedHead == slots.length) {
+            cachedHead = head.get();
+            if (t - cachedHead == slots.length) {
+                dropped++; // Only the producer writes it
+                return false;
+            }
+        }
+        Command c = slots[(int) t & mask];
+        c.kind = kind;
+        c.movementBits = movementBits;
+        c.stickX = stickX;
+        c.stickY = stickY;
+        c.weapon = weapon;
+        c.eventNanos = eventNanos;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /** Consumer: hands every command queued so far to {@code handler}, oldest first; returns how many. */
+    public int drain(Handler handler) {
+        long h = head.get();
+        long end = tail.get();
+        if (h == end) return 0;
+        for (long i = h; i < end; i++) {
+            Command c = slots[(int) i & mask];
+            handler.onCommand(c);
+            c.weapon = null;
+        }
+        head.lazySet(end);
+        return (int) (end - h);
+    }
+
+    /** Consumer: throws away everything queued so far, e.g. input from before a restart. */
+    public void clear() {
+        head.lazySet(tail.get());
+    }
+
+    /** Commands waiting; exact only when called from one of the two threads while the other is idle. */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+}
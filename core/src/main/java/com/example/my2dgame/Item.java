@@ -0,0 +1,38 @@
+package com.example.my2dgame;
+
+public class Item extends GameObject {
+    static final float DRIFT_SPEED = 3f; // Vật phẩm trôi từ phải sang trái
+    private ItemType type;
+
+    public Item(float x, float y, int width, int height, ItemType type) {
+        this(new ComponentStore(1), x, y, width, height, type);
+    }
+
+    public Item(ComponentStore components, float x, float y, int width, int height, ItemType type) {
+        super(components, x, y, width, height);
+        setType(type);
+    }
+
+    public Item init(float x, float y, int width, int height, ItemType type) {
+        set(x, y, width, height);
+        setType(type);
+        return this;
+    }
+
+    private void setType(ItemType type) {
+        this.type = type;
+        components.velX[row] = -DRIFT_SPEED;
+        components.kind[row] = type.ordinal();
+        components.spriteId[row] = SpriteIds.forItem(type);
+    }
+
+    /** Single-item version of the movement GameWorld runs through {@link MovementSystem}. */
+    public void update(int screenWidth, int screenHeight) {
+        MovementSystem.integrate(components, row);
+        MovementSystem.deactivateOffscreen(components, row, screenWidth);
+    }
+
+    public ItemType getType() {
+        return type;
+    }
+}
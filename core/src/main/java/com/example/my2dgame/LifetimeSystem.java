@@ -0,0 +1,19 @@
+package com.example.my2dgame;
+
+/**
+ * Counts down the lifespan column. Rows with a lifespan of -1 live until something else
+ * deactivates them; any other row is deactivated on the step its lifespan reaches zero.
+ */
+public final class LifetimeSystem {
+    private LifetimeSystem() {}
+
+    public static void tick(ComponentStore c) {
+        int[] lifespan = c.lifespan;
+        boolean[] active = c.active;
+        for (int r = 0, n = c.rowCount; r < n; r++) {
+            if (!active[r] || lifespan[r] < 0) continue;
+            if (lifespan[r] > 0) lifespan[r]--;
+            if (lifespan[r] == 0) active[r] = false;
+        }
+    }
+}
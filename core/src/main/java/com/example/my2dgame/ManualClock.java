@@ -0,0 +1,25 @@
+package com.example.my2dgame;
+
+/**
+ * A {@link GameClock} that only moves when told to. Advance it by
+ * {@link #STEP_MILLIS} before each {@link GameWorld#step()} to replay real time.
+ */
+public class ManualClock implements GameClock {
+    /** One simulation step at the default rate, rounded to whole milliseconds. */
+    public static final long STEP_MILLIS = 1000 / FixedStepClock.DEFAULT_STEPS_PER_SECOND;
+
+    private long nowMillis;
+
+    public ManualClock(long startMillis) {
+        this.nowMillis = startMillis;
+    }
+
+    public void advance(long millis) {
+        nowMillis += millis;
+    }
+
+    @Override
+    public long nowMillis() {
+        return nowMillis;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.my2dgame;
+
+/**
+ * Movement over {@link ComponentStore} columns: linear motion from the velocity columns and
+ * homing towards a target for enemies. Each pass is a single loop over the rows.
+ */
+public final class MovementSystem {
+    private MovementSystem() {}
+
+    /** Copies every position into the previous-position columns; run before anything moves. */
+    public static void storePreviousPositions(ComponentStore c) {
+        System.arraycopy(c.posX, 0, c.prevX, 0, c.rowCount);
+        System.arraycopy(c.posY, 0, c.prevY, 0, c.rowCount);
+    }
+
+    /** pos += vel for every active row. */
+    public static void integrate(ComponentStore c) {
+        float[] posX = c.posX, posY = c.posY, velX = c.velX, velY = c.velY;
+        boolean[] active = c.active;
+        for (int r = 0, n = c.rowCount; r < n; r++) {
+            if (!active[r]) continue;
+            posX[r] += velX[r];
+            posY[r] += velY[r];
+        }
+    }
+
+    /** Same as {@link #integrate(ComponentStore)} for a single row. */
+    public static void integrate(ComponentStore c, int row) {
+        c.posX[row] += c.velX[row];
+        c.posY[row] += c.velY[row];
+    }
+
+    /**
+     * Moves every active row {@code speed} pixels straight towards (targetX, targetY). A row
+     * that ends up past the left edge of the screen stops moving.
+     */
+    public static void steerTowards(ComponentStore c, float targetX, float targetY) {
+        steerTowards(c, 0, c.rowCount, targetX, targetY);
+    }
+
+    /** Steers rows [from, to) only; disjoint ranges can be steered on different threads. */
+    public static void steerTowards(ComponentStore c, int from, int to, float targetX, float targetY) {
+        boolean[] active = c.active;
+        for (int r = from; r < to; r++) {
+            if (active[r]) steerTowards(c, r, targetX, targetY);
+        }
+    }
+
+    /** Same as {@link #steerTowards(ComponentStore, float, float)} for a single row. */
+    public static void steerTowards(ComponentStore c, int row, float targetX, float targetY) {
+        float dx = targetX - c.posX[row];
+        float dy = targetY - c.posY[row];
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        if (distance > 0) {
+            dx = dx / distance;
+            dy = dy / distance;
+        }
+        c.posX[row] += dx * c.speed[row];
+        c.posY[row] += dy * c.speed[row];
+        if (c.posX[row] < -c.width[row]) c.speed[row] = 0;
+    }
+
+    /**
+     * Deactivates rows that {@link #steerTowards} stopped past the left edge: they can never
+     * move or come back, so they are evicted instead of being kept (and culled) forever.
+     */
+    public static void deactivateStranded(ComponentStore c) {
+        float[] posX = c.posX, speed = c.speed;
+        int[] width = c.width;
+        boolean[] active = c.active;
+        for (int r = 0, n = c.rowCount; r < n; r++) {
+            if (active[r] && speed[r] == 0 && posX[r] < -width[r]) active[r] = false;
+        }
+    }
+
+    /** Deactivates rows that have left the screen horizontally (past either edge). */
+    public static void deactivateOffscreen(ComponentStore c, int screenWidth) {
+        float[] posX = c.posX;
+        int[] width = c.width;
+        boolean[] active = c.active;
+        for (int r = 0, n = c.rowCount; r < n; r++) {
+            if (active[r] && (posX[r] > screenWidth || posX[r] < -width[r])) active[r] = false;
+        }
+    }
+
+    /** Same as {@link #deactivateOffscreen(ComponentStore, int)} for a single row. */
+    public static void deactivateOffscreen(ComponentStore c, int row, int screenWidth) {
+        if (c.posX[row] > screenWidth || c.posX[row] < -c.width[row]) c.active[row] = false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.my2dgame;
+
+import java.util.ArrayList;
+
+/**
+ * Free-list pool for short-lived game objects. {@link #acquire()} hands out a recycled
+ * instance (or creates one when the pool is empty); {@link #release(GameObject)} calls
+ * {@link GameObject#reset()} and keeps the instance for the next acquire. Once the pool has
+ * grown to the busiest moment of a session, gameplay stops allocating these objects.
+ */
+public class ObjectPool<T extends GameObject> {
+
+    public interface Factory<T> {
+        T create();
+    }
+
+    private final String name;
+    private final Factory<T> factory;
+    private final ArrayList<T> free;
+    private int inUse = 0;
+    private int highWaterMark = 0;
+    private int created = 0;
+
+    public ObjectPool(String name, Factory<T> factory, int initialSize) {
+        this.name = name;
+        this.factory = factory;
+        this.free = new ArrayList<>(Math.max(initialSize, 16));
+        for (int i = 0; i < initialSize; i++) {
+            T object = factory.create();
+            object.reset(); // Park it: a pooled object's row stays inactive until acquire + init
+            free.add(object);
+            created++;
+        }
+    }
+
+    public T acquire() {
+        T object;
+        int last = free.size() - 1;
+        if (last >= 0) {
+            object = free.remove(last);
+        } else {
+            object = factory.create();
+            created++;
+        }
+        inUse++;
+        if (inUse > highWaterMark) highWaterMark = inUse;
+        return object;
+    }
+
+    public void release(T object) {
+        if (object == null) return;
+        object.reset();
+        free.add(object);
+        inUse--;
+    }
+
+    public String getName() { return name; }
+    public int getInUse() { return inUse; }
+    public int getFreeCount() { return free.size(); }
+    /** Most objects ever checked out at once. */
+    public int getHighWaterMark() { return highWaterMark; }
+    /** Total instances ever allocated by this pool, including the initial ones. */
+    public int getCreatedCount() { return created; }
+}
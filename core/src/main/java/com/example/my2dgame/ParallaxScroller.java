@@ -0,0 +1,59 @@
+package com.example.my2dgame;
+
+/**
+ * Horizontal scroll offsets for the background's parallax layers, each with its own speed in
+ * pixels per step. An offset wraps by its layer's period (the width of one tile on screen,
+ * or the viewport width if the platform hasn't set one), and the previous offset wraps with
+ * it so interpolation never sweeps back across a whole tile.
+ */
+public class ParallaxScroller {
+    public static final int MAX_LAYERS = 4;
+
+    private final float[] speed = new float[MAX_LAYERS];
+    private final float[] period = new float[MAX_LAYERS];
+    private final float[] offset = new float[MAX_LAYERS];
+    private final float[] prevOffset = new float[MAX_LAYERS];
+    private int layerCount = 0;
+
+    public ParallaxScroller(float... speeds) {
+        setLayers(speeds);
+    }
+
+    /** Replaces the layers, back to front, and resets their offsets. */
+    public void setLayers(float... speeds) {
+        if (speeds.length > MAX_LAYERS) throw new IllegalArgumentException("At most " + MAX_LAYERS + " parallax layers");
+        layerCount = speeds.length;
+        for (int i = 0; i < MAX_LAYERS; i++) {
+            speed[i] = i < layerCount ? speeds[i] : 0;
+            period[i] = 0;
+        }
+        reset();
+    }
+
+    /** Width in pixels after which the layer repeats; 0 means the viewport width. */
+    public void setPeriod(int layer, float period) { this.period[layer] = period; }
+
+    public void reset() {
+        for (int i = 0; i < MAX_LAYERS; i++) { offset[i] = 0; prevOffset[i] = 0; }
+    }
+
+    void storePreviousOffsets() {
+        System.arraycopy(offset, 0, prevOffset, 0, layerCount);
+    }
+
+    void scroll(int viewportWidth) {
+        for (int i = 0; i < layerCount; i++) {
+            offset[i] -= speed[i];
+            float wrap = period[i] > 0 ? period[i] : viewportWidth;
+            if (wrap > 0 && offset[i] <= -wrap) {
+                offset[i] += wrap;
+                prevOffset[i] += wrap;
+            }
+        }
+    }
+
+    public int getLayerCount() { return layerCount; }
+    public float getSpeed(int layer) { return speed[layer]; }
+    public float getOffset(int layer) { return offset[layer]; }
+    public float getPrevOffset(int layer) { return prevOffset[layer]; }
+}
@@ -0,0 +1,176 @@
+package com.example.my2dgame;
+
+public class Player extends GameObject {
+    private static final int STEPS_PER_SECOND = FixedStepClock.DEFAULT_STEPS_PER_SECOND;
+
+    private float dx, dy;
+    private boolean movingUp, movingDown, movingLeft, movingRight;
+    private int stickX, stickY; // Analog stick, -STICK_RANGE..STICK_RANGE per axis; overrides the flags when not centered
+    private int health = 100;
+    private int armor = 50;
+    private int shield = 0;
+    private int gold = 0;
+    private WeaponType currentWeapon = WeaponType.FIREBALL;
+
+    private int invincibleSteps = 0; // Đếm theo bước mô phỏng, như shield
+
+    public Player(float x, float y, int width, int height, float speed) {
+        super(x, y, width, height);
+        components.speed[row] = speed;
+        components.spriteId[row] = SpriteIds.PLAYER;
+        setHitboxScale(Collision.PLAYER_HITBOX_SCALE);
+        this.dx = 0;
+        this.dy = 0;
+    }
+
+    public void update(int screenWidth, int screenHeight) {
+        float speed = components.speed[row];
+        int width = components.width[row], height = components.height[row];
+        dx = 0;
+        dy = 0;
+        if (stickX != 0 || stickY != 0) {
+            dx = speed * stickX / STICK_RANGE;
+            dy = speed * stickY / STICK_RANGE;
+        } else {
+            if (movingUp) dy = -speed;
+            if (movingDown) dy = speed;
+            if (movingLeft) dx = -speed;
+            if (movingRight) dx = speed;
+        }
+
+        float x = components.posX[row] + dx;
+        float y = components.posY[row] + dy;
+        if (x < 0) x = 0;
+        if (x > screenWidth - width) x = screenWidth - width;
+        if (y < 0) y = 0;
+        if (y > screenHeight - height) y = screenHeight - height;
+        components.posX[row] = x;
+        components.posY[row] = y;
+
+        if (shield > 0) shield--;
+        if (invincibleSteps > 0) invincibleSteps--;
+    }
+
+    /** Walk cycle while moving (if its frames are loaded), the standing sprite otherwise. */
+    public void animate(long nowMillis, SpriteSizes sprites) {
+        if ((dx != 0 || dy != 0) && sprites.has(SpriteIds.PLAYER_WALK)) startAnimation(SpriteAnimations.PLAYER_WALK, nowMillis);
+        else stopAnimation();
+    }
+
+    static final int MOVE_UP = 1, MOVE_DOWN = 2, MOVE_LEFT = 4, MOVE_RIGHT = 8;
+
+    /** The four movement flags packed as MOVE_* bits, for replays. */
+    public int getMovementBits() {
+        return (movingUp ? MOVE_UP : 0) | (movingDown ? MOVE_DOWN : 0) | (movingLeft ? MOVE_LEFT : 0) | (movingRight ? MOVE_RIGHT : 0);
+    }
+
+    public void setMovementBits(int bits) {
+        movingUp = (bits & MOVE_UP) != 0;
+        movingDown = (bits & MOVE_DOWN) != 0;
+        movingLeft = (bits & MOVE_LEFT) != 0;
+        movingRight = (bits & MOVE_RIGHT) != 0;
+    }
+
+    /** Stick deflection per axis; fits a byte so replays store it exactly. */
+    public static final int STICK_RANGE = 127;
+
+    /** Analog movement, each axis clamped to -STICK_RANGE..STICK_RANGE (down and right positive); (0, 0) hands back to the flags. */
+    public void setStick(int x, int y) {
+        stickX = Math.max(-STICK_RANGE, Math.min(STICK_RANGE, x));
+        stickY = Math.max(-STICK_RANGE, Math.min(STICK_RANGE, y));
+    }
+
+    public int getStickX() { return stickX; }
+    public int getStickY() { return stickY; }
+
+    public void setMovingUp(boolean movingUp) { this.movingUp = movingUp; }
+    public void setMovingDown(boolean movingDown) { this.movingDown = movingDown; }
+    public void setMovingLeft(boolean movingLeft) { this.movingLeft = movingLeft; }
+    public void setMovingRight(boolean movingRight) { this.movingRight = movingRight; }
+
+    public void applyItemEffect(ItemType itemType) {
+        switch (itemType) {
+            case HEART:
+                applyGenericEffect("health", 25); // Use generic effect for consistency
+                break;
+            case SHIELD:
+                this.shield = 300; // 5 seconds at 60 FPS
+                break;
+            case INVINCIBILITY:
+                activateInvincibility(5); // 5 seconds
+                break;
+        }
+    }
+
+    public void applyGenericEffect(String effectType, int value) {
+        switch (effectType) {
+            case "health":
+                health = Math.max(0, Math.min(100, health + value));
+                break;
+            case "armor":
+                armor = Math.max(0, Math.min(100, armor + value));
+                break;
+            case "shield":
+                shield = Math.max(0, shield + value);
+                break;
+            case "gold":
+                gold += value;
+                break;
+            case "speed":
+                components.speed[row] += value;
+                break;
+        }
+    }
+
+    /** Spawns the current weapon's attack from the pools, or returns null if its sprite isn't loaded. */
+    public Projectile createAttack(SpriteSizes sprites, float projectileSpeed, EntityPools pools) {
+        if (currentWeapon == null) return null;
+
+        float x = getX(), y = getY();
+        float attackX, attackY;
+        int w, h;
+
+        switch (currentWeapon) {
+            case FIREBALL:
+                if (!sprites.has(SpriteIds.FIREBALL)) return null;
+                w = sprites.width(SpriteIds.FIREBALL);
+                h = sprites.height(SpriteIds.FIREBALL);
+                attackX = x + getWidth();
+                attackY = y + (getHeight() / 2.0f) - (h / 2.0f);
+                return pools.projectiles.acquire().init(attackX, attackY, w, h, projectileSpeed, ProjectileType.PLAYER_FIREBALL);
+            case BOMB_DROP:
+                if (!sprites.has(SpriteIds.BOMB)) return null;
+                w = sprites.width(SpriteIds.BOMB);
+                h = sprites.height(SpriteIds.BOMB);
+                attackX = x + getWidth()/2.0f - w / 2.0f;
+                attackY = y + getHeight();
+                return pools.bombs.acquire().init(attackX, attackY, w, h, 0, ProjectileType.PLAYER_SUPER_BOMB);
+            case SWORD_SLASH:
+                if (!sprites.has(SpriteIds.SWORD_SLASH)) return null;
+                w = sprites.width(SpriteIds.SWORD_SLASH);
+                h = sprites.height(SpriteIds.SWORD_SLASH);
+                attackX = x + getWidth() - w/2;
+                attackY = y + (getHeight() / 2.0f) - (h / 2.0f);
+                return pools.projectiles.acquire().init(attackX, attackY, w, h, 0, ProjectileType.PLAYER_SWORD_WAVE);
+            default:
+                return null;
+        }
+    }
+
+    public void switchAttack(WeaponType type) {
+        this.currentWeapon = type;
+    }
+
+    public void activateInvincibility(int durationSeconds) {
+        this.invincibleSteps = durationSeconds * STEPS_PER_SECOND;
+    }
+
+    public int getHealth() { return health; }
+    public int getArmor() { return armor; }
+    public int getShield() { return shield; }
+    public int getGold() { return gold; }
+    public float getSpeed() { return components.speed[row]; }
+    public boolean isShieldActive() { return shield > 0; }
+    public WeaponType getCurrentWeapon() { return currentWeapon; }
+    public boolean isInvincible() { return invincibleSteps > 0; }
+}
@@ -0,0 +1,54 @@
+package com.example.my2dgame;
+
+public class Projectile extends GameObject { 
+    protected ProjectileType type; 
+
+    public Projectile(float x, float y, int width, int height, float speed, ProjectileType type) {
+        this(new ComponentStore(1), x, y, width, height, speed, type);
+    }
+
+    public Projectile(ComponentStore components, float x, float y, int width, int height, float speed, ProjectileType type) {
+        super(components, x, y, width, height); 
+        setMotion(speed, type);
+    }
+
+    public Projectile init(float x, float y, int width, int height, float speed, ProjectileType type) {
+        set(x, y, width, height);
+        setMotion(speed, type);
+        return this;
+    }
+
+    private void setMotion(float speed, ProjectileType type) {
+        this.type = type;
+        ComponentStore c = components;
+        c.speed[row] = speed;
+        c.kind[row] = type.ordinal();
+        c.spriteId[row] = SpriteIds.forProjectile(type);
+        // Fireballs fly right, enemy bullets fly left; sword waves and bombs stay where they were dropped
+        if (type == ProjectileType.PLAYER_FIREBALL) c.velX[row] = speed;
+        else if (type == ProjectileType.ENEMY_BULLET) c.velX[row] = -speed;
+    }
+
+    /**
+     * Moves the projectile and deactivates it once it leaves the screen. GameWorld runs the same
+     * step for every projectile through {@link MovementSystem}; lifespans are counted down by
+     * {@link LifetimeSystem}.
+     */
+    public void update(int screenWidth, int screenHeight) {
+        MovementSystem.integrate(components, row);
+        MovementSystem.deactivateOffscreen(components, row, screenWidth);
+    }
+
+    public ProjectileType getType() {
+        return type;
+    }
+
+    /** Number of simulation steps before the projectile deactivates; -1 means no limit. */
+    public void setLifespan(int lifespan) {
+        components.lifespan[row] = lifespan;
+    }
+
+    public int getLifespan() {
+        return components.lifespan[row];
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.my2dgame;
+
+/**
+ * Layout of a session replay. Header: magic "RPLY", version byte, seed (long), clock millis at
+ * restart (long), viewport width and height (shorts), player start x, y and speed (floats), then
+ * the sprite count and a (width, height) pair of shorts per sprite id. Body: tagged records up to
+ * {@link #TAG_END}. Events (moves, shots, viewport changes) take effect before the next
+ * {@link #TAG_STEP}; a step carries the clock advance since the previous one as a zigzag varint,
+ * so a normal 16-17 ms step is two bytes. Version 2 added {@link #TAG_STICK}.
+ */
+final class ReplayFormat {
+    static final int MAGIC = 0x52504C59; // "RPLY"
+    static final int VERSION = 2;
+
+    static final byte TAG_STEP = 0;
+    static final byte TAG_MOVE = 1;     // + movement bits, see Player#getMovementBits
+    static final byte TAG_SHOOT = 2;    // + weapon ordinal
+    static final byte TAG_VIEWPORT = 3; // + width, height as shorts
+    static final byte TAG_STICK = 4;    // + analog stick x, y as signed bytes, see Player#setStick
+    static final byte TAG_END = (byte) 0xFF;
+
+    /** Longest header for {@link SpriteIds#COUNT} sprites. */
+    static final int HEADER_BYTES = 4 + 1 + 8 + 8 + 2 + 2 + 4 + 4 + 4 + 1 + SpriteIds.COUNT * 4;
+    /** Longest record: a tag and a 64-bit varint. */
+    static final int MAX_RECORD_BYTES = 1 + 10;
+
+    private ReplayFormat() {}
+}
@@ -0,0 +1,125 @@
+package com.example.my2dgame;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Random;
+
+/**
+ * Plays a recorded session ({@link ReplayFormat}) back through a fresh {@link GameWorld} on a
+ * {@link ManualClock}: same seed, same setup, same input before the same steps, so the round
+ * plays out exactly as recorded. Nothing waits for real time, so a minute of play replays in
+ * a fraction of that; use it to reproduce reported problems or as a fixed load for profiling.
+ */
+public class ReplayPlayer {
+    private static final int BUFFER_BYTES = 8 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final ManualClock clock;
+    private final GameWorld world;
+    private final long seed;
+    private int steps;
+    private boolean ended;
+
+    /** Reads the header and builds the world; {@code listener} hears the replayed events and may be null. */
+    public ReplayPlayer(ReadableByteChannel channel, GameWorld.Listener listener) throws IOException {
+        this.channel = channel;
+        buffer.flip(); // Start empty
+        require(ReplayFormat.HEADER_BYTES - SpriteIds.COUNT * 4);
+        if (buffer.getInt() != ReplayFormat.MAGIC) throw new IOException("Not a replay");
+        int version = buffer.get() & 0xFF;
+        if (version > ReplayFormat.VERSION) throw new IOException("Replay version " + version + " is newer than " + ReplayFormat.VERSION);
+        seed = buffer.getLong();
+        long startMillis = buffer.getLong();
+        int width = buffer.getShort() & 0xFFFF, height = buffer.getShort() & 0xFFFF;
+        float playerX = buffer.getFloat(), playerY = buffer.getFloat(), playerSpeed = buffer.getFloat();
+        int spriteCount = buffer.get() & 0xFF;
+
+        clock = new ManualClock(startMillis);
+        world = new GameWorld(clock, new Random(), listener);
+        world.setViewport(width, height);
+        world.setPlayerStart(playerX, playerY, playerSpeed);
+        require(spriteCount * 4);
+        for (int id = 0; id < spriteCount; id++) {
+            int w = buffer.getShort() & 0xFFFF, h = buffer.getShort() & 0xFFFF;
+            if (id < SpriteIds.COUNT) world.getSprites().set(id, w, h); // Sprites newer than this build are skipped
+        }
+        world.restart(seed);
+    }
+
+    public GameWorld getWorld() { return world; }
+    public long getSeed() { return seed; }
+    public int getStepCount() { return steps; }
+    public boolean isEnded() { return ended; }
+
+    /** Applies the input recorded before the next step and runs it; false once the replay has ended. */
+    public boolean advance() throws IOException {
+        while (!ended) {
+            require(1);
+            byte tag = buffer.get();
+            switch (tag) {
+                case ReplayFormat.TAG_STEP:
+                    clock.advance(getVarLong());
+                    world.step();
+                    steps++;
+                    return true;
+                case ReplayFormat.TAG_MOVE:
+                    require(1);
+                    if (world.getPlayer() != null) world.getPlayer().setMovementBits(buffer.get());
+                    else buffer.get();
+                    break;
+                case ReplayFormat.TAG_STICK:
+                    require(2);
+                    byte x = buffer.get(), y = buffer.get();
+                    if (world.getPlayer() != null) world.getPlayer().setStick(x, y);
+                    break;
+                case ReplayFormat.TAG_SHOOT:
+                    require(1);
+                    WeaponType weapon = WeaponType.values()[buffer.get()];
+                    if (world.getPlayer() != null) world.getPlayer().switchAttack(weapon);
+                    world.shoot();
+                    break;
+                case ReplayFormat.TAG_VIEWPORT:
+                    require(4);
+                    world.setViewport(buffer.getShort() & 0xFFFF, buffer.getShort() & 0xFFFF);
+                    break;
+                case ReplayFormat.TAG_END:
+                    ended = true;
+                    break;
+                default:
+                    throw new IOException("Unknown replay record " + tag);
+            }
+        }
+        return false;
+    }
+
+    /** Runs every remaining step as fast as possible and returns how many there were. */
+    public int playToEnd() throws IOException {
+        int start = steps;
+        while (advance()) { }
+        return steps - start;
+    }
+
+    // At least n bytes readable from the buffer, refilling it from the channel
+    private void require(int n) throws IOException {
+        if (buffer.remaining() >= n) return;
+        buffer.compact();
+        while (buffer.position() < n) {
+            if (channel.read(buffer) < 0) throw new EOFException("Replay ends mid-record");
+        }
+        buffer.flip();
+    }
+
+    private long getVarLong() throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            require(1);
+            byte b = buffer.get();
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return (v >>> 1) ^ -(v & 1);
+        }
+        throw new IOException("Malformed varint in replay");
+    }
+}
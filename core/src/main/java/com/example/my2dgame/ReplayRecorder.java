@@ -0,0 +1,117 @@
+package com.example.my2dgame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes a session replay ({@link ReplayFormat}): the seed and setup of a round, then per
+ * simulation step the clock advance and any input that changed. Records go into a ByteBuffer
+ * that is handed to the channel only when it fills up, so recording costs a few bytes of
+ * buffer work per step and a channel write every few thousand steps.
+ *
+ * <p>{@link GameWorld} calls in here once attached with {@link GameWorld#setRecorder}. A write
+ * error stops the recording ({@link #getError()}) instead of reaching the game loop.
+ */
+public class ReplayRecorder implements Closeable {
+    private static final int BUFFER_BYTES = 8 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private long lastStepMillis;
+    private int lastMovement;
+    private int lastStickX, lastStickY;
+    private int steps;
+    private long bytesWritten;
+    private boolean closed;
+    private IOException error;
+
+    public ReplayRecorder(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    synchronized void writeHeader(long seed, long startMillis, int width, int height, float playerX, float playerY, float playerSpeed, SpriteSizes sprites) {
+        buffer.putInt(ReplayFormat.MAGIC).put((byte) ReplayFormat.VERSION);
+        buffer.putLong(seed).putLong(startMillis);
+        buffer.putShort((short) width).putShort((short) height);
+        buffer.putFloat(playerX).putFloat(playerY).putFloat(playerSpeed);
+        buffer.put((byte) SpriteIds.COUNT);
+        for (int id = 0; id < SpriteIds.COUNT; id++) buffer.putShort((short) sprites.width(id)).putShort((short) sprites.height(id));
+        lastStepMillis = startMillis;
+        lastMovement = 0;
+        lastStickX = lastStickY = 0;
+    }
+
+    /** Start of a step: the player's movement input (if changed) and the clock. */
+    synchronized void step(long nowMillis, int movementBits, int stickX, int stickY) {
+        if (!reserve()) return;
+        if (movementBits != lastMovement) {
+            buffer.put(ReplayFormat.TAG_MOVE).put((byte) movementBits);
+            lastMovement = movementBits;
+        }
+        if (stickX != lastStickX || stickY != lastStickY) {
+            buffer.put(ReplayFormat.TAG_STICK).put((byte) stickX).put((byte) stickY);
+            lastStickX = stickX;
+            lastStickY = stickY;
+        }
+        buffer.put(ReplayFormat.TAG_STEP);
+        putVarLong(nowMillis - lastStepMillis);
+        lastStepMillis = nowMillis;
+        steps++;
+    }
+
+    synchronized void shoot(WeaponType weapon) {
+        if (reserve()) buffer.put(ReplayFormat.TAG_SHOOT).put((byte) weapon.ordinal());
+    }
+
+    synchronized void viewport(int width, int height) {
+        if (reserve()) buffer.put(ReplayFormat.TAG_VIEWPORT).putShort((short) width).putShort((short) height);
+    }
+
+    /** Ends the stream, writes what is buffered and closes the channel. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        if (reserve()) buffer.put(ReplayFormat.TAG_END);
+        closed = true;
+        try {
+            if (error == null) flush();
+        } finally {
+            channel.close();
+        }
+        if (error != null) throw error;
+    }
+
+    public synchronized int getStepCount() { return steps; }
+    public synchronized long getBytesWritten() { return bytesWritten + buffer.position(); }
+    public synchronized IOException getError() { return error; }
+
+    // Room for the largest record, flushing first if needed; false once recording has stopped
+    private boolean reserve() {
+        if (closed || error != null) return false;
+        if (buffer.remaining() >= 2 * ReplayFormat.MAX_RECORD_BYTES) return true;
+        try {
+            flush();
+            return true;
+        } catch (IOException e) {
+            error = e;
+            return false;
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) bytesWritten += channel.write(buffer);
+        buffer.clear();
+    }
+
+    private void putVarLong(long value) {
+        long v = (value << 1) ^ (value >> 63); // Zigzag: small negatives stay short too
+        while ((v & ~0x7FL) != 0) {
+            buffer.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buffer.put((byte) v);
+    }
+}
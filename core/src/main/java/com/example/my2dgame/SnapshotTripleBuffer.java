@@ -0,0 +1,42 @@
+package com.example.my2dgame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer between one producer (the simulation thread) and one consumer
+ * (the render thread). The producer always has a private back snapshot to fill, the
+ * consumer always has a private front snapshot to draw, and the third slot holds the most
+ * recently published step. Neither side ever waits for the other.
+ */
+public class SnapshotTripleBuffer {
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4; // Set when the middle slot holds a snapshot the consumer hasn't taken
+
+    private final WorldSnapshot[] snapshots = { new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot() };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;   // Producer-owned
+    private int front = 2;  // Consumer-owned
+
+    /** Producer: the snapshot to fill for the current step. */
+    public WorldSnapshot getBack() {
+        return snapshots[back];
+    }
+
+    /** Producer: hands the filled back snapshot to the consumer and takes a new back slot. */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /** Consumer: swaps in the newest published snapshot, if any, and returns the front one. */
+    public WorldSnapshot acquireLatest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return snapshots[front];
+    }
+
+    /** Consumer: true if a snapshot newer than the current front one is waiting. */
+    public boolean hasFresh() {
+        return (middle.get() & FRESH) != 0;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.my2dgame;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-grid spatial hash used as the collision broad phase. Objects are registered by an
+ * integer id (normally their row in a {@link ComponentStore}) together with their bounding box;
+ * a query returns every id whose box shares a grid cell with the query box. Candidates
+ * still need a narrow-phase test: sharing a cell, or a hash bucket, doesn't mean overlap.
+ *
+ * <p>The index is rebuilt each tick with {@link #clear()}, {@link #insert} and
+ * {@link #build()}. All storage is reused between ticks, so a rebuild allocates nothing
+ * once the arrays have grown to the busiest wave seen.
+ *
+ * <p>Once built, the index itself is read-only: threads may query it concurrently as long as
+ * each one passes its own {@link Query}. The overloads without one share a default Query and
+ * are for the simulation thread only.
+ */
+public class SpatialHash {
+
+    /** Result buffer and duplicate filter for one querying thread. */
+    public static final class Query {
+        private int[] results = new int[64];
+        private int[] seenStamp = new int[64]; // Per-id stamp used to drop duplicate hits within one query
+        int stamp = 0; // Package-private so tests can wind it up to the wraparound
+
+        public int[] results() {
+            return results;
+        }
+    }
+
+    private final float cellSize;
+    private final float inverseCellSize;
+    private final int bucketMask;
+    private final int[] bucketStart;  // Prefix sums; bucket b holds sortedIds[bucketStart[b] .. bucketStart[b + 1])
+
+    private int entryCount = 0;
+    private int[] entryBucket = new int[256];
+    private int[] entryId = new int[256];
+    private int[] sortedIds = new int[256];
+
+    private int maxId = -1;
+    private final Query defaultQuery = new Query();
+
+    /**
+     * @param cellSize    grid cell edge in pixels; about the size of the largest common object works well
+     * @param bucketCount number of hash buckets, rounded up to a power of two
+     */
+    public SpatialHash(float cellSize, int bucketCount) {
+        if (cellSize <= 0) throw new IllegalArgumentException("cellSize must be > 0");
+        int buckets = Integer.highestOneBit(Math.max(1, bucketCount - 1)) << 1;
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1f / cellSize;
+        this.bucketMask = buckets - 1;
+        this.bucketStart = new int[buckets + 1];
+    }
+
+    public void clear() {
+        entryCount = 0;
+        maxId = -1;
+    }
+
+    public void insert(int id, GameObject object) {
+        insert(id, object.getX(), object.getY(), object.getWidth(), object.getHeight());
+    }
+
+    /** Registers {@code id} in every cell covered by the box. Ids must be non-negative. */
+    public void insert(int id, float x, float y, float width, float height) {
+        int minCx = cell(x), maxCx = cell(x + width);
+        int minCy = cell(y), maxCy = cell(y + height);
+        for (int cy = minCy; cy <= maxCy; cy++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                if (entryCount == entryId.length) growEntries();
+                entryBucket[entryCount] = bucket(cx, cy);
+                entryId[entryCount] = id;
+                entryCount++;
+            }
+        }
+        if (id > maxId) maxId = id;
+    }
+
+    /** Sorts the inserted entries by bucket (counting sort) so queries can scan a contiguous range. */
+    public void build() {
+        Arrays.fill(bucketStart, 0);
+        for (int i = 0; i < entryCount; i++) bucketStart[entryBucket[i] + 1]++;
+        for (int b = 0; b < bucketMask + 1; b++) bucketStart[b + 1] += bucketStart[b];
+        if (sortedIds.length < entryCount) sortedIds = new int[entryId.length];
+        // bucketStart[b] is used as the write cursor, then restored by shifting back one slot
+        for (int i = 0; i < entryCount; i++) sortedIds[bucketStart[entryBucket[i]]++] = entryId[i];
+        for (int b = bucketMask; b > 0; b--) bucketStart[b] = bucketStart[b - 1];
+        bucketStart[0] = 0;
+    }
+
+    /**
+     * Collects the ids of all objects that may overlap the box. Returns how many were found;
+     * read them from {@link #results()}. The result buffer is reused by the next query.
+     */
+    public int query(float x, float y, float width, float height) {
+        return query(defaultQuery, x, y, width, height);
+    }
+
+    public int query(GameObject object) {
+        return query(object.getX(), object.getY(), object.getWidth(), object.getHeight());
+    }
+
+    public int[] results() {
+        return defaultQuery.results;
+    }
+
+    /** Same as {@link #query(float, float, float, float)}, with results left in {@code q}. */
+    public int query(Query q, float x, float y, float width, float height) {
+        if (q.seenStamp.length <= maxId) q.seenStamp = grow(q.seenStamp, Math.max(maxId + 1, q.seenStamp.length * 2));
+        if (++q.stamp == 0) { // Stamp wrapped around: forget every id seen so far
+            Arrays.fill(q.seenStamp, 0);
+            q.stamp = 1;
+        }
+        int[] seenStamp = q.seenStamp, results = q.results;
+        int stamp = q.stamp, count = 0;
+        int minCx = cell(x), maxCx = cell(x + width);
+        int minCy = cell(y), maxCy = cell(y + height);
+        for (int cy = minCy; cy <= maxCy; cy++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                int b = bucket(cx, cy);
+                for (int i = bucketStart[b], end = bucketStart[b + 1]; i < end; i++) {
+                    int id = sortedIds[i];
+                    if (seenStamp[id] == stamp) continue;
+                    seenStamp[id] = stamp;
+                    if (count == results.length) results = q.results = grow(results, results.length * 2);
+                    results[count++] = id;
+                }
+            }
+        }
+        return count;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    private int bucket(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & bucketMask;
+    }
+
+    private void growEntries() {
+        int capacity = entryId.length * 2;
+        entryBucket = grow(entryBucket, capacity);
+        entryId = grow(entryId, capacity);
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        int[] grown = new int[capacity];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
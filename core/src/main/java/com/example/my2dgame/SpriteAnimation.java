@@ -0,0 +1,33 @@
+package com.example.my2dgame;
+
+/**
+ * A run of consecutive sprite ids shown one after another, each for a fixed time. Frames are
+ * picked from elapsed milliseconds, not counted per step or per render, so the speed is the
+ * same whatever the tick or frame rate.
+ */
+public final class SpriteAnimation {
+    private final int firstSpriteId, frameCount;
+    private final long frameMillis;
+    private final boolean loop;
+
+    public SpriteAnimation(int firstSpriteId, int frameCount, long frameMillis, boolean loop) {
+        if (frameCount <= 0 || frameMillis <= 0) throw new IllegalArgumentException("frameCount and frameMillis must be positive");
+        this.firstSpriteId = firstSpriteId;
+        this.frameCount = frameCount;
+        this.frameMillis = frameMillis;
+        this.loop = loop;
+    }
+
+    /** Frame index at {@code elapsedMillis} since the start; one-shot animations hold their last frame. */
+    public int frameAt(long elapsedMillis) {
+        if (elapsedMillis <= 0) return 0;
+        long frame = elapsedMillis / frameMillis;
+        return (int) (loop ? frame % frameCount : Math.min(frame, frameCount - 1));
+    }
+
+    public int spriteAt(long elapsedMillis) { return firstSpriteId + frameAt(elapsedMillis); }
+
+    public int getFirstSpriteId() { return firstSpriteId; }
+    public int getFrameCount() { return frameCount; }
+    public long getDurationMillis() { return frameCount * frameMillis; }
+}
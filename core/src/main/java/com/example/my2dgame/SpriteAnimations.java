@@ -0,0 +1,18 @@
+package com.example.my2dgame;
+
+/**
+ * The game's animations, by index; entities store the index in their animation column
+ * (see {@link GameObject#startAnimation}).
+ */
+public final class SpriteAnimations {
+    public static final int NONE = -1;
+    public static final int PLAYER_WALK = 0;
+
+    private static final SpriteAnimation[] ALL = {
+            new SpriteAnimation(SpriteIds.PLAYER_WALK, SpriteIds.PLAYER_WALK_FRAMES, 100, true), // Một vòng bước đi mỗi 0.8 giây
+    };
+
+    private SpriteAnimations() {}
+
+    public static SpriteAnimation get(int animation) { return ALL[animation]; }
+}
@@ -0,0 +1,47 @@
+package com.example.my2dgame;
+
+/**
+ * Integer ids for every sprite the game world can show. The simulation publishes these
+ * ids in {@link WorldSnapshot}s; the render thread maps them back to bitmaps.
+ */
+public final class SpriteIds {
+    public static final int NONE = -1;
+    public static final int PLAYER = 0;
+    public static final int ENEMY = 1;
+    public static final int FIREBALL = 2;
+    public static final int SWORD_SLASH = 3;
+    public static final int BOMB = 4;
+    public static final int HEART_ITEM = 5;
+    public static final int SHIELD_ITEM = 6;
+    public static final int INVINCIBLE_ITEM = 7;
+    public static final int EXPLOSION = 8;
+    public static final int PLAYER_WALK = 9; // First frame of the walk cycle; the frames follow in order
+    public static final int PLAYER_WALK_FRAMES = 8;
+    public static final int COUNT = PLAYER_WALK + PLAYER_WALK_FRAMES;
+
+    private SpriteIds() {}
+
+    public static int forProjectile(ProjectileType type) {
+        switch (type) {
+            case PLAYER_FIREBALL:
+            case ENEMY_BULLET:
+                return FIREBALL;
+            case PLAYER_SWORD_WAVE:
+                return SWORD_SLASH;
+            case PLAYER_BOMB:
+            case PLAYER_SUPER_BOMB:
+                return BOMB;
+            default:
+                return NONE;
+        }
+    }
+
+    public static int forItem(ItemType type) {
+        switch (type) {
+            case HEART: return HEART_ITEM;
+            case SHIELD: return SHIELD_ITEM;
+            case INVINCIBILITY: return INVINCIBLE_ITEM;
+            default: return NONE;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.my2dgame;
+
+/**
+ * Frame rectangles of a sprite sheet laid out as an even grid, row by row. Sheets are sliced
+ * once, when the atlas is built, by copying each rectangle out of the shared sheet; no frame
+ * gets a bitmap of its own.
+ */
+public final class SpriteSheet {
+    private final int columns, frameCount, frameWidth, frameHeight;
+
+    public SpriteSheet(int sheetWidth, int sheetHeight, int columns, int rows) {
+        if (columns <= 0 || rows <= 0) throw new IllegalArgumentException("Sheet needs at least one column and row");
+        this.columns = columns;
+        this.frameCount = columns * rows;
+        this.frameWidth = sheetWidth / columns;
+        this.frameHeight = sheetHeight / rows;
+    }
+
+    public int getFrameCount() { return frameCount; }
+    public int getFrameWidth() { return frameWidth; }
+    public int getFrameHeight() { return frameHeight; }
+    public int frameLeft(int frame) { return (frame % columns) * frameWidth; }
+    public int frameTop(int frame) { return (frame / columns) * frameHeight; }
+}
@@ -0,0 +1,20 @@
+package com.example.my2dgame;
+
+/**
+ * Pixel size of each sprite, indexed by {@link SpriteIds}. The platform layer fills it in after
+ * scaling its images; the world uses it to size what it spawns. A sprite with no size set is
+ * treated as not loaded, and nothing that needs it gets spawned.
+ */
+public class SpriteSizes {
+    private final int[] width = new int[SpriteIds.COUNT];
+    private final int[] height = new int[SpriteIds.COUNT];
+
+    public void set(int spriteId, int width, int height) {
+        this.width[spriteId] = width;
+        this.height[spriteId] = height;
+    }
+
+    public boolean has(int spriteId) { return width[spriteId] > 0 && height[spriteId] > 0; }
+    public int width(int spriteId) { return width[spriteId]; }
+    public int height(int spriteId) { return height[spriteId]; }
+}
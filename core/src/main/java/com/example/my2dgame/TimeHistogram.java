@@ -0,0 +1,52 @@
+package com.example.my2dgame;
+
+import java.util.Arrays;
+
+/**
+ * Durations counted into fixed 50 µs buckets up to 100 ms (anything longer lands in the last
+ * one, the exact maximum is kept separately), so recording is an array increment and
+ * percentiles come out to the nearest bucket without storing samples.
+ *
+ * <p>One thread records; others may read, and see a count that is at most a sample or two
+ * behind. Fine for statistics, not for anything that has to add up exactly.
+ */
+public class TimeHistogram {
+    static final long BUCKET_NANOS = 50_000;
+    static final int BUCKETS = 2000; // 100 ms
+
+    private final int[] counts = new int[BUCKETS];
+    private volatile long count;
+    private long totalNanos, maxNanos;
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[(int) Math.min(nanos / BUCKET_NANOS, BUCKETS - 1)]++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+        count++; // Written last: readers that see the new count see the sample
+    }
+
+    public long getCount() { return count; }
+    public long getMaxNanos() { return maxNanos; }
+    public long getAverageNanos() { long n = count; return n > 0 ? totalNanos / n : 0; }
+
+    /** The smallest bucket bound that {@code percent} of the samples fit under, e.g. 99 for p99; 0 when empty. */
+    public long percentileNanos(int percent) {
+        long n = count;
+        if (n == 0) return 0;
+        long rank = Math.max(1, (n * percent + 99) / 100);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) return b == BUCKETS - 1 ? maxNanos : Math.min((b + 1) * BUCKET_NANOS, maxNanos);
+        }
+        return maxNanos;
+    }
+
+    /** Only while nothing records, e.g. with the profiler switched off. */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalNanos = maxNanos = 0;
+        count = 0;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.my2dgame;
+
+/**
+ * The on-screen controller: D-pad (or analog stick in its place), the three attack buttons and
+ * the music/sound toggles. Hit regions are worked out once per screen size in {@link #layout};
+ * touches come in per pointer id, so one thumb can hold a direction while the other fires.
+ *
+ * <p>The D-pad belongs to the first pointer that lands on (or slides onto) it until that pointer
+ * lifts, and steers by where that pointer is relative to the pad's centre even once it slides
+ * off, so a thumb drifting over the edge keeps moving the player. Buttons fire on pointer down.
+ * UI thread only; what the touches mean goes to the {@link Listener}.
+ */
+public class TouchControls {
+    public static final int BUTTON_SIZE = 100, BUTTON_SPACING = 10;
+    public static final int DPAD_SIZE = 200, DPAD_BOTTOM = 50;
+    /** Pixels from the D-pad centre that still count as centred. */
+    static final int DEAD_ZONE = 10;
+
+    public interface Listener {
+        /** Movement changed: Player.MOVE_* bits and the analog stick (0, 0 with the D-pad). */
+        void onMovement(int movementBits, int stickX, int stickY, long eventNanos);
+        void onAttack(WeaponType weapon, long eventNanos);
+        void onToggleMusic(long eventNanos);
+        void onToggleSound(long eventNanos);
+    }
+
+    // Hit regions, one slot per control
+    private static final int NONE = -1, DPAD = 0, FIREBALL = 1, BOMB = 2, SLASH = 3, MUSIC = 4, SOUND = 5, CONTROLS = 6;
+    private static final WeaponType[] ATTACKS = { null, WeaponType.FIREBALL, WeaponType.BOMB_DROP, WeaponType.SWORD_SLASH };
+
+    private final Listener listener;
+    private final int[] left = new int[CONTROLS], top = new int[CONTROLS], right = new int[CONTROLS], bottom = new int[CONTROLS];
+    private boolean laidOut;
+    private float dpadCenterX, dpadCenterY;
+    private boolean analogStick;
+    private int dpadPointer = NONE; // Pointer id holding the D-pad
+    private int movementBits, stickX, stickY;
+
+    public TouchControls(Listener listener) {
+        this.listener = listener;
+    }
+
+    /** Recomputes the hit regions for a screen size; call from surfaceChanged. */
+    public void layout(int width, int height) {
+        int dpadTop = height - DPAD_BOTTOM - DPAD_SIZE;
+        set(DPAD, 0, dpadTop, DPAD_SIZE, dpadTop + DPAD_SIZE);
+        dpadCenterX = DPAD_SIZE / 2f;
+        dpadCenterY = dpadTop + DPAD_SIZE / 2f;
+
+        // Attack buttons right-aligned on the bottom row, left to right: fireball, bomb, slash
+        int actionTop = height - DPAD_BOTTOM - BUTTON_SIZE;
+        int actionRight = width - BUTTON_SPACING;
+        for (int control = SLASH; control >= FIREBALL; control--) {
+            set(control, actionRight - BUTTON_SIZE, actionTop, actionRight, actionTop + BUTTON_SIZE);
+            actionRight -= BUTTON_SIZE + BUTTON_SPACING;
+        }
+
+        int toggleLeft = width / 2 - BUTTON_SIZE / 2;
+        set(MUSIC, toggleLeft, BUTTON_SPACING, toggleLeft + BUTTON_SIZE, BUTTON_SPACING + BUTTON_SIZE);
+        toggleLeft += BUTTON_SIZE + BUTTON_SPACING;
+        set(SOUND, toggleLeft, BUTTON_SPACING, toggleLeft + BUTTON_SIZE, BUTTON_SPACING + BUTTON_SIZE);
+        laidOut = width > 0 && height > 0;
+    }
+
+    /** The D-pad steers with an analog stick instead of four directions; takes effect on the next touch. */
+    public void setAnalogStick(boolean analog) { analogStick = analog; }
+    public boolean isAnalogStick() { return analogStick; }
+
+    public int getMovementBits() { return movementBits; }
+    public int getStickX() { return stickX; }
+    public int getStickY() { return stickY; }
+
+    public void pointerDown(int id, float x, float y, long eventNanos) {
+        if (!laidOut) return;
+        int control = hit(x, y);
+        if (control == DPAD) {
+            if (dpadPointer == NONE) {
+                dpadPointer = id;
+                steer(x, y, eventNanos);
+            }
+        } else if (control >= FIREBALL && control <= SLASH) {
+            listener.onAttack(ATTACKS[control], eventNanos);
+        } else if (control == MUSIC) {
+            listener.onToggleMusic(eventNanos);
+        } else if (control == SOUND) {
+            listener.onToggleSound(eventNanos);
+        }
+    }
+
+    public void pointerMove(int id, float x, float y, long eventNanos) {
+        if (!laidOut) return;
+        if (id == dpadPointer) {
+            steer(x, y, eventNanos);
+        } else if (dpadPointer == NONE && hit(x, y) == DPAD) {
+            dpadPointer = id;
+            steer(x, y, eventNanos);
+        }
+    }
+
+    public void pointerUp(int id, long eventNanos) {
+        if (id != dpadPointer) return;
+        dpadPointer = NONE;
+        setMovement(0, 0, 0, eventNanos);
+    }
+
+    /** The gesture was taken away (ACTION_CANCEL) or the screen changed: nothing is held any more. */
+    public void cancel(long eventNanos) {
+        dpadPointer = NONE;
+        setMovement(0, 0, 0, eventNanos);
+    }
+
+    private void steer(float x, float y, long eventNanos) {
+        float dx = x - dpadCenterX, dy = y - dpadCenterY;
+        if (Math.abs(dx) < DEAD_ZONE && Math.abs(dy) < DEAD_ZONE) {
+            setMovement(0, 0, 0, eventNanos);
+        } else if (analogStick) {
+            // Full deflection at the pad's edge, clamped to a circle so diagonals aren't faster
+            float radius = DPAD_SIZE / 2f;
+            float length = (float) Math.sqrt(dx * dx + dy * dy);
+            float scale = Player.STICK_RANGE / Math.max(length, radius);
+            setMovement(0, Math.round(dx * scale), Math.round(dy * scale), eventNanos);
+        } else if (Math.abs(dx) > Math.abs(dy)) {
+            setMovement(dx < 0 ? Player.MOVE_LEFT : Player.MOVE_RIGHT, 0, 0, eventNanos);
+        } else {
+            setMovement(dy < 0 ? Player.MOVE_UP : Player.MOVE_DOWN, 0, 0, eventNanos);
+        }
+    }
+
+    private void setMovement(int bits, int x, int y, long eventNanos) {
+        if (bits == movementBits && x == stickX && y == stickY) return;
+        movementBits = bits;
+        stickX = x;
+        stickY = y;
+        listener.onMovement(bits, x, y, eventNanos);
+    }
+
+    private int hit(float x, float y) {
+        for (int control = 0; control < CONTROLS; control++) {
+            if (x >= left[control] && x < right[control] && y >= top[control] && y < bottom[control]) return control;
+        }
+        return NONE;
+    }
+
+    private void set(int control, int l, int t, int r, int b) {
+        left[control] = l;
+        top[control] = t;
+        right[control] = r;
+        bottom[control] = b;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.my2dgame;
+
+public class Trap extends GameObject {
+    private int activeFrames = 0; // Thời gian hoạt động
+
+    public Trap(float x, float y, int width, int height) {
+        super(x, y, width, height);
+    }
+
+    public void update(int screenWidth, int screenHeight) {
+        if (activeFrames > 0) activeFrames--;
+    }
+
+    public void deactivate(int frames) {
+        activeFrames = frames;
+    }
+
+    /** Still counting down its active frames; not {@link #isActive()}, which is the entity's row flag the systems use. */
+    public boolean isArmed() {
+        return activeFrames > 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.my2dgame;
+
+/**
+ * How {@link CombatSystem} runs enemy steering and projectile collisions.
+ */
+public enum UpdateMode {
+    SEQUENTIAL, // Everything on the simulation thread
+    PARALLEL    // Rows split across a bounded fork-join pool, kills merged back in row order
+}
@@ -0,0 +1,117 @@
+package com.example.my2dgame;
+
+/**
+ * Everything the render thread needs to draw one simulation step: sprite positions (previous
+ * and current, for interpolation), sprite ids and HUD values. Instances are owned by a
+ * {@link SnapshotTripleBuffer} and reused; arrays only grow, so steady-state publishing
+ * allocates nothing.
+ */
+public class WorldSnapshot {
+    private static final int INITIAL_SPRITE_CAPACITY = 64;
+
+    long sequence;          // 0 until the first publish
+    long stepTimeNanos;     // System.nanoTime() when this step was simulated
+    long inputNanos;        // Event time of the oldest input applied since the previous snapshot, 0 if none
+
+    // Sprites, in draw order; sprites off screen both before and after the step are left out and counted
+    int spriteCount;
+    int culledCount;
+    private int cullWidth, cullHeight;
+    float[] prevX = new float[INITIAL_SPRITE_CAPACITY];
+    float[] prevY = new float[INITIAL_SPRITE_CAPACITY];
+    float[] x = new float[INITIAL_SPRITE_CAPACITY];
+    float[] y = new float[INITIAL_SPRITE_CAPACITY];
+    int[] spriteId = new int[INITIAL_SPRITE_CAPACITY];
+
+    // Background scroll, one offset per parallax layer, back to front
+    int backgroundLayerCount;
+    float[] prevBackgroundOffsetX = new float[ParallaxScroller.MAX_LAYERS];
+    float[] backgroundOffsetX = new float[ParallaxScroller.MAX_LAYERS];
+
+    // HUD and screen state
+    boolean gameOver, gameWon;
+    int health, armor, gold;
+    WeaponType weapon;
+    boolean invincible;
+    long remainingTimeSeconds;
+    boolean musicEnabled, soundEffectsEnabled;
+    int highScoreCount;
+    int[] highScores = new int[8];
+
+    void beginWrite(long sequence, long stepTimeNanos) {
+        this.sequence = sequence;
+        this.stepTimeNanos = stepTimeNanos;
+        inputNanos = 0;
+        spriteCount = 0;
+        culledCount = 0;
+        highScoreCount = 0;
+    }
+
+    void addSprite(int id, float prevX, float prevY, float x, float y) {
+        if (id == SpriteIds.NONE) return;
+        if (spriteCount == spriteId.length) growSprites();
+        this.prevX[spriteCount] = prevX;
+        this.prevY[spriteCount] = prevY;
+        this.x[spriteCount] = x;
+        this.y[spriteCount] = y;
+        this.spriteId[spriteCount] = id;
+        spriteCount++;
+    }
+
+    void addSprite(int id, GameObject object) {
+        addSprite(id, object.getPrevX(), object.getPrevY(), object.getX(), object.getY());
+    }
+
+    /** Sprites that {@link #addSprites} finds entirely outside (0, 0)-(width, height) are culled; 0 turns culling off. */
+    void setCullBounds(int width, int height) {
+        cullWidth = width;
+        cullHeight = height;
+    }
+
+    /**
+     * Adds every active row of the store that is on screen at either end of the step, with the
+     * frame each row's animation shows at {@code nowMillis}.
+     */
+    void addSprites(ComponentStore c, long nowMillis) {
+        boolean cull = cullWidth > 0 && cullHeight > 0;
+        for (int r = 0; r < c.rowCount; r++) {
+            if (!c.active[r]) continue;
+            if (cull && !(onScreen(c.prevX[r], c.posX[r], c.width[r], cullWidth) && onScreen(c.prevY[r], c.posY[r], c.height[r], cullHeight))) {
+                culledCount++;
+                continue;
+            }
+            addSprite(c.spriteAt(r, nowMillis), c.prevX[r], c.prevY[r], c.posX[r], c.posY[r]);
+        }
+    }
+
+    // Whether the span an interpolated sprite covers between two positions overlaps [0, limit)
+    private static boolean onScreen(float prev, float current, int size, int limit) {
+        return Math.min(prev, current) < limit && Math.max(prev, current) + size > 0;
+    }
+
+    void addHighScore(int score) {
+        if (highScoreCount == highScores.length) {
+            int[] grown = new int[highScores.length * 2];
+            System.arraycopy(highScores, 0, grown, 0, highScoreCount);
+            highScores = grown;
+        }
+        highScores[highScoreCount++] = score;
+    }
+
+    private void growSprites() {
+        int capacity = spriteId.length * 2;
+        prevX = copyOf(prevX, capacity);
+        prevY = copyOf(prevY, capacity);
+        x = copyOf(x, capacity);
+        y = copyOf(y, capacity);
+        int[] ids = new int[capacity];
+        System.arraycopy(spriteId, 0, ids, 0, spriteCount);
+        spriteId = ids;
+    }
+
+    private float[] copyOf(float[] src, int capacity) {
+        float[] dst = new float[capacity];
+        System.arraycopy(src, 0, dst, 0, spriteCount);
+        return dst;
+    }
+}
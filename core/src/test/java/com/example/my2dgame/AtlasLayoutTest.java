@@ -0,0 +1,66 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AtlasLayoutTest {
+
+    private static SpriteSizes gameSizes() {
+        SpriteSizes sizes = new SpriteSizes();
+        sizes.set(SpriteIds.PLAYER, 125, 125);
+        sizes.set(SpriteIds.ENEMY, 111, 93);
+        sizes.set(SpriteIds.FIREBALL, 62, 62);
+        sizes.set(SpriteIds.SWORD_SLASH, 125, 125);
+        sizes.set(SpriteIds.BOMB, 41, 41);
+        sizes.set(SpriteIds.HEART_ITEM, 62, 62);
+        sizes.set(SpriteIds.SHIELD_ITEM, 62, 62);
+        sizes.set(SpriteIds.INVINCIBLE_ITEM, 62, 62);
+        sizes.set(SpriteIds.EXPLOSION, 166, 139);
+        for (int f = 0; f < SpriteIds.PLAYER_WALK_FRAMES; f++) sizes.set(SpriteIds.PLAYER_WALK + f, 125, 125);
+        return sizes;
+    }
+
+    @Test
+    public void gameSprites_fitOnePageWithoutOverlapping() {
+        AtlasLayout layout = AtlasLayout.pack(gameSizes(), 1024, 2);
+        assertEquals(1, layout.getPageCount());
+        for (int a = 0; a < SpriteIds.COUNT; a++) {
+            assertTrue(layout.has(a));
+            assertTrue(layout.x(a) + layout.width(a) <= 1024 && layout.y(a) + layout.height(a) <= 1024);
+            for (int b = a + 1; b < SpriteIds.COUNT; b++) {
+                if (layout.page(a) != layout.page(b)) continue;
+                assertFalse("sprites " + a + " and " + b + " overlap", Collision.overlaps(
+                        layout.x(a), layout.y(a), layout.width(a), layout.height(a), 1f,
+                        layout.x(b), layout.y(b), layout.width(b), layout.height(b), 1f));
+            }
+        }
+    }
+
+    @Test
+    public void overflow_startsAnotherPage() {
+        AtlasLayout layout = AtlasLayout.pack(gameSizes(), 256, 2);
+        assertTrue(layout.getPageCount() > 1);
+        for (int id = 0; id < SpriteIds.COUNT; id++) {
+            assertTrue(layout.y(id) + layout.height(id) <= 256);
+        }
+    }
+
+    @Test
+    public void unsizedSprites_getNoRegion() {
+        SpriteSizes sizes = new SpriteSizes();
+        sizes.set(SpriteIds.ENEMY, 111, 93);
+        AtlasLayout layout = AtlasLayout.pack(sizes, 512, 2);
+        assertTrue(layout.has(SpriteIds.ENEMY));
+        assertFalse(layout.has(SpriteIds.PLAYER));
+        assertEquals(AtlasLayout.NO_PAGE, layout.page(SpriteIds.PLAYER));
+        assertEquals(0, AtlasLayout.pack(new SpriteSizes(), 512, 2).getPageCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void spriteLargerThanAPage_isRejected() {
+        SpriteSizes sizes = new SpriteSizes();
+        sizes.set(SpriteIds.EXPLOSION, 600, 100);
+        AtlasLayout.pack(sizes, 512, 2);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class CharFormatTest {
+    private final char[] buffer = new char[32];
+
+    private String written(int end) { return new String(buffer, 0, end); }
+
+    @Test
+    public void appendInt_matchesToString() {
+        int[] values = { 0, 7, 10, 99, 12345, -1, -40, Integer.MAX_VALUE, Integer.MIN_VALUE };
+        for (int value : values) assertEquals(Integer.toString(value), written(CharFormat.appendInt(buffer, 0, value)));
+        assertEquals(CharFormat.MAX_INT_CHARS, CharFormat.appendInt(buffer, 0, Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void labelsAndNumbersChain() {
+        int pos = CharFormat.append(buffer, 0, "Gold: ");
+        pos = CharFormat.appendInt(buffer, pos, 250);
+        assertEquals("Gold: 250", written(pos));
+    }
+
+    @Test
+    public void minutesSeconds_matchesTheOldFormatString() {
+        for (int seconds : new int[] { 0, 9, 59, 60, 61, 600, 3599, 6000 }) {
+            String expected = String.format(Locale.ROOT, "%02d:%02d", seconds / 60, seconds % 60);
+            assertEquals(expected, written(CharFormat.appendMinutesSeconds(buffer, 0, seconds)));
+        }
+        assertEquals("00:00", written(CharFormat.appendMinutesSeconds(buffer, 0, -3)));
+    }
+}
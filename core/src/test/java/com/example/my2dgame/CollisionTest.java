@@ -0,0 +1,132 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link Collision} gives the same answers as the Rect-based checks it replaced
+ * in GameView (createHitbox() + Rect.intersects).
+ */
+public class CollisionTest {
+
+    // The old GameView.createHitbox(), returning {left, top, right, bottom} instead of a Rect
+    private static int[] legacyHitbox(float x, float y, int width, int height, float scale) {
+        int newWidth = (int) (width * scale); int newHeight = (int) (height * scale);
+        return new int[] { (int) (x + (width - newWidth) / 2), (int) (y + (height - newHeight) / 2), (int) (x + (width + newWidth) / 2), (int) (y + (height + newHeight) / 2) };
+    }
+
+    // android.graphics.Rect.intersects(a, b)
+    private static boolean legacyIntersects(int[] a, int[] b) {
+        return a[0] < b[2] && b[0] < a[2] && a[1] < b[3] && b[1] < a[3];
+    }
+
+    private static boolean legacy(float ax, float ay, int aw, int ah, float aScale, float bx, float by, int bw, int bh, float bScale) {
+        return legacyIntersects(legacyHitbox(ax, ay, aw, ah, aScale), legacyHitbox(bx, by, bw, bh, bScale));
+    }
+
+    @Test
+    public void playerVsEnemy_matchesLegacyOnRandomPairs() {
+        assertMatchesLegacy(new Random(42), Collision.PLAYER_HITBOX_SCALE, Collision.ENEMY_HITBOX_SCALE);
+    }
+
+    @Test
+    public void enemyVsProjectile_matchesLegacyOnRandomPairs() {
+        assertMatchesLegacy(new Random(7), Collision.ENEMY_HITBOX_SCALE, 1f);
+    }
+
+    @Test
+    public void unscaledBounds_matchLegacyOnRandomPairs() {
+        assertMatchesLegacy(new Random(99), 1f, 1f);
+    }
+
+    @Test
+    public void touchingEdges_doNotCollide() {
+        // 100px boxes side by side: right edge of a == left edge of b
+        assertFalse(Collision.overlaps(0, 0, 100, 100, 1f, 100, 0, 100, 100, 1f));
+        assertTrue(Collision.overlaps(0, 0, 100, 100, 1f, 99, 0, 100, 100, 1f));
+    }
+
+    @Test
+    public void scaledHitbox_isCentredInsideSprite() {
+        // 100px sprite at 0.8 scale -> hitbox spans [10, 90)
+        assertEquals(10, Collision.startOffset(100, 0.8f));
+        assertEquals(90, Collision.endOffset(100, 0.8f));
+        assertFalse(Collision.overlaps(0, 0, 100, 100, 0.8f, 90, 50, 10, 10, 1f));
+        assertTrue(Collision.overlaps(0, 0, 100, 100, 0.8f, 89, 50, 10, 10, 1f));
+    }
+
+    @Test
+    public void negativeCoordinates_truncateTowardZeroLikeLegacy() {
+        float[] xs = { -0.5f, -1.5f, -99.9f, -100f, -100.1f };
+        for (float x : xs) {
+            assertEquals("x=" + x, legacy(x, 0, 111, 93, 0.85f, 0, 0, 64, 64, 1f),
+                    Collision.overlaps(x, 0, 111, 93, 0.85f, 0, 0, 64, 64, 1f));
+        }
+    }
+
+    @Test
+    public void gameObjects_useCachedHitboxLikeRawValues() {
+        // The game's sprite sizes: player 125x125, enemy 111x93, fireball and heart 62x62
+        Player player = new Player(300.25f, 200.75f, 125, 125, 0);
+        int[] playerBox = legacyHitbox(player.getX(), player.getY(), 125, 125, Collision.PLAYER_HITBOX_SCALE);
+
+        // Enemy hitbox starting exactly on the player's right hitbox edge: touching, not overlapping
+        Enemy enemy = new Enemy(playerBox[2] - Collision.startOffset(111, Collision.ENEMY_HITBOX_SCALE), player.getY(), 111, 93, 0);
+        assertFalse(legacy(player, Collision.PLAYER_HITBOX_SCALE, enemy, Collision.ENEMY_HITBOX_SCALE));
+        assertFalse(Collision.overlaps(player, enemy));
+        enemy.setX(enemy.getX() - 1);
+        assertTrue(legacy(player, Collision.PLAYER_HITBOX_SCALE, enemy, Collision.ENEMY_HITBOX_SCALE));
+        assertTrue(Collision.overlaps(player, enemy));
+
+        // Fireball resting on the enemy's bottom hitbox edge
+        int[] enemyBox = legacyHitbox(enemy.getX(), enemy.getY(), 111, 93, Collision.ENEMY_HITBOX_SCALE);
+        Projectile fireball = new Projectile(enemy.getX() + 20, enemyBox[3], 62, 62, 0, ProjectileType.PLAYER_FIREBALL);
+        assertFalse(Collision.overlaps(enemy, fireball));
+        fireball.setY(fireball.getY() - 1);
+        assertTrue(Collision.overlaps(enemy, fireball));
+
+        // Pickups use the full sprite: a heart touching the player's sprite edge isn't picked up
+        Item heart = new Item(player.getX() + 125, player.getY(), 62, 62, ItemType.HEART);
+        assertFalse(legacy(player, 1f, heart, 1f));
+        assertFalse(Collision.boundsOverlap(player, heart));
+
+        // Every placement around the player and the enemy, in quarter pixels near the edges
+        assertMatchesLegacyAround(player, Collision.PLAYER_HITBOX_SCALE, enemy, Collision.ENEMY_HITBOX_SCALE, false);
+        assertMatchesLegacyAround(enemy, Collision.ENEMY_HITBOX_SCALE, fireball, 1f, false);
+        assertMatchesLegacyAround(player, 1f, heart, 1f, true);
+    }
+
+    private static boolean legacy(GameObject a, float aScale, GameObject b, float bScale) {
+        return legacy(a.getX(), a.getY(), (int) a.getWidth(), (int) a.getHeight(), aScale, b.getX(), b.getY(), (int) b.getWidth(), (int) b.getHeight(), bScale);
+    }
+
+    // Moves b all around a, including every position where their edges meet
+    private static void assertMatchesLegacyAround(GameObject a, float aScale, GameObject b, float bScale, boolean bounds) {
+        float ax = a.getX(), ay = a.getY();
+        for (float dx = -b.getWidth() - 4; dx <= a.getWidth() + 4; dx += 0.25f) {
+            for (float dy = -b.getHeight() - 4; dy <= a.getHeight() + 4; dy += 0.75f) {
+                b.setX(ax + dx);
+                b.setY(ay + dy);
+                boolean actual = bounds ? Collision.boundsOverlap(a, b) : Collision.overlaps(a, b);
+                assertEquals("a=(" + ax + "," + ay + ") b=(" + b.getX() + "," + b.getY() + ")", legacy(a, aScale, b, bScale), actual);
+            }
+        }
+    }
+
+    private static void assertMatchesLegacy(Random random, float aScale, float bScale) {
+        for (int i = 0; i < 200_000; i++) {
+            float ax = random.nextFloat() * 600 - 100, ay = random.nextFloat() * 400 - 100;
+            float bx = ax + random.nextFloat() * 300 - 150, by = ay + random.nextFloat() * 300 - 150;
+            int aw = 1 + random.nextInt(200), ah = 1 + random.nextInt(200);
+            int bw = 1 + random.nextInt(200), bh = 1 + random.nextInt(200);
+            boolean expected = legacy(ax, ay, aw, ah, aScale, bx, by, bw, bh, bScale);
+            boolean actual = Collision.overlaps(ax, ay, aw, ah, aScale, bx, by, bw, bh, bScale);
+            if (expected != actual) {
+                fail("Mismatch for a=(" + ax + "," + ay + "," + aw + "x" + ah + ") b=(" + bx + "," + by + "," + bw + "x" + bh + ")");
+            }
+        }
+    }
+}
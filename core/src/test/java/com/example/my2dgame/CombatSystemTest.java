@@ -0,0 +1,65 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CombatSystemTest {
+
+    @Test
+    public void parallelMode_killsTheSameEnemiesInTheSameOrder() {
+        List<Integer> sequentialHits = run(UpdateMode.SEQUENTIAL);
+        List<Integer> parallelHits = run(UpdateMode.PARALLEL);
+        assertFalse(sequentialHits.isEmpty());
+        assertEquals(sequentialHits, parallelHits);
+    }
+
+    @Test
+    public void parallelMode_movesEnemiesExactlyLikeSequential() {
+        CombatWorld sequential = new CombatWorld(5000, 0, 11), parallel = new CombatWorld(5000, 0, 11);
+        CombatSystem combat = new CombatSystem(3);
+        combat.steerEnemies(sequential.enemies, CombatWorld.TARGET_X, CombatWorld.TARGET_Y);
+        combat.setMode(UpdateMode.PARALLEL);
+        combat.steerEnemies(parallel.enemies, CombatWorld.TARGET_X, CombatWorld.TARGET_Y);
+        combat.shutdown();
+        for (int r = 0; r < 5000; r++) {
+            assertEquals(sequential.enemies.posX[r], parallel.enemies.posX[r], 0f);
+            assertEquals(sequential.enemies.posY[r], parallel.enemies.posY[r], 0f);
+        }
+    }
+
+    @Test
+    public void singleShot_killsOneEnemyAndIsUsedUp() {
+        CombatWorld world = new CombatWorld(0, 0, 1);
+        ComponentStore enemies = world.enemies, projectiles = world.projectiles;
+        new Enemy(enemies, 100, 100, 0, 0, 0);
+        new Enemy(enemies, 100, 100, 0, 0, 0);
+        Projectile shot = new Projectile(projectiles, 100, 100, 0, 0, 0, ProjectileType.PLAYER_FIREBALL);
+        for (int r = 0; r < 2; r++) { enemies.width[r] = 50; enemies.height[r] = 50; enemies.hitboxRight[r] = 50; enemies.hitboxBottom[r] = 50; }
+        projectiles.width[0] = 10; projectiles.height[0] = 10; projectiles.hitboxRight[0] = 10; projectiles.hitboxBottom[0] = 10;
+
+        List<Integer> hits = new ArrayList<>();
+        CollisionSystem.index(enemies, world.grid);
+        new CombatSystem(1).moveProjectilesAndResolveHits(projectiles, enemies, world.grid, CombatWorld.SCREEN_WIDTH, (e, p) -> hits.add(e));
+
+        assertEquals(1, hits.size());
+        assertEquals(Integer.valueOf(1), hits.get(0)); // Highest row wins
+        assertTrue(enemies.active[0]);
+        assertFalse(shot.isActive());
+    }
+
+    private static List<Integer> run(UpdateMode mode) {
+        CombatWorld world = new CombatWorld(5000, 2000, 5);
+        CombatSystem combat = new CombatSystem(3);
+        combat.setMode(mode);
+        List<Integer> hits = new ArrayList<>();
+        for (int step = 0; step < 20; step++) {
+            world.step(combat, (enemyRow, projectileRow) -> { hits.add(enemyRow); hits.add(projectileRow); });
+        }
+        combat.shutdown();
+        return hits;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.my2dgame;
+
+import java.util.Random;
+
+/**
+ * Seeded wave of enemy and projectile rows for CombatSystem tests, built
+ * straight into component stores (no bitmaps needed). The field is one 1920x1080 screen per
+ * 1000 enemies laid side by side, so density stays the same as the wave grows.
+ * {@link #restore()} puts every row back to its initial state so repeated steps see the same input.
+ */
+final class CombatWorld {
+    static final int SCREEN_WIDTH = 1920, SCREEN_HEIGHT = 1080;
+    static final float TARGET_X = SCREEN_WIDTH / 4f, TARGET_Y = SCREEN_HEIGHT / 2f;
+
+    final int fieldWidth;
+
+    final ComponentStore enemies = new ComponentStore(16);
+    final ComponentStore projectiles = new ComponentStore(16);
+    final SpatialHash grid = new SpatialHash(128, 1 << 14);
+    private final ComponentStore enemyTemplate = new ComponentStore(16), projectileTemplate = new ComponentStore(16);
+
+    CombatWorld(int enemyCount, int projectileCount, long seed) {
+        Random random = new Random(seed);
+        fieldWidth = SCREEN_WIDTH * Math.max(1, enemyCount / 1000);
+        for (int i = 0; i < enemyCount; i++) {
+            addRow(enemyTemplate, random.nextFloat() * fieldWidth, random.nextFloat() * SCREEN_HEIGHT, 64, 36, Collision.ENEMY_HITBOX_SCALE);
+            enemyTemplate.speed[i] = 5;
+            enemyTemplate.spriteId[i] = SpriteIds.ENEMY;
+        }
+        for (int i = 0; i < projectileCount; i++) {
+            boolean sword = random.nextInt(4) == 0;
+            addRow(projectileTemplate, random.nextFloat() * fieldWidth, random.nextFloat() * SCREEN_HEIGHT, sword ? 96 : 32, sword ? 96 : 32, 1f);
+            ProjectileType type = sword ? ProjectileType.PLAYER_SWORD_WAVE : ProjectileType.PLAYER_FIREBALL;
+            projectileTemplate.kind[i] = type.ordinal();
+            projectileTemplate.velX[i] = sword ? 0 : 15;
+        }
+        for (int i = 0; i < enemyCount; i++) enemies.addRow();
+        for (int i = 0; i < projectileCount; i++) projectiles.addRow();
+        restore();
+    }
+
+    /** Runs the combat part of one simulation step. */
+    void step(CombatSystem combat, CombatSystem.HitListener listener) {
+        combat.steerEnemies(enemies, TARGET_X, TARGET_Y);
+        CollisionSystem.index(enemies, grid);
+        combat.moveProjectilesAndResolveHits(projectiles, enemies, grid, fieldWidth, listener);
+    }
+
+    void restore() {
+        copy(enemyTemplate, enemies);
+        copy(projectileTemplate, projectiles);
+    }
+
+    private static void addRow(ComponentStore c, float x, float y, int width, int height, float scale) {
+        int r = c.addRow();
+        c.posX[r] = x;
+        c.posY[r] = y;
+        c.width[r] = width;
+        c.height[r] = height;
+        c.hitboxLeft[r] = Collision.startOffset(width, scale);
+        c.hitboxRight[r] = Collision.endOffset(width, scale);
+        c.hitboxTop[r] = Collision.startOffset(height, scale);
+        c.hitboxBottom[r] = Collision.endOffset(height, scale);
+        c.lifespan[r] = -1;
+        c.active[r] = true;
+    }
+
+    private static void copy(ComponentStore from, ComponentStore to) {
+        int n = from.rowCount;
+        System.arraycopy(from.posX, 0, to.posX, 0, n);
+        System.arraycopy(from.posY, 0, to.posY, 0, n);
+        System.arraycopy(from.velX, 0, to.velX, 0, n);
+        System.arraycopy(from.velY, 0, to.velY, 0, n);
+        System.arraycopy(from.speed, 0, to.speed, 0, n);
+        System.arraycopy(from.width, 0, to.width, 0, n);
+        System.arraycopy(from.height, 0, to.height, 0, n);
+        System.arraycopy(from.hitboxLeft, 0, to.hitboxLeft, 0, n);
+        System.arraycopy(from.hitboxTop, 0, to.hitboxTop, 0, n);
+        System.arraycopy(from.hitboxRight, 0, to.hitboxRight, 0, n);
+        System.arraycopy(from.hitboxBottom, 0, to.hitboxBottom, 0, n);
+        System.arraycopy(from.lifespan, 0, to.lifespan, 0, n);
+        System.arraycopy(from.spriteId, 0, to.spriteId, 0, n);
+        System.arraycopy(from.kind, 0, to.kind, 0, n);
+        System.arraycopy(from.active, 0, to.active, 0, n);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ComponentSystemsTest {
+
+    @Test
+    public void steerTowards_matchesPerEnemyHomingMath() {
+        ComponentStore store = new ComponentStore(4);
+        Random random = new Random(3);
+        float[] x = new float[100], y = new float[100];
+        for (int i = 0; i < 100; i++) {
+            x[i] = random.nextFloat() * 2000 - 200;
+            y[i] = random.nextFloat() * 1000;
+            new Enemy(store, x[i], y[i], 0, 0, 5);
+        }
+        float targetX = 400, targetY = 300;
+        MovementSystem.steerTowards(store, targetX, targetY);
+        for (int i = 0; i < 100; i++) {
+            float dx = targetX - x[i], dy = targetY - y[i];
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+            assertEquals(x[i] + dx / distance * 5, store.posX[i], 0f);
+            assertEquals(y[i] + dy / distance * 5, store.posY[i], 0f);
+        }
+    }
+
+    @Test
+    public void systemsSkipInactiveRows() {
+        ComponentStore store = new ComponentStore(2);
+        Enemy parked = new Enemy(store, 100, 100, 0, 0, 5);
+        parked.reset();
+        Projectile fireball = new Projectile(store, 0, 0, 0, 0, 15, ProjectileType.PLAYER_FIREBALL);
+        fireball.setActive(false);
+        MovementSystem.steerTowards(store, 0, 0);
+        MovementSystem.integrate(store);
+        assertEquals(0f, parked.getX(), 0f);
+        assertEquals(0f, fireball.getX(), 0f);
+        assertEquals(0, store.getActiveCount());
+    }
+
+    @Test
+    public void projectilesMoveByTypeAndLeaveTheScreen() {
+        ComponentStore store = new ComponentStore(2);
+        Projectile fireball = new Projectile(store, 90, 0, 0, 0, 15, ProjectileType.PLAYER_FIREBALL);
+        Projectile sword = new Projectile(store, 90, 0, 0, 0, 0, ProjectileType.PLAYER_SWORD_WAVE);
+        MovementSystem.integrate(store);
+        MovementSystem.deactivateOffscreen(store, 100);
+        assertEquals(105f, fireball.getX(), 0f);
+        assertFalse(fireball.isActive());
+        assertEquals(90f, sword.getX(), 0f);
+        assertTrue(sword.isActive());
+    }
+
+    @Test
+    public void strandedEnemies_areEvicted() {
+        ComponentStore store = new ComponentStore(2);
+        Enemy stranded = new Enemy(store, -45, 0, 50, 50, 10);
+        Enemy onScreen = new Enemy(store, 500, 0, 50, 50, 10);
+        MovementSystem.steerTowards(store, -1000, 0); // Runs past the left edge and stops there
+        assertEquals(0f, stranded.getSpeed(), 0f);
+        MovementSystem.deactivateStranded(store);
+        assertFalse(stranded.isActive());
+        assertTrue(onScreen.isActive());
+    }
+
+    @Test
+    public void snapshots_cullRowsOffScreenForTheWholeStep() {
+        ComponentStore store = new ComponentStore(4);
+        new Enemy(store, 10, 10, 50, 50, 0);                  // On screen
+        Enemy leaving = new Enemy(store, 95, 10, 50, 50, 0);
+        leaving.storePreviousPosition();
+        leaving.setX(105);                                    // Still on screen at the start of the step
+        new Enemy(store, -60, 10, 50, 50, 0);                 // Off the left edge
+        new Enemy(store, 10, 200, 50, 50, 0);                 // Below the bottom
+        WorldSnapshot s = new WorldSnapshot();
+        s.beginWrite(1, 0);
+        s.setCullBounds(100, 100);
+        s.addSprites(store, 0);
+        assertEquals(2, s.spriteCount);
+        assertEquals(2, s.culledCount);
+    }
+
+    @Test
+    public void lifetime_deactivatesOnTheStepItReachesZero() {
+        ComponentStore store = new ComponentStore(2);
+        Projectile sword = new Projectile(store, 0, 0, 0, 0, 0, ProjectileType.PLAYER_SWORD_WAVE);
+        Projectile fireball = new Projectile(store, 0, 0, 0, 0, 15, ProjectileType.PLAYER_FIREBALL);
+        sword.setLifespan(3);
+        for (int step = 0; step < 2; step++) LifetimeSystem.tick(store);
+        assertTrue(sword.isActive());
+        LifetimeSystem.tick(store);
+        assertFalse(sword.isActive());
+        assertTrue(fireball.isActive());
+    }
+
+    @Test
+    public void pooledObjects_keepTheirRowAndStartParked() {
+        ComponentStore store = new ComponentStore(1);
+        ObjectPool<Enemy> pool = new ObjectPool<>("Enemy", () -> new Enemy(store, 0, 0, 0, 0, 0), 3);
+        assertEquals(3, store.getRowCount());
+        assertEquals(0, store.getActiveCount());
+        Enemy enemy = pool.acquire().init(10, 20, 0, 0, 5);
+        int row = enemy.getRow();
+        assertTrue(enemy.isActive());
+        assertEquals(SpriteIds.ENEMY, store.spriteId[row]);
+        pool.release(enemy);
+        assertFalse(store.active[row]);
+        assertSame(enemy, pool.acquire());
+        assertEquals(3, store.getRowCount());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class EntityListTest {
+
+    private final List<String> released = new ArrayList<>();
+
+    private EntityList<String> newList() {
+        return new EntityList<>(4, released::add);
+    }
+
+    @Test
+    public void removeAt_swapsLastElementIntoHole() {
+        EntityList<String> list = newList();
+        list.add("a"); list.add("b"); list.add("c"); list.add("d");
+        assertEquals("b", list.removeAt(1));
+        assertEquals(3, list.size());
+        assertEquals("a", list.get(0));
+        assertEquals("d", list.get(1));
+        assertEquals("c", list.get(2));
+        assertEquals(1, released.size());
+    }
+
+    @Test
+    public void markedEntities_keepTheirIndexUntilFlush() {
+        EntityList<String> list = newList();
+        for (int i = 0; i < 10; i++) list.add("e" + i);
+        list.markForRemoval(2);
+        list.markForRemoval(9);
+        list.markForRemoval(5);
+        assertEquals(10, list.size());
+        assertEquals("e5", list.get(5));
+        assertTrue(list.isMarkedForRemoval(5));
+
+        assertEquals(3, list.flushRemovals());
+        assertEquals(7, list.size());
+        Set<String> remaining = new HashSet<>();
+        for (int i = 0; i < list.size(); i++) {
+            remaining.add(list.get(i));
+            assertFalse(list.isMarkedForRemoval(i));
+        }
+        assertFalse(remaining.contains("e2"));
+        assertFalse(remaining.contains("e5"));
+        assertFalse(remaining.contains("e9"));
+        assertEquals(7, remaining.size());
+        assertEquals(3, released.size());
+        assertEquals(0, list.flushRemovals());
+    }
+
+    @Test
+    public void handles_followSwapsAndGoStaleOnRemoval() {
+        EntityList<String> list = newList();
+        int a = list.add("a");
+        list.add("b");
+        int c = list.add("c");
+        list.removeAt(0); // "c" is swapped into index 0
+        assertNull(list.resolve(a));
+        assertEquals(-1, list.indexOf(a));
+        assertEquals("c", list.resolve(c));
+        assertEquals(0, list.indexOf(c));
+
+        int d = list.add("d"); // Reuses the slot "a" had
+        assertNull(list.resolve(a));
+        assertEquals("d", list.resolve(d));
+        assertEquals(d, list.handleAt(list.indexOf(d)));
+    }
+
+    @Test
+    public void removingHalfOfABigList_keepsExactlyTheSurvivors() {
+        EntityList<String> list = newList();
+        Set<String> survivors = new HashSet<>();
+        Random random = new Random(1);
+        boolean[] kill = new boolean[10_000];
+        for (int i = 0; i < kill.length; i++) {
+            list.add("e" + i);
+            kill[i] = random.nextBoolean();
+            if (!kill[i]) survivors.add("e" + i);
+        }
+        for (int i = 0; i < list.size(); i++) if (kill[Integer.parseInt(list.get(i).substring(1))]) list.markForRemoval(i);
+        list.flushRemovals();
+        assertEquals(survivors.size(), list.size());
+        assertEquals(kill.length - survivors.size(), released.size());
+        for (int i = 0; i < list.size(); i++) assertTrue(survivors.contains(list.get(i)));
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        EntityList<String> list = newList();
+        int[] handles = new int[1000];
+        for (int i = 0; i < handles.length; i++) handles[i] = list.add("e" + i);
+        for (int i = 0; i < handles.length; i += 2) list.markForRemoval(list.indexOf(handles[i]));
+        list.flushRemovals();
+        assertEquals(500, list.size());
+        for (int i = 1; i < handles.length; i += 2) assertEquals("e" + i, list.resolve(handles[i]));
+    }
+
+    @Test
+    public void clear_releasesEverything() {
+        EntityList<String> list = newList();
+        list.add("a"); list.add("b");
+        list.markForRemoval(0);
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(2, released.size());
+        assertEquals(0, list.flushRemovals());
+    }
+}
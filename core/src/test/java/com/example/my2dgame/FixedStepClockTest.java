@@ -0,0 +1,59 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FixedStepClockTest {
+    private static final long MS = 1_000_000;
+
+    @Test
+    public void elapsedTime_becomesWholeSteps_leftoverIsTheAlpha() {
+        FixedStepClock clock = new FixedStepClock(100, 5); // 10 ms steps
+        clock.reset(0);
+        assertEquals(0, clock.advance(4 * MS));
+        assertEquals(0.4f, clock.getAlpha(), 1e-6f);
+        assertEquals(2, clock.advance(25 * MS));
+        assertEquals(0.5f, clock.getAlpha(), 1e-6f);
+        assertEquals(5 * MS, clock.nanosUntilNextStep());
+        assertEquals(25 * MS, clock.getLastAdvanceNanos());
+    }
+
+    @Test
+    public void longStall_isClampedToTheCatchUpLimit() {
+        FixedStepClock clock = new FixedStepClock(100, 5);
+        clock.reset(0);
+        assertEquals(2, clock.advance(25 * MS));
+        assertEquals(5, clock.advance(122 * MS)); // 102 ms owed: ten steps, half of them dropped
+        assertEquals(5, clock.getDroppedSteps());
+        assertEquals(0.2f, clock.getAlpha(), 1e-6f); // Only the fraction of a step is kept
+        assertEquals(0, clock.advance(122 * MS));
+    }
+
+    @Test
+    public void clockGoingBackwards_addsNoTime() {
+        FixedStepClock clock = new FixedStepClock(100, 5);
+        clock.reset(50 * MS);
+        assertEquals(0, clock.advance(58 * MS));
+        assertEquals(0, clock.advance(40 * MS));
+        assertEquals(0.8f, clock.getAlpha(), 1e-6f);
+        assertEquals(2, clock.advance(52 * MS)); // Counted on from where the clock went back to
+    }
+
+    @Test
+    public void reset_forgetsAccumulatedTimeAndDrops() {
+        FixedStepClock clock = new FixedStepClock();
+        clock.reset(0);
+        clock.advance(1_000 * MS);
+        assertTrue(clock.getDroppedSteps() > 0);
+        clock.reset(2_000 * MS);
+        assertEquals(0, clock.getDroppedSteps());
+        assertEquals(0f, clock.getAlpha(), 0f);
+        assertEquals(clock.getStepNanos(), clock.nanosUntilNextStep());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroStepRate_isRejected() {
+        new FixedStepClock(0, 5);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FrameProfilerTest {
+    private static final long MS = 1_000_000;
+
+    private long now = 1_000 * MS;
+
+    @Test
+    public void histogram_percentiles() {
+        TimeHistogram h = new TimeHistogram();
+        assertEquals(0, h.percentileNanos(50));
+        for (int i = 1; i <= 100; i++) h.record(i * MS / 10); // 0.1 .. 10 ms
+        assertEquals(100, h.getCount());
+        // Reported as the upper bound of the 50 us bucket the sample falls in
+        assertEquals(5_050_000, h.percentileNanos(50));
+        assertEquals(9_550_000, h.percentileNanos(95));
+        assertEquals(9_950_000, h.percentileNanos(99));
+        assertEquals(10 * MS, h.getMaxNanos());
+        h.record(250 * MS); // Past the last bucket: p100 is the exact maximum
+        assertEquals(250 * MS, h.percentileNanos(100));
+    }
+
+    @Test
+    public void disabled_recordsNothing_andNeverReadsTheClock() {
+        int[] reads = { 0 };
+        FrameProfiler profiler = new FrameProfiler(() -> { reads[0]++; return now; });
+        long t = profiler.begin(FrameProfiler.Phase.STEP);
+        profiler.end(FrameProfiler.Phase.STEP, t);
+        profiler.frameDrawn();
+        assertFalse(profiler.isRuntimeSampleDue());
+        assertEquals(0, reads[0]);
+        assertEquals(0, profiler.getPhase(FrameProfiler.Phase.STEP).getCount());
+    }
+
+    @Test
+    public void phases_areTimedAndTraced_longFramesCountAsDropped() throws IOException {
+        FrameProfiler profiler = new FrameProfiler(() -> now);
+        List<String> trace = new ArrayList<>();
+        profiler.setTracer(new FrameProfiler.Tracer() {
+            @Override public void beginSection(String name) { trace.add("B " + name); }
+            @Override public void endSection() { trace.add("E"); }
+        });
+        profiler.setEnabled(true);
+        profiler.setExpectedFrameNanos(16 * MS);
+        for (int frame = 0; frame < 10; frame++) {
+            long t = profiler.begin(FrameProfiler.Phase.DRAW);
+            now += frame == 5 ? 40 * MS : 3 * MS; // One frame draws for 40 ms
+            profiler.end(FrameProfiler.Phase.DRAW, t);
+            now += 13 * MS;
+            profiler.frameDrawn();
+        }
+        assertEquals(List.of("B draw", "E"), trace.subList(0, 2));
+        assertEquals(20, trace.size());
+        assertEquals(10, profiler.getPhase(FrameProfiler.Phase.DRAW).getCount());
+        assertEquals(40 * MS, profiler.getPhase(FrameProfiler.Phase.DRAW).getMaxNanos());
+        assertEquals(9, profiler.getFrameIntervals().getCount());
+        assertEquals(2, profiler.getDroppedFrames()); // 53 ms: three vsyncs instead of one
+
+        profiler.breakFrameChain(); // A long idle gap isn't a drop
+        now += 5_000 * MS;
+        profiler.frameDrawn();
+        assertEquals(2, profiler.getDroppedFrames());
+
+        StringBuilder report = new StringBuilder();
+        profiler.writeReport(report);
+        assertTrue(report.toString(), report.toString().startsWith("# Frame profile: 11 frames, 2 dropped"));
+        assertTrue(report.toString(), report.toString().contains("\ndraw,10,6700,3050,40000,40000,40000\n"));
+        assertEquals(3 + FrameProfiler.Phase.values().length + 3 + 11, report.toString().split("\n").length);
+
+        profiler.setEnabled(false);
+        profiler.setEnabled(true); // Fresh statistics, once the render thread starts its next frame
+        assertEquals(2, profiler.getDroppedFrames());
+        profiler.beginFrame();
+        assertEquals(0, profiler.getDroppedFrames());
+        assertEquals(0, profiler.getPhase(FrameProfiler.Phase.DRAW).getCount());
+    }
+
+    @Test
+    public void reset_isAppliedByEachThreadToItsOwnPhases() {
+        FrameProfiler profiler = new FrameProfiler(() -> now);
+        profiler.setEnabled(true);
+        profiler.beginFrame();
+        profiler.beginStep();
+        profiler.end(FrameProfiler.Phase.DRAW, profiler.begin(FrameProfiler.Phase.DRAW));
+        profiler.end(FrameProfiler.Phase.STEP, profiler.begin(FrameProfiler.Phase.STEP));
+
+        profiler.setEnabled(false);
+        profiler.setEnabled(true);
+        profiler.beginFrame(); // Render thread: its own phases only
+        assertEquals(0, profiler.getPhase(FrameProfiler.Phase.DRAW).getCount());
+        assertEquals(1, profiler.getPhase(FrameProfiler.Phase.STEP).getCount());
+        profiler.beginStep();
+        assertEquals(0, profiler.getPhase(FrameProfiler.Phase.STEP).getCount());
+
+        profiler.end(FrameProfiler.Phase.DRAW, profiler.begin(FrameProfiler.Phase.DRAW));
+        profiler.beginFrame(); // Already applied: nothing more is cleared
+        assertEquals(1, profiler.getPhase(FrameProfiler.Phase.DRAW).getCount());
+    }
+
+    @Test
+    public void runtimeCounters_becomeRatesPerSecond() {
+        FrameProfiler profiler = new FrameProfiler(() -> now);
+        profiler.setEnabled(true);
+        assertTrue(profiler.isRuntimeSampleDue());
+        profiler.sampleRuntime(10, 100, 1_000_000);
+        now += 500 * MS;
+        assertFalse(profiler.isRuntimeSampleDue());
+        now += 1_500 * MS;
+        assertTrue(profiler.isRuntimeSampleDue());
+        profiler.sampleRuntime(14, 160, 3_000_000);
+        assertEquals(2, profiler.getGcPerSecond());
+        assertEquals(30, profiler.getGcMillisPerSecond());
+        assertEquals(1_000_000, profiler.getAllocatedBytesPerSecond());
+    }
+}
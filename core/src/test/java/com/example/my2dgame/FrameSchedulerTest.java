@@ -0,0 +1,67 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class FrameSchedulerTest {
+    private static final long VSYNC_60HZ = 16_666_667;
+
+    private static int framesDrawnInOneSecond(FrameScheduler scheduler) {
+        int drawn = 0;
+        for (int v = 0; v < 60; v++) if (scheduler.isFrameDue(1_000_000_000L + v * VSYNC_60HZ)) drawn++;
+        return drawn;
+    }
+
+    @Test
+    public void caps_dropVsyncsEvenly() {
+        FrameScheduler scheduler = new FrameScheduler();
+        assertEquals(60, framesDrawnInOneSecond(scheduler));
+        scheduler.setFrameRateCap(30);
+        assertEquals(30, framesDrawnInOneSecond(scheduler));
+        scheduler.setFrameRateCap(45);
+        assertEquals(45, framesDrawnInOneSecond(scheduler));
+    }
+
+    @Test
+    public void capChange_restartsTheGridOnTheNextFrame() {
+        FrameScheduler scheduler = new FrameScheduler();
+        scheduler.setFrameRateCap(20);
+        assertTrue(scheduler.isFrameDue(1_000_000_000L));
+        assertFalse(scheduler.isFrameDue(1_000_000_000L + VSYNC_60HZ));
+        scheduler.setFrameRateCap(60); // Set from another thread; the render thread drops the 20 fps slot
+        assertTrue(scheduler.isFrameDue(1_000_000_000L + 2 * VSYNC_60HZ));
+        assertTrue(scheduler.isFrameDue(1_000_000_000L + 3 * VSYNC_60HZ));
+    }
+
+    @Test
+    public void idleThreads_wakeOnlyOnRequests() throws InterruptedException {
+        FrameScheduler scheduler = new FrameScheduler();
+        long seen = scheduler.getGeneration();
+        assertEquals(seen, scheduler.awaitWork(seen)); // Not idle: never blocks
+        scheduler.setIdle(true);
+        long idleSeen = scheduler.getGeneration();
+        CountDownLatch woke = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try { scheduler.awaitWork(idleSeen); woke.countDown(); } catch (InterruptedException ignored) {}
+        });
+        waiter.start();
+        assertFalse(woke.await(50, TimeUnit.MILLISECONDS));
+        scheduler.requestFrame();
+        assertTrue(woke.await(1, TimeUnit.SECONDS));
+        waiter.join();
+    }
+
+    @Test
+    public void cpuMeter_scalesToAMinute() {
+        long[] cpu = { 1_000 }, wall = { 50_000 };
+        CpuTimeMeter meter = new CpuTimeMeter(() -> cpu[0], () -> wall[0]);
+        assertEquals(0, meter.cpuMillisPerMinute());
+        cpu[0] += 500;
+        wall[0] += 10_000;
+        assertEquals(3_000, meter.cpuMillisPerMinute());
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GameWorldTest {
+    private static final int WIDTH = 1920, HEIGHT = 1080;
+
+    private final List<String> events = new ArrayList<>();
+
+    private GameWorld newWorld(ManualClock clock, long seed) {
+        GameWorld world = new GameWorld(clock, new Random(seed), new GameWorld.Listener() {
+            @Override public void onAttack(ProjectileType type) { events.add("attack " + type); }
+            @Override public void onItemPickedUp(ItemType type) { events.add("item " + type); }
+            @Override public void onGameOver(int gold) { events.add("over " + gold); }
+            @Override public void onGameWon(int gold) { events.add("won " + gold); }
+        });
+        world.setViewport(WIDTH, HEIGHT);
+        SpriteSizes sprites = world.getSprites();
+        sprites.set(SpriteIds.PLAYER, 125, 125);
+        sprites.set(SpriteIds.ENEMY, 111, 93);
+        sprites.set(SpriteIds.FIREBALL, 62, 62);
+        sprites.set(SpriteIds.SWORD_SLASH, 125, 125);
+        sprites.set(SpriteIds.BOMB, 41, 41);
+        sprites.set(SpriteIds.HEART_ITEM, 62, 62);
+        sprites.set(SpriteIds.SHIELD_ITEM, 62, 62);
+        sprites.set(SpriteIds.INVINCIBLE_ITEM, 62, 62);
+        sprites.set(SpriteIds.EXPLOSION, 166, 139);
+        world.restart();
+        return world;
+    }
+
+    // Plays a scripted session: drift down, cycling weapons every half second
+    private static String play(GameWorld world, ManualClock clock, int steps) {
+        WeaponType[] weapons = { WeaponType.FIREBALL, WeaponType.SWORD_SLASH, WeaponType.FIREBALL, WeaponType.BOMB_DROP };
+        world.getPlayer().setMovingDown(true);
+        WorldSnapshot snapshot = new WorldSnapshot();
+        StringBuilder trace = new StringBuilder();
+        for (int step = 0; step < steps; step++) {
+            clock.advance(ManualClock.STEP_MILLIS);
+            if (step % 30 == 0) {
+                world.getPlayer().switchAttack(weapons[(step / 30) % weapons.length]);
+                world.shoot();
+            }
+            if (step == 240) world.getPlayer().setMovingDown(false);
+            world.step();
+            if (step % 60 == 0) {
+                snapshot.beginWrite(step, 0);
+                world.writeSnapshot(snapshot);
+                trace.append(snapshot.gold).append('/').append(snapshot.health).append('/').append(snapshot.spriteCount);
+                for (int i = 0; i < snapshot.spriteCount; i++) trace.append(',').append(snapshot.x[i]).append(':').append(snapshot.y[i]);
+                trace.append('\n');
+            }
+        }
+        return trace.toString();
+    }
+
+    @Test
+    public void sameSeedAndClock_playOutIdentically() {
+        ManualClock clockA = new ManualClock(0), clockB = new ManualClock(0);
+        String a = play(newWorld(clockA, 7), clockA, 3000);
+        List<String> eventsA = new ArrayList<>(events);
+        events.clear();
+        String b = play(newWorld(clockB, 7), clockB, 3000);
+        assertEquals(a, b);
+        assertEquals(eventsA, events);
+    }
+
+    @Test
+    public void enemiesArriveOnTheSpawnInterval() {
+        ManualClock clock = new ManualClock(1_000);
+        GameWorld world = newWorld(clock, 3);
+        clock.advance(GameWorld.ENEMY_SPAWN_INTERVAL - 1);
+        world.step();
+        assertEquals(0, world.getEnemyCount());
+        clock.advance(1);
+        world.step();
+        assertTrue(world.getEnemyCount() >= 1 && world.getEnemyCount() <= 3);
+    }
+
+    @Test
+    public void roundIsWonWhenTheTimerRunsOut() {
+        ManualClock clock = new ManualClock(0);
+        GameWorld world = newWorld(clock, 1);
+        world.getPlayer().setMovingUp(true); // Hug the top edge, out of most enemies' way
+        clock.advance(GameWorld.GAME_DURATION_SECONDS * 1000);
+        world.step();
+        assertTrue(world.isGameWon());
+        assertEquals("won 0", events.get(events.size() - 1));
+        int enemies = world.getEnemyCount();
+        world.step();
+        assertEquals(enemies, world.getEnemyCount()); // Nothing moves once the round is over
+    }
+
+    @Test
+    public void superBomb_clearsEnemiesForFiveGoldEach() {
+        ManualClock clock = new ManualClock(0);
+        GameWorld world = newWorld(clock, 5);
+        clock.advance(GameWorld.ENEMY_SPAWN_INTERVAL);
+        world.step();
+        int enemies = world.getEnemyCount();
+        assertTrue(enemies > 0);
+        world.getPlayer().switchAttack(WeaponType.BOMB_DROP);
+        world.shoot();
+        assertEquals(0, world.getEnemyCount());
+        assertEquals(enemies * 5, world.getPlayer().getGold());
+        assertEquals(enemies, world.getEffectCount());
+        assertEquals("attack " + ProjectileType.PLAYER_SUPER_BOMB, events.get(events.size() - 1));
+    }
+
+    @Test
+    public void swordWave_hitsOnOneStepMoreThanTheAttackDuration() {
+        ManualClock clock = new ManualClock(0);
+        GameWorld world = newWorld(clock, 1);
+        world.getPlayer().switchAttack(WeaponType.SWORD_SLASH);
+        world.shoot();
+        int hitSteps = 0;
+        while (world.getProjectileCount() > 0) { // Hits are resolved before lifespans count down
+            hitSteps++;
+            clock.advance(ManualClock.STEP_MILLIS);
+            world.step();
+        }
+        assertEquals(GameWorld.MELEE_ATTACK_DURATION_FRAMES + 1, hitSteps);
+    }
+
+    @Test
+    public void missingSprite_spawnsNothing() {
+        ManualClock clock = new ManualClock(0);
+        GameWorld world = new GameWorld(clock, new Random(1), null);
+        world.setViewport(WIDTH, HEIGHT);
+        world.restart();
+        world.getPlayer().switchAttack(WeaponType.FIREBALL);
+        world.shoot();
+        clock.advance(GameWorld.ENEMY_SPAWN_INTERVAL);
+        world.step();
+        assertEquals(0, world.getProjectileCount());
+        assertEquals(0, world.getEnemyCount());
+    }
+
+    @Test
+    public void fill_holdsTheLoadAcrossSteps() {
+        ManualClock clock = new ManualClock(0);
+        GameWorld world = newWorld(clock, 9);
+        for (int step = 0; step < 120; step++) {
+            world.getPlayer().activateInvincibility(1);
+            world.fill(200, 50);
+            assertEquals(200, world.getEnemyCount());
+            assertEquals(50, world.getProjectileCount());
+            world.step();
+        }
+        assertFalse(world.isGameOver());
+        assertTrue(world.getEnemyCount() < 200); // Some were shot or ran into the player
+    }
+}
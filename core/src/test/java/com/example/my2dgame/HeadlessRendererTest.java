@@ -0,0 +1,80 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class HeadlessRendererTest {
+
+    private static SpriteSizes sizes() {
+        SpriteSizes sizes = new SpriteSizes();
+        sizes.set(SpriteIds.PLAYER, 20, 20);
+        sizes.set(SpriteIds.ENEMY, 10, 8);
+        return sizes;
+    }
+
+    @Test
+    public void spritesAreInterpolatedBetweenSteps() {
+        HeadlessRenderer renderer = new HeadlessRenderer(100, 50, sizes());
+        WorldSnapshot s = new WorldSnapshot();
+        s.beginWrite(1, 0);
+        s.addSprite(SpriteIds.ENEMY, 10, 10, 30, 10);
+        renderer.renderFrame(s, 0.5f);
+        int enemy = HeadlessRenderer.colorOf(SpriteIds.ENEMY);
+        assertEquals(HeadlessRenderer.BACKGROUND_COLOR, renderer.getPixel(19, 12));
+        assertEquals(enemy, renderer.getPixel(20, 12));
+        assertEquals(enemy, renderer.getPixel(29, 17));
+        assertEquals(HeadlessRenderer.BACKGROUND_COLOR, renderer.getPixel(30, 12));
+        assertEquals(1, renderer.getLastSpritesDrawn());
+    }
+
+    @Test
+    public void laterSpritesDrawOnTopAndEdgesClip() {
+        HeadlessRenderer renderer = new HeadlessRenderer(100, 50, sizes());
+        WorldSnapshot s = new WorldSnapshot();
+        s.beginWrite(1, 0);
+        s.addSprite(SpriteIds.PLAYER, 90, 40, 90, 40); // Hangs off the bottom-right corner
+        s.addSprite(SpriteIds.ENEMY, 92, 42, 92, 42);
+        s.addSprite(SpriteIds.FIREBALL, 0, 0, 0, 0); // No size, not drawn
+        renderer.renderFrame(s, 1f);
+        assertEquals(HeadlessRenderer.colorOf(SpriteIds.PLAYER), renderer.getPixel(90, 40));
+        assertEquals(HeadlessRenderer.colorOf(SpriteIds.ENEMY), renderer.getPixel(99, 49));
+        assertEquals(2, renderer.getLastSpritesDrawn());
+        assertEquals(100 * 50 + 10 * 10 + 8 * 8, renderer.getPixelsWritten());
+    }
+
+    @Test
+    public void endScreenHidesSprites() {
+        HeadlessRenderer renderer = new HeadlessRenderer(40, 40, sizes());
+        WorldSnapshot s = new WorldSnapshot();
+        s.beginWrite(1, 0);
+        s.addSprite(SpriteIds.PLAYER, 0, 0, 0, 0);
+        s.gameOver = true;
+        renderer.renderFrame(s, 1f);
+        assertEquals(HeadlessRenderer.END_SCREEN_COLOR, renderer.getPixel(5, 5));
+        assertEquals(0, renderer.getLastSpritesDrawn());
+    }
+
+    @Test
+    public void rendersAWorldStep() {
+        ManualClock clock = new ManualClock(0);
+        GameWorld world = new GameWorld(clock, new Random(4), null);
+        world.setViewport(640, 360);
+        world.getSprites().set(SpriteIds.PLAYER, 40, 40);
+        world.getSprites().set(SpriteIds.ENEMY, 30, 25);
+        world.restart();
+        clock.advance(GameWorld.ENEMY_SPAWN_INTERVAL);
+        world.step();
+
+        WorldSnapshot s = new WorldSnapshot();
+        s.beginWrite(1, 0);
+        world.writeSnapshot(s);
+        HeadlessRenderer renderer = new HeadlessRenderer(640, 360, world.getSprites());
+        assertTrue(renderer.renderFrame(s, 1f));
+        Player player = world.getPlayer();
+        assertEquals(HeadlessRenderer.colorOf(SpriteIds.PLAYER), renderer.getPixel((int) player.getX() + 1, (int) player.getY() + 1));
+        assertEquals(1 + world.getEnemyCount(), renderer.getLastSpritesDrawn());
+    }
+}
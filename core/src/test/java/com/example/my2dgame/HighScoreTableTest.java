@@ -0,0 +1,63 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class HighScoreTableTest {
+
+    @Test
+    public void offer_keepsTheBestInOrder() {
+        HighScoreTable table = new HighScoreTable(3);
+        assertEquals(0, table.offer("a", 100));
+        assertEquals(0, table.offer("b", 300));
+        assertEquals(1, table.offer("c", 200));
+        assertEquals(2, table.offer("d", 200)); // Ties go after the earlier score
+        assertEquals(-1, table.offer("e", 50));
+        assertFalse(table.qualifies(200));
+        assertEquals(3, table.getCount());
+        assertEquals(300, table.getScore(0));
+        assertEquals("c", table.getName(1));
+        assertEquals("d", table.getName(2));
+    }
+
+    @Test
+    public void binaryFile_roundTrips() throws IOException {
+        HighScoreTable table = new HighScoreTable(5);
+        table.offer("Người chơi", 250);
+        table.offer("Player", 90);
+        HighScoreTable read = new HighScoreTable(5);
+        HighScoreFormat.read(HighScoreFormat.write(table), read);
+        assertEquals(2, read.getCount());
+        assertEquals("Người chơi", read.getName(0));
+        assertEquals(90, read.getScore(1));
+    }
+
+    @Test
+    public void damagedFile_isRejectedWithoutTouchingTheTable() {
+        HighScoreTable table = new HighScoreTable(5);
+        table.offer("Player", 250);
+        byte[] data = HighScoreFormat.write(table);
+        data[data.length - 6] ^= 1; // Flip a bit in the last score
+        HighScoreTable read = new HighScoreTable(5);
+        try {
+            HighScoreFormat.read(data, read);
+            fail("Expected a checksum error");
+        } catch (IOException expected) {
+            assertEquals(0, read.getCount());
+        }
+    }
+
+    @Test
+    public void bothLegacyFormats_mergeIntoOneTable() {
+        HighScoreTable table = new HighScoreTable(6);
+        HighScoreFormat.readLegacyScores("500,400,oops,,50,", "Player", table);
+        HighScoreFormat.readLegacyNamedScores("An:450;broken;Bình:10;", table);
+        assertEquals(5, table.getCount());
+        assertEquals(500, table.getScore(0));
+        assertEquals("An", table.getName(1));
+        assertEquals(10, table.getScore(4));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.*;
+
+public class InputQueueTest {
+    @Test
+    public void drain_handsCommandsOverInOrder_acrossWrapAround() {
+        InputQueue queue = new InputQueue(4);
+        assertEquals(4, queue.getCapacity());
+        List<String> seen = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            assertTrue(queue.offerMove(Player.MOVE_UP | Player.MOVE_LEFT, round));
+            assertTrue(queue.offerAttack(WeaponType.BOMB_DROP, round));
+            assertTrue(queue.offer(InputQueue.Kind.RESTART, round));
+            assertEquals(3, queue.drain(c -> seen.add(c.getKind() + ":" + c.getMovementBits() + ":" + c.getWeapon() + ":" + c.getEventNanos())));
+        }
+        assertEquals(15, seen.size());
+        assertEquals("MOVE:5:null:4", seen.get(12));
+        assertEquals("ATTACK:0:BOMB_DROP:4", seen.get(13));
+        assertEquals("RESTART:0:null:4", seen.get(14));
+        assertEquals(0, queue.drain(c -> fail()));
+    }
+
+    @Test
+    public void fullRing_dropsNewCommands_untilDrained() {
+        InputQueue queue = new InputQueue(3); // Rounded up to 4
+        for (int i = 0; i < 4; i++) assertTrue(queue.offerMove(i, i));
+        assertFalse(queue.offerMove(99, 4));
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(4, queue.size());
+        long[] last = new long[1];
+        queue.drain(c -> last[0] = c.getEventNanos());
+        assertEquals(3, last[0]);
+        assertTrue(queue.offer(InputQueue.Kind.TOGGLE_MUSIC, 5));
+        queue.clear();
+        assertEquals(0, queue.size());
+    }
+
+    @Test(timeout = 10_000)
+    public void producerAndConsumerThreads_neitherLoseNorReorderCommands() throws InterruptedException {
+        InputQueue queue = new InputQueue(16);
+        int total = 5_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < total; i++) while (!queue.offerMove(i, i)) Thread.yield();
+        });
+        producer.start();
+        long[] expected = { 0 };
+        while (expected[0] < total) {
+            int drained = queue.drain(c -> {
+                assertEquals(expected[0], c.getEventNanos());
+                assertEquals((int) expected[0], c.getMovementBits());
+                expected[0]++;
+            });
+            if (drained == 0) LockSupport.parkNanos(10_000); // Like the game thread between ticks
+        }
+        producer.join();
+        assertEquals(total, expected[0]);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ParallaxScrollerTest {
+
+    @Test
+    public void layersScrollAtTheirOwnSpeeds() {
+        ParallaxScroller scroller = new ParallaxScroller(1, 3);
+        for (int i = 0; i < 10; i++) { scroller.storePreviousOffsets(); scroller.scroll(1000); }
+        assertEquals(-10f, scroller.getOffset(0), 0f);
+        assertEquals(-30f, scroller.getOffset(1), 0f);
+        assertEquals(-27f, scroller.getPrevOffset(1), 0f);
+    }
+
+    @Test
+    public void offsetsWrapByPeriodTogetherWithThePreviousOffset() {
+        ParallaxScroller scroller = new ParallaxScroller(4, 4);
+        scroller.setPeriod(0, 10);
+        for (int i = 0; i < 3; i++) { scroller.storePreviousOffsets(); scroller.scroll(100); }
+        assertEquals(-2f, scroller.getOffset(0), 0f); // -12 wrapped by 10
+        assertEquals(2f, scroller.getPrevOffset(0), 0f); // -8 moved by the same 10, still 4 behind
+        assertEquals(-12f, scroller.getOffset(1), 0f); // No period: wraps at the viewport width
+    }
+
+    @Test
+    public void worldPublishesEveryLayer() {
+        GameWorld world = new GameWorld(new ManualClock(0), new Random(1), null);
+        world.setViewport(640, 360);
+        world.getBackground().setLayers(1, 2, 3);
+        world.restart();
+        world.step();
+        WorldSnapshot s = new WorldSnapshot();
+        s.beginWrite(1, 0);
+        world.writeSnapshot(s);
+        assertEquals(3, s.backgroundLayerCount);
+        assertEquals(-1f, s.backgroundOffsetX[0], 0f);
+        assertEquals(-3f, s.backgroundOffsetX[2], 0f);
+        assertEquals(0f, s.prevBackgroundOffsetX[2], 0f);
+    }
+}
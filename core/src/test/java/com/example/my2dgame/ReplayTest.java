@@ -0,0 +1,80 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ReplayTest {
+    private static final WeaponType[] WEAPONS = { WeaponType.FIREBALL, WeaponType.SWORD_SLASH, WeaponType.FIREBALL, WeaponType.BOMB_DROP };
+
+    private static String state(GameWorld world) {
+        WorldSnapshot s = new WorldSnapshot();
+        s.beginWrite(1, 0);
+        world.writeSnapshot(s);
+        StringBuilder trace = new StringBuilder().append(s.gold).append('/').append(s.health).append('/').append(s.spriteCount);
+        for (int i = 0; i < s.spriteCount; i++) trace.append(',').append(s.x[i]).append(':').append(s.y[i]);
+        return trace.toString();
+    }
+
+    @Test
+    public void recordedSession_replaysToTheSameState() throws IOException {
+        ManualClock clock = new ManualClock(5_000);
+        GameWorld world = new GameWorld(clock, new Random(), null);
+        world.setViewport(1280, 720);
+        world.getSprites().set(SpriteIds.PLAYER, 125, 125);
+        world.getSprites().set(SpriteIds.ENEMY, 111, 93);
+        world.getSprites().set(SpriteIds.FIREBALL, 62, 62);
+        world.getSprites().set(SpriteIds.SWORD_SLASH, 125, 125);
+        world.getSprites().set(SpriteIds.BOMB, 41, 41);
+        world.getSprites().set(SpriteIds.EXPLOSION, 166, 139);
+        world.restart(77);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplayRecorder recorder = new ReplayRecorder(Channels.newChannel(bytes));
+        world.setRecorder(recorder);
+
+        Random jitter = new Random(1); // Uneven step lengths, like a real clock
+        for (int step = 0; step < 2000; step++) {
+            clock.advance(15 + jitter.nextInt(4));
+            if (step % 25 == 0) {
+                world.getPlayer().switchAttack(WEAPONS[(step / 25) % WEAPONS.length]);
+                world.shoot();
+            }
+            world.getPlayer().setMovingDown(step % 400 < 200);
+            world.getPlayer().setMovingRight(step % 300 < 100);
+            if (step >= 1500) world.getPlayer().setStick(step % 90 - 45, 127 - step % 160); // Analog stick for the last stretch
+            if (step == 1000) world.setViewport(1920, 1080);
+            world.step();
+        }
+        recorder.close();
+        assertEquals(2000, recorder.getStepCount());
+        assertTrue("about two bytes a step", bytes.size() < 2000 * 3);
+
+        ReplayPlayer replay = new ReplayPlayer(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), null);
+        assertEquals(77, replay.getSeed());
+        assertEquals(2000, replay.playToEnd());
+        assertTrue(replay.isEnded());
+        assertEquals(state(world), state(replay.getWorld()));
+    }
+
+    @Test
+    public void truncatedReplay_failsInsteadOfGuessing() throws IOException {
+        GameWorld world = new GameWorld(new ManualClock(0), new Random(), null);
+        world.restart(1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplayRecorder recorder = new ReplayRecorder(Channels.newChannel(bytes));
+        world.setRecorder(recorder);
+        recorder.close();
+        byte[] cut = java.util.Arrays.copyOf(bytes.toByteArray(), 20);
+        try {
+            new ReplayPlayer(Channels.newChannel(new ByteArrayInputStream(cut)), null);
+            fail("Expected an EOF");
+        } catch (java.io.EOFException expected) {
+        }
+    }
+}
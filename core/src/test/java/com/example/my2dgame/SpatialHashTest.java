@@ -0,0 +1,115 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks {@link SpatialHash} queries against a brute-force scan: every box overlapping the query
+ * (edges included) must come back exactly once. Extra candidates are allowed, they only share a
+ * cell or a hash bucket.
+ */
+public class SpatialHashTest {
+    private static final float CELL = 64;
+
+    // {x, y, width, height}, around the origin so a good share sits at negative coordinates
+    private static float[][] randomBoxes(Random random, int count, float maxSize) {
+        float[][] boxes = new float[count][];
+        for (int i = 0; i < count; i++) {
+            boxes[i] = new float[] { random.nextFloat() * 2000 - 1000, random.nextFloat() * 2000 - 1000, random.nextFloat() * maxSize, random.nextFloat() * maxSize };
+        }
+        return boxes;
+    }
+
+    private static SpatialHash build(float[][] boxes, int buckets) {
+        SpatialHash grid = new SpatialHash(CELL, buckets);
+        grid.clear();
+        for (int id = 0; id < boxes.length; id++) grid.insert(id, boxes[id][0], boxes[id][1], boxes[id][2], boxes[id][3]);
+        grid.build();
+        return grid;
+    }
+
+    private static boolean overlaps(float[] a, float x, float y, float width, float height) {
+        return a[0] <= x + width && x <= a[0] + a[2] && a[1] <= y + height && y <= a[1] + a[3];
+    }
+
+    // Returns how many candidates didn't actually overlap
+    private static int assertFindsEveryOverlap(SpatialHash grid, SpatialHash.Query q, float[][] boxes, float x, float y, float width, float height) {
+        int count = grid.query(q, x, y, width, height);
+        int[] results = q.results();
+        Set<Integer> found = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            assertTrue("Duplicate id " + results[i], found.add(results[i]));
+            assertTrue(results[i] >= 0 && results[i] < boxes.length);
+        }
+        int extra = count;
+        for (int id = 0; id < boxes.length; id++) {
+            if (!overlaps(boxes[id], x, y, width, height)) continue;
+            assertTrue("Missed id " + id + " for query (" + x + "," + y + " " + width + "x" + height + ")", found.contains(id));
+            extra--;
+        }
+        return extra;
+    }
+
+    @Test
+    public void query_findsEveryOverlap_atNegativeCoordinatesAndAcrossCells() {
+        Random random = new Random(17);
+        float[][] boxes = randomBoxes(random, 1000, 300); // Up to 6 cells a side
+        SpatialHash grid = build(boxes, 1 << 12);
+        SpatialHash.Query q = new SpatialHash.Query();
+        for (int i = 0; i < 500; i++) {
+            assertFindsEveryOverlap(grid, q, boxes, random.nextFloat() * 2400 - 1200, random.nextFloat() * 2400 - 1200, random.nextFloat() * 400, random.nextFloat() * 400);
+        }
+        float[][] negative = { { -130, -70, 10, 10 } };
+        assertEquals(1, build(negative, 64).query(-125, -65, 1, 1));
+        assertEquals(0, build(negative, 1 << 12).query(125, 65, 1, 1)); // Mirror image lands in other cells
+    }
+
+    @Test
+    public void bucketCollisions_onlyAddCandidates() {
+        Random random = new Random(5);
+        float[][] boxes = randomBoxes(random, 400, 100);
+        SpatialHash grid = build(boxes, 4); // Far-apart cells share buckets all the time
+        SpatialHash.Query q = new SpatialHash.Query();
+        int extra = 0;
+        for (int i = 0; i < 200; i++) {
+            extra += assertFindsEveryOverlap(grid, q, boxes, random.nextFloat() * 2000 - 1000, random.nextFloat() * 2000 - 1000, 50, 50);
+        }
+        assertTrue(extra > 0);
+    }
+
+    @Test
+    public void boxOverManyCells_isReportedOnce_pastTheInitialCapacity() {
+        float[][] boxes = { { -500, -500, 1000, 1000 }, { 10, 10, 5, 5 } }; // 17 x 17 cells: past the 256 starting entries
+        SpatialHash grid = build(boxes, 1 << 10);
+        assertEquals(2, grid.query(-600, -600, 1200, 1200));
+        assertEquals(1, grid.query(-450, 300, 1, 1));
+        assertEquals(0, grid.results()[0]);
+    }
+
+    @Test
+    public void manyIds_growEntriesAndTheSeenFilter() {
+        float[][] boxes = new float[300][];
+        for (int id = 0; id < boxes.length; id++) boxes[id] = new float[] { id * 10 - 1500, (id % 7) * 20, 8, 8 };
+        SpatialHash grid = build(boxes, 1 << 10);
+        SpatialHash.Query q = new SpatialHash.Query();
+        assertEquals(0, assertFindsEveryOverlap(grid, q, boxes, -2000, -100, 4000, 400));
+        assertEquals(300, grid.query(q, -2000, -100, 4000, 400));
+    }
+
+    @Test
+    public void stampWraparound_forgetsOldStamps() {
+        float[][] boxes = randomBoxes(new Random(3), 200, 150);
+        SpatialHash grid = build(boxes, 1 << 10);
+        SpatialHash.Query q = new SpatialHash.Query();
+        grid.query(q, -1200, -1200, 2400, 2400); // Marks every id with stamp 1
+        q.stamp = -1; // The next query wraps to 0 and must not reuse stamp 1 unseen
+        assertEquals(200, grid.query(q, -1200, -1200, 2400, 2400));
+        assertEquals(1, q.stamp);
+        assertFindsEveryOverlap(grid, q, boxes, -300, -300, 600, 600);
+    }
+}
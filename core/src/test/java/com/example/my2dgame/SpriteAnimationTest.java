@@ -0,0 +1,63 @@
+package com.example.my2dgame;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SpriteAnimationTest {
+
+    @Test
+    public void framesFollowElapsedTime() {
+        SpriteAnimation loop = new SpriteAnimation(10, 4, 100, true);
+        assertEquals(10, loop.spriteAt(0));
+        assertEquals(10, loop.spriteAt(99));
+        assertEquals(11, loop.spriteAt(100));
+        assertEquals(13, loop.spriteAt(399));
+        assertEquals(10, loop.spriteAt(400)); // Wraps
+        SpriteAnimation once = new SpriteAnimation(10, 4, 100, false);
+        assertEquals(13, once.spriteAt(10_000)); // Holds the last frame
+    }
+
+    @Test
+    public void sheetFramesAreSlicedRowByRow() {
+        SpriteSheet walk = new SpriteSheet(1024, 128, 8, 1);
+        assertEquals(8, walk.getFrameCount());
+        assertEquals(128, walk.getFrameWidth());
+        assertEquals(3 * 128, walk.frameLeft(3));
+        SpriteSheet grid = new SpriteSheet(300, 200, 3, 2);
+        assertEquals(100, grid.frameLeft(4));
+        assertEquals(100, grid.frameTop(4));
+    }
+
+    @Test
+    public void walkingPlayer_cyclesFramesByClockNotByStepCount() {
+        ManualClock clock = new ManualClock(0);
+        GameWorld world = new GameWorld(clock, new Random(1), null);
+        world.setViewport(1920, 1080);
+        world.getSprites().set(SpriteIds.PLAYER, 100, 100);
+        for (int f = 0; f < SpriteIds.PLAYER_WALK_FRAMES; f++) world.getSprites().set(SpriteIds.PLAYER_WALK + f, 100, 100);
+        world.setPlayerStart(200, 300, 1);
+        world.restart();
+        WorldSnapshot s = new WorldSnapshot();
+
+        world.step();
+        assertEquals(SpriteIds.PLAYER, playerSprite(world, s)); // Standing still
+        world.getPlayer().setMovingRight(true);
+        world.step();
+        assertEquals(SpriteIds.PLAYER_WALK, playerSprite(world, s));
+        clock.advance(250); // One long step shows the same frame several short ones would
+        world.step();
+        assertEquals(SpriteIds.PLAYER_WALK + 2, playerSprite(world, s));
+        world.getPlayer().setMovingRight(false);
+        world.step();
+        assertEquals(SpriteIds.PLAYER, playerSprite(world, s));
+    }
+
+    private static int playerSprite(GameWorld world, WorldSnapshot s) {
+        s.beginWrite(1, 0);
+        world.writeSnapshot(s);
+        return s.spriteId[0];
+    }
+}
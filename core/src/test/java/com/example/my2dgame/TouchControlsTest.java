@@ -0,0 +1,93 @@
+package com.example.my2dgame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TouchControlsTest {
+    private static final int WIDTH = 1920, HEIGHT = 1080;
+    private static final float DPAD_X = 100, DPAD_Y = HEIGHT - 150; // Centre of the D-pad
+
+    private final List<String> events = new ArrayList<>();
+    private TouchControls controls;
+
+    @Before
+    public void setUp() {
+        controls = new TouchControls(new TouchControls.Listener() {
+            @Override public void onMovement(int bits, int stickX, int stickY, long t) { events.add("move " + bits + " " + stickX + "," + stickY); }
+            @Override public void onAttack(WeaponType weapon, long t) { events.add("attack " + weapon); }
+            @Override public void onToggleMusic(long t) { events.add("music"); }
+            @Override public void onToggleSound(long t) { events.add("sound"); }
+        });
+        controls.layout(WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void secondPointer_firesWhileFirstHoldsADirection() {
+        controls.pointerDown(0, DPAD_X, DPAD_Y - 80, 1);
+        controls.pointerDown(1, WIDTH - 60, HEIGHT - 100, 2); // Slash, rightmost button
+        controls.pointerDown(2, WIDTH - 280, HEIGHT - 100, 3); // Fireball
+        controls.pointerUp(1, 4);
+        assertEquals(Player.MOVE_UP, controls.getMovementBits());
+        controls.pointerUp(0, 5);
+        assertEquals(List.of("move " + Player.MOVE_UP + " 0,0", "attack SWORD_SLASH", "attack FIREBALL", "move 0 0,0"), events);
+    }
+
+    @Test
+    public void dpadPointer_keepsSteeringWhenItSlidesOff_andOthersCantTakeIt() {
+        controls.pointerDown(0, DPAD_X + 60, DPAD_Y, 1);
+        assertEquals(Player.MOVE_RIGHT, controls.getMovementBits());
+        controls.pointerDown(1, DPAD_X - 60, DPAD_Y, 2); // Pad is taken
+        controls.pointerMove(1, DPAD_X - 70, DPAD_Y, 3);
+        assertEquals(Player.MOVE_RIGHT, controls.getMovementBits());
+        controls.pointerMove(0, DPAD_X + 400, DPAD_Y + 50, 4); // Off the pad, still right
+        assertEquals(Player.MOVE_RIGHT, controls.getMovementBits());
+        controls.pointerMove(0, DPAD_X, DPAD_Y + 90, 5);
+        assertEquals(Player.MOVE_DOWN, controls.getMovementBits());
+        controls.pointerUp(0, 6);
+        controls.pointerMove(1, DPAD_X - 80, DPAD_Y, 7); // Free again: a pointer sliding onto it takes it
+        assertEquals(Player.MOVE_LEFT, controls.getMovementBits());
+        controls.cancel(8);
+        assertEquals(0, controls.getMovementBits());
+    }
+
+    @Test
+    public void analogStick_scalesWithDeflection_andClampsToACircle() {
+        controls.setAnalogStick(true);
+        controls.pointerDown(0, DPAD_X + 50, DPAD_Y, 1);
+        assertEquals(0, controls.getMovementBits());
+        assertEquals(Math.round(Player.STICK_RANGE / 2f), controls.getStickX());
+        assertEquals(0, controls.getStickY());
+        controls.pointerMove(0, DPAD_X - 300, DPAD_Y - 300, 2);
+        assertEquals(-90, controls.getStickX()); // 127 / sqrt(2)
+        assertEquals(-90, controls.getStickY());
+        controls.pointerMove(0, DPAD_X + 3, DPAD_Y - 2, 3); // Dead zone
+        assertEquals(0, controls.getStickX());
+        assertEquals(0, controls.getStickY());
+    }
+
+    @Test
+    public void toggles_andEmptySpace() {
+        controls.pointerDown(0, WIDTH / 2f, 60, 1);
+        controls.pointerDown(1, WIDTH / 2f + 110, 60, 2);
+        controls.pointerDown(2, WIDTH / 2f, HEIGHT / 2f, 3);
+        assertEquals(List.of("music", "sound"), events);
+    }
+
+    @Test
+    public void player_movesByStickDeflection() {
+        Player player = new Player(500, 500, 10, 10, 5);
+        player.setStick(Player.STICK_RANGE, -Player.STICK_RANGE / 2);
+        player.setMovementBits(Player.MOVE_LEFT); // The stick wins while it's deflected
+        player.update(WIDTH, HEIGHT);
+        assertEquals(505, player.getX(), 0.001f);
+        assertEquals(500 - 5 * 63f / 127, player.getY(), 0.001f);
+        player.setStick(0, 0);
+        player.update(WIDTH, HEIGHT);
+        assertEquals(500, player.getX(), 0.001f);
+    }
+}